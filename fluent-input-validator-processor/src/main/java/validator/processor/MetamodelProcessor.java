@@ -0,0 +1,309 @@
+package validator.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates static metamodel classes for classes annotated with {@code validator.metamodel.ValidationMetamodel}.
+ * <p>
+ * For class {@code Order} a class {@code Order_} is generated in the same package. It holds a field name constant
+ * and a {@code Property} for every getter, e.g.
+ * <pre>
+ * public static final String ID = "id";
+ * public static final Property&lt;Order, String&gt; id = property(ID, Order::getId);
+ * </pre>
+ * Getters returning {@link Iterable} are described with {@code IterableProperty}. Properties named with Java keywords,
+ * such as {@code default} of {@code getDefault()}, are held by fields suffixed with {@code _}.
+ */
+
+@SupportedAnnotationTypes(MetamodelProcessor.ANNOTATION)
+public class MetamodelProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "validator.metamodel.ValidationMetamodel";
+
+    private static final String GETTER_PREFIX = "get";
+
+    private static final String[] GENERATED_ANNOTATIONS = {"javax.annotation.processing.Generated",
+                                                           "javax.annotation.Generated"};
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+                if (canHaveMetamodel(element)) {
+                    generateMetamodel((TypeElement) element);
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean canHaveMetamodel(Element element) {
+        if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.INTERFACE) {
+            return error(element, "Validation metamodel can only be generated for classes and interfaces");
+        }
+
+        TypeElement type = (TypeElement) element;
+        if (!type.getTypeParameters()
+                 .isEmpty()) {
+            return error(element, "Validation metamodel cannot be generated for generic types");
+        }
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers()
+                         .contains(Modifier.PRIVATE)) {
+                return error(element, "Validation metamodel cannot be generated for private types");
+            }
+            if (isInnerClass((TypeElement) enclosing)) {
+                return error(element, "Validation metamodel cannot be generated for inner classes");
+            }
+        }
+        return true;
+    }
+
+    private static boolean isInnerClass(TypeElement type) {
+        return type.getKind() == ElementKind.CLASS
+                && type.getNestingKind() == NestingKind.MEMBER
+                && !type.getModifiers()
+                        .contains(Modifier.STATIC);
+    }
+
+    private void generateMetamodel(TypeElement type) {
+        String packageName = elements.getPackageOf(type)
+                                     .getQualifiedName()
+                                     .toString();
+        String metamodelName = getMetamodelName(type);
+        String qualifiedMetamodelName = packageName.isEmpty() ? metamodelName : packageName + "." + metamodelName;
+
+        try (PrintWriter writer = new PrintWriter(processingEnv.getFiler()
+                                                               .createSourceFile(qualifiedMetamodelName, type)
+                                                               .openWriter())) {
+            writeMetamodel(writer, packageName, metamodelName, type);
+        } catch (IOException e) {
+            error(type, "Could not write validation metamodel: " + e.getMessage());
+        }
+    }
+
+    private void writeMetamodel(PrintWriter writer, String packageName, String metamodelName, TypeElement type) {
+        String owner = type.getQualifiedName()
+                           .toString();
+        Map<String, ExecutableElement> getters = getGetters(type);
+
+        if (!packageName.isEmpty()) {
+            writer.println("package " + packageName + ";");
+            writer.println();
+        }
+        writer.println("import validator.metamodel.IterableProperty;");
+        writer.println("import validator.metamodel.Property;");
+        writer.println();
+        writer.println("import static validator.metamodel.IterableProperty.iterableProperty;");
+        writer.println("import static validator.metamodel.Property.property;");
+        writer.println();
+        writer.println("/**");
+        writer.println(" * Validation metamodel of {@link " + owner + "}.");
+        writer.println(" */");
+        String generatedAnnotation = getGeneratedAnnotation();
+        if (generatedAnnotation != null) {
+            writer.println("@" + generatedAnnotation + "(\"" + getClass().getName() + "\")");
+        }
+        writer.println("public final class " + metamodelName + " {");
+        writer.println();
+
+        for (String propertyName : getters.keySet()) {
+            writer.println("    public static final String " + toConstantName(propertyName) + " = \"" + propertyName + "\";");
+        }
+        if (!getters.isEmpty()) {
+            writer.println();
+        }
+
+        for (Map.Entry<String, ExecutableElement> getter : getters.entrySet()) {
+            String propertyName = getter.getKey();
+            String methodReference = owner + "::" + getter.getValue()
+                                                          .getSimpleName();
+            TypeMirror propertyType = ((ExecutableType) types.asMemberOf((DeclaredType) type.asType(), getter.getValue()))
+                    .getReturnType();
+            TypeMirror elementType = getIterableElementType(propertyType);
+
+            if (elementType != null) {
+                writer.println("    public static final IterableProperty<" + owner + ", " + elementType + "> " + toFieldName(propertyName)
+                                       + " = iterableProperty(" + toConstantName(propertyName) + ", " + methodReference + ");");
+            }
+            else {
+                writer.println("    public static final Property<" + owner + ", " + toReferenceType(propertyType) + "> "
+                                       + toFieldName(propertyName) + " = property(" + toConstantName(propertyName) + ", " + methodReference + ");");
+            }
+        }
+        if (!getters.isEmpty()) {
+            writer.println();
+        }
+
+        writer.println("    private " + metamodelName + "() {");
+        writer.println("    }");
+        writer.println("}");
+    }
+
+    private Map<String, ExecutableElement> getGetters(TypeElement type) {
+        Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            String methodName = method.getSimpleName()
+                                      .toString();
+            boolean isGetter = methodName.startsWith(GETTER_PREFIX) && methodName.length() > GETTER_PREFIX.length()
+                    && method.getParameters()
+                             .isEmpty()
+                    && method.getTypeParameters()
+                             .isEmpty()
+                    && method.getReturnType()
+                             .getKind() != TypeKind.VOID
+                    && !method.getModifiers()
+                              .contains(Modifier.STATIC)
+                    && !method.getModifiers()
+                              .contains(Modifier.PRIVATE)
+                    && !isDeclaredInObject(method);
+
+            if (isGetter) {
+                getters.putIfAbsent(toPropertyName(methodName), method);
+            }
+        }
+        return getters;
+    }
+
+    private boolean isDeclaredInObject(ExecutableElement method) {
+        return ((TypeElement) method.getEnclosingElement()).getQualifiedName()
+                                                          .contentEquals(Object.class.getName());
+    }
+
+    /**
+     * @return element type of given {@link Iterable} type or null if given type is not {@link Iterable}
+     */
+    private TypeMirror getIterableElementType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement iterable = elements.getTypeElement(Iterable.class.getName());
+        if (types.isSameType(types.erasure(type), types.erasure(iterable.asType()))) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+            return typeArguments.isEmpty() ? getObjectType() : toElementType(typeArguments.get(0));
+        }
+
+        for (TypeMirror supertype : types.directSupertypes(type)) {
+            TypeMirror elementType = getIterableElementType(supertype);
+            if (elementType != null) {
+                return elementType;
+            }
+        }
+        return null;
+    }
+
+    private TypeMirror toElementType(TypeMirror typeArgument) {
+        if (typeArgument.getKind() == TypeKind.DECLARED || typeArgument.getKind() == TypeKind.ARRAY) {
+            return typeArgument;
+        }
+        if (typeArgument.getKind() == TypeKind.WILDCARD) {
+            TypeMirror extendsBound = ((WildcardType) typeArgument).getExtendsBound();
+            if (extendsBound != null) {
+                return toElementType(extendsBound);
+            }
+        }
+        return getObjectType();
+    }
+
+    private TypeMirror getObjectType() {
+        return elements.getTypeElement(Object.class.getName())
+                       .asType();
+    }
+
+    private String toReferenceType(TypeMirror type) {
+        if (type.getKind()
+                .isPrimitive()) {
+            return types.boxedClass(types.getPrimitiveType(type.getKind()))
+                        .getQualifiedName()
+                        .toString();
+        }
+        if (type.getKind() == TypeKind.TYPEVAR) {
+            return Object.class.getName();
+        }
+        return type.toString();
+    }
+
+    private String getGeneratedAnnotation() {
+        for (String annotation : GENERATED_ANNOTATIONS) {
+            if (elements.getTypeElement(annotation) != null) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static String getMetamodelName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName()).append('_');
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement;
+             enclosing = enclosing.getEnclosingElement()) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+        }
+        return name.toString();
+    }
+
+    private static String toPropertyName(String getterName) {
+        String firstLetterLowercase = getterName.substring(3, 4)
+                                                .toLowerCase();
+        return firstLetterLowercase + getterName.substring(4);
+    }
+
+    /**
+     * @return given property name, suffixed with {@code _} if it is a Java keyword or literal
+     */
+    private static String toFieldName(String propertyName) {
+        return SourceVersion.isKeyword(propertyName) ? propertyName + "_" : propertyName;
+    }
+
+    private static String toConstantName(String propertyName) {
+        StringBuilder constantName = new StringBuilder();
+        for (char character : propertyName.toCharArray()) {
+            if (Character.isUpperCase(character) && constantName.length() > 0) {
+                constantName.append('_');
+            }
+            constantName.append(Character.toUpperCase(character));
+        }
+        return constantName.toString();
+    }
+
+    private boolean error(Element element, String message) {
+        processingEnv.getMessager()
+                     .printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+}
@@ -0,0 +1,191 @@
+package validator.processor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import validator.metamodel.IterableProperty;
+import validator.metamodel.Property;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.*;
+
+public class MetamodelProcessorTest {
+
+    private Path sourceDirectory;
+    private Path outputDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        sourceDirectory = Files.createTempDirectory("metamodel-sources");
+        outputDirectory = Files.createTempDirectory("metamodel-classes");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path directory : asList(sourceDirectory, outputDirectory)) {
+            Files.walk(directory)
+                 .sorted(Comparator.reverseOrder())
+                 .map(Path::toFile)
+                 .forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void shouldGenerateMetamodelWithConstantNamesAndGetters() throws Exception {
+        writeSource("test/Order.java",
+                    "package test;",
+                    "import java.util.List;",
+                    "@validator.metamodel.ValidationMetamodel",
+                    "public class Order {",
+                    "    public String getOrderId() { return \"id\"; }",
+                    "    public int getCount() { return 3; }",
+                    "    public List<String> getItems() { return java.util.Arrays.asList(\"a\", \"b\"); }",
+                    "    public List<? extends Number> getAmounts() { return null; }",
+                    "    public String describe() { return null; }",
+                    "    public static class Line {",
+                    "        public String getName() { return null; }",
+                    "    }",
+                    "}");
+        writeSource("test/OrderLine.java",
+                    "package test;",
+                    "@validator.metamodel.ValidationMetamodel",
+                    "public class OrderLine extends Order.Line {",
+                    "    public long getQuantity() { return 1L; }",
+                    "}");
+
+        assertEquals(emptyList(), compile());
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toUri()
+                                                                                      .toURL()},
+                                                             getClass().getClassLoader())) {
+            Class<?> order = classLoader.loadClass("test.Order");
+            Class<?> metamodel = classLoader.loadClass("test.Order_");
+            Object instance = order.newInstance();
+
+            assertEquals("orderId", metamodel.getField("ORDER_ID")
+                                             .get(null));
+            assertEquals("id", getValue(metamodel, "orderId", instance));
+            assertEquals(3, getValue(metamodel, "count", instance));
+            assertTrue(metamodel.getField("items")
+                                .get(null) instanceof IterableProperty);
+            assertTrue(metamodel.getField("amounts")
+                                .get(null) instanceof IterableProperty);
+            assertFalse(asList(metamodel.getFields()).stream()
+                                                     .anyMatch(field -> field.getName()
+                                                                             .equals("class")));
+
+            Class<?> lineMetamodel = classLoader.loadClass("test.OrderLine_");
+            assertEquals("quantity", lineMetamodel.getField("QUANTITY")
+                                                  .get(null));
+            assertEquals("name", lineMetamodel.getField("NAME")
+                                              .get(null));
+        }
+    }
+
+    @Test
+    public void shouldSuffixFieldsOfPropertiesNamedWithKeywords() throws Exception {
+        writeSource("test/Settings.java",
+                    "package test;",
+                    "import java.util.List;",
+                    "@validator.metamodel.ValidationMetamodel",
+                    "public class Settings {",
+                    "    public String getDefault() { return \"default value\"; }",
+                    "    public String getPackage() { return null; }",
+                    "    public boolean getTrue() { return true; }",
+                    "    public List<String> getNew() { return null; }",
+                    "}");
+
+        assertEquals(emptyList(), compile());
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toUri()
+                                                                                      .toURL()},
+                                                             getClass().getClassLoader())) {
+            Class<?> metamodel = classLoader.loadClass("test.Settings_");
+            Object instance = classLoader.loadClass("test.Settings")
+                                         .newInstance();
+
+            assertEquals("default", metamodel.getField("DEFAULT")
+                                             .get(null));
+            assertEquals("default value", getValue(metamodel, "default_", instance));
+            assertEquals("default", ((Property<?, ?>) metamodel.getField("default_")
+                                                              .get(null)).getName());
+            assertEquals("package", ((Property<?, ?>) metamodel.getField("package_")
+                                                              .get(null)).getName());
+            assertEquals(true, getValue(metamodel, "true_", instance));
+            assertTrue(metamodel.getField("new_")
+                                .get(null) instanceof IterableProperty);
+        }
+    }
+
+    @Test
+    public void shouldRejectGenericTypes() throws Exception {
+        writeSource("test/Page.java",
+                    "package test;",
+                    "@validator.metamodel.ValidationMetamodel",
+                    "public class Page<T> {",
+                    "    public T getContent() { return null; }",
+                    "}");
+
+        List<String> errors = compile();
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0)
+                         .contains("generic"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object getValue(Class<?> metamodel, String propertyName, Object instance) throws Exception {
+        return ((Property<Object, ?>) metamodel.getField(propertyName)
+                                               .get(null)).getValue(instance);
+    }
+
+    private void writeSource(String path, String... lines) throws IOException {
+        Path file = sourceDirectory.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private List<String> compile() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            File[] sources = Files.walk(sourceDirectory)
+                                  .filter(path -> path.toString()
+                                                      .endsWith(".java"))
+                                  .map(Path::toFile)
+                                  .toArray(File[]::new);
+
+            List<String> options = asList("-classpath", System.getProperty("java.class.path"),
+                                          "-d", outputDirectory.toString(),
+                                          "-s", outputDirectory.toString(),
+                                          "-processor", MetamodelProcessor.class.getName());
+
+            compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjects(sources))
+                    .call();
+        }
+
+        return diagnostics.getDiagnostics()
+                          .stream()
+                          .filter(diagnostic -> diagnostic.getKind() == javax.tools.Diagnostic.Kind.ERROR)
+                          .map(diagnostic -> diagnostic.getMessage(null))
+                          .collect(java.util.stream.Collectors.toList());
+    }
+}
@@ -0,0 +1,213 @@
+package validator;
+
+import org.apache.commons.lang3.StringUtils;
+import validator.ValidationConstraints.ValueShape;
+import validator.utils.PatternCache.CompiledPattern;
+import validator.utils.RangeIndex;
+import validator.utils.ValueIndex.IntIndex;
+import validator.utils.ValueIndex.LongIndex;
+import validator.utils.ValueIndex.StringIndex;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Implementations of constraints built into {@link ValidationConstraints}.
+ * Each method is named after its constraint, takes validated object followed by constraint's arguments
+ * and returns true if object is valid. Errors are reported with {@link ValidationError}s created once per constraint,
+ * so checks do not build any messages.
+ * <p>
+ * Methods are called by constraints returned from {@link ValidationConstraints} and directly by validators
+ * generated with {@link PlanCompiler}.
+ */
+
+final class ConstraintChecks {
+
+    private ConstraintChecks() {
+    }
+
+    static boolean isAlwaysValid(Object object) {
+        return true;
+    }
+
+    static boolean isEqualTo(Object object, Object other) {
+        return Objects.equals(object, other);
+    }
+
+    static boolean isNotNull(ValueShape shape) {
+        return !shape.isNull();
+    }
+
+    static boolean isNotEmpty(ValueShape shape) {
+        return shape.getSize() != 0;
+    }
+
+    static boolean isNotWhitespace(ValueShape shape) {
+        return !shape.isWhitespace();
+    }
+
+    static boolean isWhitespace(ValueShape shape) {
+        return shape.isWhitespace();
+    }
+
+    static boolean isNotBlank(ValueShape shape) {
+        return !shape.isBlank();
+    }
+
+    static boolean isBlank(ValueShape shape) {
+        return shape.isBlank();
+    }
+
+    static boolean isLongerOrEqualTo(ValueShape shape, long minimalLength) {
+        return shape.getSize() >= minimalLength;
+    }
+
+    static boolean isShorterOrEqualTo(ValueShape shape, long maximalLength) {
+        return shape.getSize() <= maximalLength;
+    }
+
+    static boolean hasLengthEqualTo(ValueShape shape, long expectedLength) {
+        return shape.getSize() == expectedLength;
+    }
+
+    static boolean hasSizeBetween(ValueShape shape, long minimalSize, long maximalSize) {
+        int size = shape.getSize();
+        return size >= minimalSize && size <= maximalSize;
+    }
+
+    static boolean isInRangeExclusive(Object object, long min, long max) {
+        if (isIntegral(object)) {
+            return isInRangeExclusive(((Number) object).longValue(), min, max);
+        }
+        CharSequence text = asCharSequence(object);
+        return NumberParser.isLong(text) && isInRangeExclusive(NumberParser.parseLong(text), min, max);
+    }
+
+    static boolean isInRangeExclusive(Object object, double min, double max) {
+        return isInRangeExclusive(asDouble(object), min, max);
+    }
+
+    static boolean isInRangeInclusive(Object object, long min, long max) {
+        if (isIntegral(object)) {
+            return isInRangeInclusive(((Number) object).longValue(), min, max);
+        }
+        CharSequence text = asCharSequence(object);
+        return NumberParser.isLong(text) && isInRangeInclusive(NumberParser.parseLong(text), min, max);
+    }
+
+    static boolean isInRangeInclusive(Object object, double min, double max) {
+        return isInRangeInclusive(asDouble(object), min, max);
+    }
+
+    static boolean isInRangeExclusive(long value, long min, long max) {
+        return value > min && value < max;
+    }
+
+    static boolean isInRangeExclusive(double value, double min, double max) {
+        return value > min && value < max;
+    }
+
+    static boolean isInRangeInclusive(long value, long min, long max) {
+        return value >= min && value <= max;
+    }
+
+    static boolean isInRangeInclusive(double value, double min, double max) {
+        return value >= min && value <= max;
+    }
+
+    static boolean isNumeric(ValueShape shape) {
+        return StringUtils.isNumeric(shape.getCharSequence());
+    }
+
+    static boolean isDouble(ValueShape shape) {
+        return NumberParser.isDouble(shape.getCharSequence());
+    }
+
+    static boolean isMatchingPattern(ValueShape shape, CompiledPattern pattern) {
+        return pattern.matches(shape.getCharSequence());
+    }
+
+    static boolean isValidAsEnum(Object object, Class<? extends Enum> expectedClass) {
+        if (!(object instanceof Enum)) {
+            return false;
+        }
+        Enum<?> constant = (Enum<?>) object;
+        return constant.getDeclaringClass() == expectedClass || EnumNames.of(expectedClass)
+                                                                         .contains(constant.name());
+    }
+
+    static boolean isValidAsEnumName(ValueShape shape, Class<? extends Enum> expectedClass) {
+        return !shape.isNull() && EnumNames.of(expectedClass)
+                                           .contains(shape.getCharSequence());
+    }
+
+    static boolean isOneOf(ValueShape shape, StringIndex index) {
+        return !shape.isNull() && index.contains(shape.getCharSequence());
+    }
+
+    static boolean isOneOf(Object object, LongIndex index) {
+        if (isIntegral(object)) {
+            return index.contains(((Number) object).longValue());
+        }
+        CharSequence text = asCharSequence(object);
+        return NumberParser.isLong(text) && index.contains(NumberParser.parseLong(text));
+    }
+
+    static boolean isOneOf(Object object, IntIndex index) {
+        if (isIntegral(object)) {
+            return index.contains(((Number) object).longValue());
+        }
+        CharSequence text = asCharSequence(object);
+        return NumberParser.isLong(text) && index.contains(NumberParser.parseLong(text));
+    }
+
+    static boolean isInAnyRange(Object object, RangeIndex index) {
+        if (isIntegral(object)) {
+            return index.contains(((Number) object).longValue());
+        }
+        CharSequence text = asCharSequence(object);
+        return NumberParser.isLong(text) && index.contains(NumberParser.parseLong(text));
+    }
+
+    static boolean isInAnyRange(Object object, AtomicReference<RangeIndex> index) {
+        return isInAnyRange(object, index.get());
+    }
+
+    /**
+     * @return validated object itself if it is a {@link CharSequence}, so that it is not copied,
+     * its {@link String} representation otherwise
+     */
+    static CharSequence asCharSequence(Object object) {
+        if (object instanceof CharSequence) {
+            return (CharSequence) object;
+        }
+        return asString(object);
+    }
+
+    private static String asString(Object object) {
+        if (isNull(object)) {
+            return "";
+        }
+        return object.toString();
+    }
+
+    /**
+     * Numbers are converted without building their {@link String} representation.
+     *
+     * @return value of the object or {@link Double#NaN}, which is out of every range, if it is not a number
+     */
+    private static double asDouble(Object object) {
+        if (object instanceof Number) {
+            return ((Number) object).doubleValue();
+        }
+        else {
+            return NumberParser.parseDouble(asCharSequence(object));
+        }
+    }
+
+    private static boolean isIntegral(Object object) {
+        return object instanceof Integer || object instanceof Long || object instanceof Short || object instanceof Byte;
+    }
+}
@@ -0,0 +1,76 @@
+package validator;
+
+/**
+ * Open addressing hash table of names of enum constants, built once per enum class.
+ * Names are looked up by any {@link CharSequence} without converting it to a {@link String},
+ * using the same hash as {@link String#hashCode()}.
+ */
+
+final class EnumNames {
+
+    private static final ClassValue<EnumNames> ENUM_NAMES = new ClassValue<EnumNames>() {
+        @Override
+        protected EnumNames computeValue(Class<?> type) {
+            return new EnumNames(type.getEnumConstants());
+        }
+    };
+
+    private final String[] names;
+    private final int[] hashes;
+    private final int mask;
+
+    private EnumNames(Object[] constants) {
+        int size = constants == null ? 0 : constants.length;
+        int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+        this.names = new String[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            String name = ((Enum<?>) constants[i]).name();
+            int hash = name.hashCode();
+            int slot = hash & mask;
+            while (names[slot] != null) {
+                slot = slot + 1 & mask;
+            }
+            names[slot] = name;
+            hashes[slot] = hash;
+        }
+    }
+
+    /**
+     * @return names of constants of given class, no names if it is not an enum class
+     */
+    static EnumNames of(Class<?> enumClass) {
+        return ENUM_NAMES.get(enumClass);
+    }
+
+    boolean contains(CharSequence name) {
+        int hash = name instanceof String ? name.hashCode() : hashOf(name);
+        for (int slot = hash & mask; names[slot] != null; slot = slot + 1 & mask) {
+            if (hashes[slot] == hash && contentEquals(names[slot], name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int hashOf(CharSequence name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + name.charAt(i);
+        }
+        return hash;
+    }
+
+    private static boolean contentEquals(String name, CharSequence other) {
+        if (name.length() != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,223 @@
+package validator;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Path of a validated field, such as {@code Order.items.price}, kept as its parent path and last segment.
+ * <p>
+ * Paths named after classes, getters and metamodel properties are interned in a tree shared by all validations,
+ * so validating objects of the same shape looks up existing paths instead of concatenating their names. Text of
+ * a path is built only when it is first needed, which is when an error of the field is reported, and then kept by the path.
+ * <p>
+ * Names given at runtime, such as base object names and field names passed with values, may be unbounded,
+ * so their paths are created for a single validation, as are their children. A path interns at most
+ * {@value #MAX_INTERNED_CHILDREN} children and as many element indexes, further ones and elements named after
+ * their values are not kept by their parent either.
+ */
+
+final class FieldPath {
+
+    static final int MAX_INTERNED_CHILDREN = 1024;
+
+    private static final int NO_INDEX = -1;
+    private static final FieldPath[] NO_ELEMENTS = new FieldPath[0];
+    private static final FieldPath ROOT = new FieldPath(null, "", true);
+
+    private final FieldPath parent;
+    private final String segment;
+    private final int index;
+    private Object element;
+    private Function<Object, String> elementNaming;
+    private final boolean isInterned;
+    private volatile String path;
+    private volatile ConcurrentMap<String, FieldPath> children;
+    private volatile FieldPath[] elements = NO_ELEMENTS;
+
+    private FieldPath(FieldPath parent, String segment, boolean isInterned) {
+        this(parent, segment, NO_INDEX, null, null, isInterned);
+    }
+
+    private FieldPath(FieldPath parent, String segment, int index, Object element, Function<Object, String> elementNaming,
+                      boolean isInterned) {
+        this.parent = parent;
+        this.segment = segment;
+        this.index = index;
+        this.element = element;
+        this.elementNaming = elementNaming;
+        this.isInterned = isInterned;
+    }
+
+    /**
+     * @param name name of top-level object's class
+     *
+     * @return interned path of top-level object
+     */
+    static FieldPath of(String name) {
+        return ROOT.child(name);
+    }
+
+    /**
+     * @param name name of top-level object given at runtime, null is named "null"
+     *
+     * @return path of top-level object which is not interned, nor are its children
+     */
+    static FieldPath ofDynamicName(String name) {
+        return ROOT.dynamicChild(name);
+    }
+
+    /**
+     * @param path text of a path that was already built, such as a field of {@link SpecializedValidator} results
+     *
+     * @return path which is not interned
+     */
+    static FieldPath ofText(String path) {
+        FieldPath fieldPath = new FieldPath(ROOT, path, false);
+        fieldPath.path = path;
+        return fieldPath;
+    }
+
+    /**
+     * @param segment name of a getter's or a metamodel property's field, null is named "null"
+     *
+     * @return path of given field of this path, interned if this path is
+     */
+    FieldPath child(String segment) {
+        String name = String.valueOf(segment);
+        if (!isInterned) {
+            return new FieldPath(this, name, false);
+        }
+        ConcurrentMap<String, FieldPath> interned = getChildren();
+        FieldPath child = interned.get(name);
+        if (nonNull(child)) {
+            return child;
+        }
+        synchronized (this) {
+            child = interned.get(name);
+            if (nonNull(child)) {
+                return child;
+            }
+            if (interned.size() >= MAX_INTERNED_CHILDREN) {
+                return new FieldPath(this, name, false);
+            }
+            child = new FieldPath(this, name, true);
+            interned.put(name, child);
+            return child;
+        }
+    }
+
+    /**
+     * @param segment name of a field given at runtime, null is named "null"
+     *
+     * @return path of given field of this path, which is not interned
+     */
+    FieldPath dynamicChild(String segment) {
+        return new FieldPath(this, String.valueOf(segment), false);
+    }
+
+    /**
+     * @param index index of an element of this path's {@link Iterable}
+     *
+     * @return path of given element, such as {@code Order.items[17]}
+     */
+    FieldPath element(int index) {
+        FieldPath[] interned = elements;
+        if (index < interned.length && nonNull(interned[index])) {
+            return interned[index];
+        }
+        if (!isInterned || index >= MAX_INTERNED_CHILDREN) {
+            return new FieldPath(this, null, index, null, null, false);
+        }
+        synchronized (this) {
+            interned = elements;
+            if (index >= interned.length) {
+                interned = Arrays.copyOf(interned, Math.min(Math.max(index + 1, interned.length * 2), MAX_INTERNED_CHILDREN));
+            }
+            else if (nonNull(interned[index])) {
+                return interned[index];
+            }
+            else {
+                interned = interned.clone();
+            }
+            FieldPath element = new FieldPath(this, null, index, null, null, true);
+            interned[index] = element;
+            elements = interned;
+            return element;
+        }
+    }
+
+    /**
+     * Name of the element is computed by given function only when text of the path or of its children is built,
+     * which {@link ValidationSink} does when the first error of the element is added. The element is not kept afterwards.
+     *
+     * @param element       element of this path's {@link Iterable}
+     * @param elementNaming function that names non-null elements
+     *
+     * @return path of given element, which is not interned
+     */
+    @SuppressWarnings("unchecked")
+    <T> FieldPath element(T element, Function<? super T, String> elementNaming) {
+        return new FieldPath(this, null, NO_INDEX, element, (Function<Object, String>) elementNaming, false);
+    }
+
+    /**
+     * @return text of this path, with segments separated by dots
+     */
+    @Override
+    public String toString() {
+        String text = path;
+        if (isNull(text)) {
+            if (parent == ROOT) {
+                text = segment;
+            }
+            else if (index != NO_INDEX) {
+                text = parent.toString() + "[" + index + "]";
+            }
+            else {
+                text = parent.toString() + "." + (nonNull(segment) ? segment : nameOf(element));
+            }
+            path = text;
+            element = null;
+            elementNaming = null;
+        }
+        return text;
+    }
+
+    /**
+     * @return true if this path is shared by all validations
+     */
+    boolean isInterned() {
+        return isInterned;
+    }
+
+    /**
+     * @return number of children interned by this path, element indexes excluded
+     */
+    int getInternedChildCount() {
+        ConcurrentMap<String, FieldPath> interned = children;
+        return isNull(interned) ? 0 : interned.size();
+    }
+
+    private String nameOf(Object element) {
+        return nonNull(element) ? elementNaming.apply(element) : "null";
+    }
+
+    private ConcurrentMap<String, FieldPath> getChildren() {
+        ConcurrentMap<String, FieldPath> interned = children;
+        if (isNull(interned)) {
+            synchronized (this) {
+                interned = children;
+                if (isNull(interned)) {
+                    interned = new ConcurrentHashMap<>();
+                    children = interned;
+                }
+            }
+        }
+        return interned;
+    }
+}
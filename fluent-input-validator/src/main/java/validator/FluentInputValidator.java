@@ -0,0 +1,742 @@
+package validator;
+
+import org.apache.commons.lang3.tuple.Pair;
+import validator.ValidationConstraints.DoubleConstraint;
+import validator.ValidationConstraints.IntConstraint;
+import validator.ValidationConstraints.LongConstraint;
+import validator.ValidationConstraints.ValidationConstraint;
+import validator.ValidationConstraints.ValueShape;
+import validator.metamodel.IterableProperty;
+import validator.metamodel.Property;
+
+import javax.validation.ValidationException;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static java.lang.Boolean.FALSE;
+import static java.util.Arrays.stream;
+import static java.util.Objects.*;
+import static validator.ValidationConstraints.isNotNull;
+import static validator.utils.PropertyNameCache.getPropertyName;
+
+/**
+ * Provides fluent API for easy object validation.
+ *
+ * @author Paweł Fiuk
+ * @see ValidationConstraints
+ */
+
+public final class FluentInputValidator<BaseObject> {
+
+    private FluentInputValidator() {
+        this.root = this;
+        this.sinkOffset = 0;
+    }
+
+    /**
+     * Validator of top-level object, which owns results of all validators nested in it.
+     */
+    private final FluentInputValidator<?> root;
+
+    /**
+     * Created by root validator with the first error, valid objects are validated without allocating any results.
+     */
+    private ValidationSink validationSink;
+
+    /**
+     * Number of errors in results of root validator when this validator was created, this validator reports
+     * only errors appended after it.
+     */
+    private final int sinkOffset;
+
+    private BaseObject baseObject;
+    private FieldPath basePath;
+
+    private FluentInputValidator(BaseObject baseObject) {
+        this.baseObject = baseObject;
+        this.root = this;
+        this.sinkOffset = 0;
+    }
+
+    private FluentInputValidator(BaseObject baseObject, FieldPath basePath, FluentInputValidator<?> root) {
+        this.baseObject = baseObject;
+        this.basePath = basePath;
+        this.root = root;
+        this.sinkOffset = isNull(root.validationSink) ? 0 : root.validationSink.size();
+    }
+
+    /**
+     * Entry point for all validation.
+     *
+     * @param baseObject top-level object under validation
+     *
+     * @return new {@link FluentInputValidator.BaseObjectNameBuilder} for method chaining
+     */
+    public static <T> FluentInputValidator<T>.BaseObjectNameBuilder validate(T baseObject) {
+        FluentInputValidator<T> validator = new FluentInputValidator<>(baseObject);
+        validator.baseObject = baseObject;
+        return validator.new BaseObjectNameBuilder();
+    }
+
+    /**
+     * Provides a name for base object.
+     */
+    public class BaseObjectNameBuilder {
+        private BaseObjectNameBuilder() {
+        }
+
+        /**
+         * Uses top-level validation object's class name as it's name.
+         *
+         * @throws ValidationException if base object is null.
+         */
+        public final FieldValidatorBuilder withDefaultName() {
+            checkBaseObject(null);
+            FluentInputValidator.this.basePath = FieldPath.of(baseObject.getClass()
+                                                                        .getSimpleName());
+            return new FieldValidatorBuilder();
+        }
+
+        /**
+         * @param baseObjectName name of base object for validation map building
+         *
+         * @throws ValidationException if base object is null.
+         */
+        public final FieldValidatorBuilder as(String baseObjectName) {
+            checkBaseObject(baseObjectName);
+            FluentInputValidator.this.basePath = FieldPath.ofDynamicName(baseObjectName);
+            return new FieldValidatorBuilder();
+        }
+
+        private void checkBaseObject(String baseObjectName) {
+            if (isNull(baseObject)) {
+                throw new ValidationException(baseObjectName + " may not be null");
+            }
+        }
+    }
+
+    /**
+     * Entry point for field validation.
+     */
+    public class FieldValidatorBuilder {
+        private FieldValidatorBuilder() {
+        }
+
+        /**
+         * @param getter static method reference of field getter
+         */
+        public final <U extends FieldValidator<U, T>, T> FieldValidator<U, T> given(Function<BaseObject, T> getter) {
+            return new FieldValidator<>(getter.apply(baseObject), basePath.child(getPropertyName(getBaseObjectClass(), getter)));
+        }
+
+        /**
+         * {@link #given(Function)} variation for serializable method references, which allows resolving
+         * field name without calling the getter.
+         *
+         * @param getter static method reference of field getter
+         */
+        public final <U extends FieldValidator<U, T>, T> FieldValidator<U, T> given(SerializableFunction<BaseObject, T> getter) {
+            return given((Function<BaseObject, T>) getter);
+        }
+
+        /**
+         * {@link #given(Function)} variation for generated metamodel properties, their names are known at compile time.
+         *
+         * @param property metamodel property of base object
+         * @see validator.metamodel.ValidationMetamodel
+         */
+        public final <U extends FieldValidator<U, T>, T> FieldValidator<U, T> given(Property<? super BaseObject, T> property) {
+            return new FieldValidator<>(property.getValue(baseObject), basePath.child(property.getName()));
+        }
+
+        /**
+         * @param getter    instance method reference of field getter
+         * @param fieldName name of field provided by the getter
+         */
+        public final <U extends FieldValidator<U, T>, T> FieldValidator<U, T> given(Supplier<T> getter, String fieldName) {
+            return given(getter.get(), fieldName);
+        }
+
+        /**
+         * @param field     base object's field
+         * @param fieldName name of field provided by the getter
+         */
+        public final <U extends FieldValidator<U, T>, T> FieldValidator<U, T> given(T field, String fieldName) {
+            return new FieldValidator<>(field, basePath.dynamicChild(fieldName));
+        }
+
+        /**
+         * {@link #given(Function)} variation for fields that implement {@link Iterable}.
+         */
+        public final <T> IterableFieldValidator<T, ? extends Iterable<T>> given(IterableFunction<BaseObject, T> getter) {
+            return new IterableFieldValidator<>(getter.apply(baseObject), basePath.child(getPropertyName(getBaseObjectClass(), getter)));
+        }
+
+        /**
+         * {@link #given(Property)} variation for fields that implement {@link Iterable}.
+         */
+        public final <T> IterableFieldValidator<T, ? extends Iterable<T>> given(IterableProperty<? super BaseObject, T> property) {
+            return new IterableFieldValidator<>(property.getValue(baseObject), basePath.child(property.getName()));
+        }
+
+        /**
+         * {@link #given(Supplier, String)} variation for fields that implement {@link Iterable}.
+         */
+        public final <T> IterableFieldValidator<T, ? extends Iterable<T>> given(IterableSupplier<T> getter, String fieldName) {
+            return given(getter.get(), fieldName);
+        }
+
+        /**
+         * {@link #given(Object, String)} variation for fields that implement {@link Iterable}.
+         */
+        public final <T> IterableFieldValidator<T, ? extends Iterable<T>> given(Iterable<T> field, String fieldName) {
+            return new IterableFieldValidator<>(field, basePath.dynamicChild(fieldName));
+        }
+
+        /**
+         * {@link #given(Function)} variation for primitive {@code int} fields, validated without boxing.
+         */
+        public final IntFieldValidator givenInt(ToIntFunction<BaseObject> getter) {
+            return new IntFieldValidator(getter.applyAsInt(baseObject),
+                                         basePath.child(getPropertyName(getBaseObjectClass(), getter)));
+        }
+
+        /**
+         * {@link #given(Object, String)} variation for primitive {@code int} fields, validated without boxing.
+         */
+        public final IntFieldValidator givenInt(int field, String fieldName) {
+            return new IntFieldValidator(field, basePath.dynamicChild(fieldName));
+        }
+
+        /**
+         * {@link #given(Function)} variation for primitive {@code long} fields, validated without boxing.
+         */
+        public final LongFieldValidator givenLong(ToLongFunction<BaseObject> getter) {
+            return new LongFieldValidator(getter.applyAsLong(baseObject),
+                                          basePath.child(getPropertyName(getBaseObjectClass(), getter)));
+        }
+
+        /**
+         * {@link #given(Object, String)} variation for primitive {@code long} fields, validated without boxing.
+         */
+        public final LongFieldValidator givenLong(long field, String fieldName) {
+            return new LongFieldValidator(field, basePath.dynamicChild(fieldName));
+        }
+
+        /**
+         * {@link #given(Function)} variation for primitive {@code double} fields, validated without boxing.
+         */
+        public final DoubleFieldValidator givenDouble(ToDoubleFunction<BaseObject> getter) {
+            return new DoubleFieldValidator(getter.applyAsDouble(baseObject),
+                                            basePath.child(getPropertyName(getBaseObjectClass(), getter)));
+        }
+
+        /**
+         * {@link #given(Object, String)} variation for primitive {@code double} fields, validated without boxing.
+         */
+        public final DoubleFieldValidator givenDouble(double field, String fieldName) {
+            return new DoubleFieldValidator(field, basePath.dynamicChild(fieldName));
+        }
+
+        /**
+         * @return endpoint for base object's validation.
+         */
+        public final ValidationFinalizer ifErrorsPresent() {
+            return FluentInputValidator.this.new ValidationFinalizer();
+        }
+    }
+
+    /**
+     * Serializable {@link Function} variation, its field name can be resolved from method reference itself.
+     */
+    public interface SerializableFunction<U, T> extends Function<U, T>, Serializable {
+    }
+
+    /**
+     * {@link Function} variation for {@link Iterable} objects.
+     */
+    public interface IterableFunction<U, T> extends SerializableFunction<U, Iterable<T>> {
+    }
+
+    /**
+     * {@link Supplier} variation for {@link Iterable} objects.
+     */
+    public interface IterableSupplier<T> extends Supplier<Iterable<T>> {
+    }
+
+    /**
+     * Extended {@link FieldValidator} for {@link Iterable} objects.
+     */
+    public class IterableFieldValidator<SubField, Field extends Iterable<SubField>> extends FieldValidator<IterableFieldValidator<SubField, Field>, Field> {
+        private IterableFieldValidator(Field field, FieldPath fieldPath) {
+            super(field, fieldPath);
+        }
+
+        /**
+         * Allows validation for each element of an {@link Iterable} field. Elements are named with {@link String#valueOf(Object)}
+         * only if they have errors.
+         */
+        public IterableFieldValidator<SubField, Field> forEach(Consumer<FluentInputValidator<Field>.FieldValidator<?, SubField>> validatorConsumer) {
+            return forEach(String::valueOf, validatorConsumer);
+        }
+
+        /**
+         * Allows validation for each element of an {@link Iterable} field.
+         *
+         * @param toString function naming non-null elements, called only for elements with errors
+         */
+        public IterableFieldValidator<SubField, Field> forEach(Function<SubField, String> toString,
+                                                               Consumer<FluentInputValidator<Field>.FieldValidator<?, SubField>> validatorConsumer) {
+            return forEach(toString, false, validatorConsumer);
+        }
+
+        /**
+         * Allows validation for each element of an {@link Iterable} field. Elements are named by their indexes,
+         * such as {@code items[17]}, without calling any of their methods.
+         */
+        public IterableFieldValidator<SubField, Field> forEachIndexed(Consumer<FluentInputValidator<Field>.FieldValidator<?, SubField>> validatorConsumer) {
+            return forEach(null, true, validatorConsumer);
+        }
+
+        private IterableFieldValidator<SubField, Field> forEach(Function<SubField, String> toString, boolean isIndexed,
+                                                                Consumer<FluentInputValidator<Field>.FieldValidator<?, SubField>> validatorConsumer) {
+            andWhen(isNotNull());
+            if (canBeValidated) {
+                int index = 0;
+                for (SubField subField : field) {
+                    FieldPath elementPath = isIndexed ? fieldPath.element(index++) : fieldPath.element(subField, toString);
+                    FluentInputValidator<Field> subFieldValidator = new FluentInputValidator<>(field, fieldPath, root);
+                    validatorConsumer.accept(subFieldValidator.new FieldValidator<>(subField, elementPath));
+                }
+            }
+            return getGenericThis();
+        }
+    }
+
+    /**
+     * Allows validation of base object's fields.
+     */
+    public class FieldValidator<ThisType extends FieldValidator<ThisType, Field>, Field> {
+        protected final Field field;
+        protected final FieldPath fieldPath;
+        protected boolean canBeValidated = true;
+
+        private FieldValidator(Field field, FieldPath fieldPath) {
+            this.field = field;
+            this.fieldPath = fieldPath;
+        }
+
+        /**
+         * Allows conditional validation. Erases all previous conditions for this field.
+         */
+        public final ThisType when(ValidationConstraint... validationConstraints) {
+            canBeValidated = true;
+            return andWhen(validationConstraints);
+        }
+
+        /**
+         * Allows conditional validation. Erases all previous conditions for this field.
+         */
+        @SafeVarargs
+        public final ThisType when(Function<Field, Boolean>... conditions) {
+            canBeValidated = true;
+            return andWhen(conditions);
+        }
+
+        /**
+         * Allows conditional validation. Erases all previous conditions for this field.
+         */
+        public final ThisType when(Boolean... conditions) {
+            canBeValidated = true;
+            return andWhen(conditions);
+        }
+
+        /**
+         * Allows conditional validation.
+         */
+        public final ThisType andWhen(ValidationConstraint... validationConstraints) {
+            ValueShape shape = new ValueShape(field);
+            long conditionErrors = stream(validationConstraints).map(shape::getValidationErrorFor)
+                                                                .filter(Objects::nonNull)
+                                                                .count();
+            return andWhen(conditionErrors == 0);
+        }
+
+        /**
+         * Allows conditional validation.
+         */
+        @SafeVarargs
+        public final ThisType andWhen(Function<Field, Boolean>... conditions) {
+            long conditionErrors = stream(conditions).map(f -> f.apply(field))
+                                                     .filter(FALSE::equals)
+                                                     .count();
+
+            return andWhen(conditionErrors == 0);
+        }
+
+        /**
+         * Allows conditional validation.
+         */
+        public final ThisType andWhen(Boolean... conditions) {
+            boolean areAllConditionsMet = stream(conditions).reduce(Boolean::logicalAnd)
+                                                            .orElse(false);
+            canBeValidated = canBeValidated && areAllConditionsMet;
+            return getGenericThis();
+        }
+
+        /**
+         * Specifies validation constraints that a field will be validated against.
+         */
+        public final ThisType expectThat(ValidationConstraint... validationConstraints) {
+            if (canBeValidated) {
+                ValueShape shape = new ValueShape(field);
+                stream(validationConstraints).map(shape::getValidationErrorFor)
+                                             .filter(Objects::nonNull)
+                                             .forEach(this::addValidationResult);
+            }
+            return getGenericThis();
+        }
+
+        /**
+         * Allows validation of nested objects.
+         */
+        public ThisType validateInternals(Consumer<FluentInputValidator<Field>.FieldValidatorBuilder> validatorConsumer) {
+            if (nonNull(field)) {
+                FluentInputValidator<Field> internalsValidator = new FluentInputValidator<>(field, fieldPath, root);
+                validatorConsumer.accept(internalsValidator.new FieldValidatorBuilder());
+            }
+            return getGenericThis();
+        }
+
+        /**
+         * Allows custom validation at does not append errors, but possibly ends validation flow with an exception instead.
+         */
+        public ThisType validateUsing(Consumer<Field> consumer) {
+            consumer.accept(field);
+            return getGenericThis();
+        }
+
+        /**
+         * Allows validation with {@link SpecializedValidator}.
+         */
+        public ThisType validateUsing(Supplier<SpecializedValidator<Field>> specializedValidatorSupplier) {
+            return validateUsing(specializedValidatorSupplier.get());
+        }
+
+        /**
+         * Allows validation with {@link SpecializedValidator}.
+         */
+        public ThisType validateUsing(SpecializedValidator<Field> specializedValidator) {
+            if (nonNull(field)) {
+                addAll(specializedValidator.getValidationFor(field, fieldPath.toString()));
+            }
+            return getGenericThis();
+        }
+
+        /**
+         * Validation separator, allows validation of a different field.
+         */
+        public final FieldValidatorBuilder and() {
+            return new FieldValidatorBuilder();
+        }
+
+        private void addValidationResult(ValidationError error) {
+            addError(fieldPath, error);
+        }
+
+        /**
+         * @return endpoint for validation.
+         */
+        public final ValidationFinalizer ifErrorsPresent() {
+            return FluentInputValidator.this.new ValidationFinalizer();
+        }
+
+        @SuppressWarnings("unchecked")
+        protected ThisType getGenericThis() {
+            return (ThisType) this;
+        }
+
+    }
+
+    /**
+     * Allows validation of base object's primitive fields. Conditions and constraints are checked
+     * against the primitive value, without boxing it.
+     */
+    public abstract class PrimitiveFieldValidator<ThisType extends PrimitiveFieldValidator<ThisType>> {
+        protected final FieldPath fieldPath;
+        protected boolean canBeValidated = true;
+
+        private PrimitiveFieldValidator(FieldPath fieldPath) {
+            this.fieldPath = fieldPath;
+        }
+
+        /**
+         * Allows conditional validation. Erases all previous conditions for this field.
+         */
+        public final ThisType when(boolean condition) {
+            canBeValidated = true;
+            return andWhen(condition);
+        }
+
+        /**
+         * Allows conditional validation.
+         */
+        public final ThisType andWhen(boolean condition) {
+            canBeValidated = canBeValidated && condition;
+            return getGenericThis();
+        }
+
+        /**
+         * Validation separator, allows validation of a different field.
+         */
+        public final FieldValidatorBuilder and() {
+            return new FieldValidatorBuilder();
+        }
+
+        /**
+         * @return endpoint for validation.
+         */
+        public final ValidationFinalizer ifErrorsPresent() {
+            return FluentInputValidator.this.new ValidationFinalizer();
+        }
+
+        protected final void addValidationResultIfPresent(ValidationError error) {
+            if (nonNull(error)) {
+                addError(fieldPath, error);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        protected ThisType getGenericThis() {
+            return (ThisType) this;
+        }
+    }
+
+    /**
+     * Allows validation of base object's {@code int} fields.
+     */
+    public class IntFieldValidator extends PrimitiveFieldValidator<IntFieldValidator> {
+        protected final int field;
+
+        private IntFieldValidator(int field, FieldPath fieldPath) {
+            super(fieldPath);
+            this.field = field;
+        }
+
+        /**
+         * Allows conditional validation. Erases all previous conditions for this field.
+         */
+        public final IntFieldValidator when(IntConstraint... constraints) {
+            canBeValidated = true;
+            return andWhen(constraints);
+        }
+
+        /**
+         * Allows conditional validation.
+         */
+        public final IntFieldValidator andWhen(IntConstraint... constraints) {
+            for (IntConstraint constraint : constraints) {
+                andWhen(isNull(constraint.getValidationErrorFor(field)));
+            }
+            return this;
+        }
+
+        /**
+         * Specifies validation constraints that a field will be validated against.
+         */
+        public final IntFieldValidator expectThat(IntConstraint... constraints) {
+            if (canBeValidated) {
+                for (IntConstraint constraint : constraints) {
+                    addValidationResultIfPresent(constraint.getValidationErrorFor(field));
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Allows validation of base object's {@code long} fields.
+     */
+    public class LongFieldValidator extends PrimitiveFieldValidator<LongFieldValidator> {
+        protected final long field;
+
+        private LongFieldValidator(long field, FieldPath fieldPath) {
+            super(fieldPath);
+            this.field = field;
+        }
+
+        /**
+         * Allows conditional validation. Erases all previous conditions for this field.
+         */
+        public final LongFieldValidator when(LongConstraint... constraints) {
+            canBeValidated = true;
+            return andWhen(constraints);
+        }
+
+        /**
+         * Allows conditional validation.
+         */
+        public final LongFieldValidator andWhen(LongConstraint... constraints) {
+            for (LongConstraint constraint : constraints) {
+                andWhen(isNull(constraint.getValidationErrorFor(field)));
+            }
+            return this;
+        }
+
+        /**
+         * Specifies validation constraints that a field will be validated against.
+         */
+        public final LongFieldValidator expectThat(LongConstraint... constraints) {
+            if (canBeValidated) {
+                for (LongConstraint constraint : constraints) {
+                    addValidationResultIfPresent(constraint.getValidationErrorFor(field));
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Allows validation of base object's {@code double} fields.
+     */
+    public class DoubleFieldValidator extends PrimitiveFieldValidator<DoubleFieldValidator> {
+        protected final double field;
+
+        private DoubleFieldValidator(double field, FieldPath fieldPath) {
+            super(fieldPath);
+            this.field = field;
+        }
+
+        /**
+         * Allows conditional validation. Erases all previous conditions for this field.
+         */
+        public final DoubleFieldValidator when(DoubleConstraint... constraints) {
+            canBeValidated = true;
+            return andWhen(constraints);
+        }
+
+        /**
+         * Allows conditional validation.
+         */
+        public final DoubleFieldValidator andWhen(DoubleConstraint... constraints) {
+            for (DoubleConstraint constraint : constraints) {
+                andWhen(isNull(constraint.getValidationErrorFor(field)));
+            }
+            return this;
+        }
+
+        /**
+         * Specifies validation constraints that a field will be validated against.
+         */
+        public final DoubleFieldValidator expectThat(DoubleConstraint... constraints) {
+            if (canBeValidated) {
+                for (DoubleConstraint constraint : constraints) {
+                    addValidationResultIfPresent(constraint.getValidationErrorFor(field));
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Endpoint for validation.
+     */
+    public class ValidationFinalizer {
+        private ValidationFinalizer() {
+        }
+
+        /**
+         * @return new map containing field names and corresponding validation errors, owned by the caller,
+         * or shared, unmodifiable {@link ValidationMap#empty()} if there are none
+         */
+        public final ValidationMap getValidationResults() {
+            return hasErrors() ? root.validationSink.toValidationMap(sinkOffset) : ValidationMap.empty();
+        }
+
+        public final ValidationFinalizer forEach(Consumer<Pair<String, List<String>>> validationConsumer) {
+            if (hasErrors()) {
+                getValidationResults().forEach((field, errors) -> validationConsumer.accept(Pair.of(field, errors)));
+            }
+            return this;
+        }
+
+        /**
+         * @param exception to be thrown if validation errors are present
+         */
+        public final void throwException(RuntimeException exception) {
+            throwIfNotNullAndValidationErrorOccurred(exception);
+        }
+
+        /**
+         * @param exceptionSupplier supplier of exception to be thrown if validation errors are present
+         */
+        public final void throwException(Supplier<RuntimeException> exceptionSupplier) {
+            throwIfNotNullAndValidationErrorOccurred(exceptionSupplier.get());
+        }
+
+        /**
+         * @param exceptionFunction function that builds exception to be thrown from validation errors
+         */
+        public final void throwException(Function<ValidationMap, RuntimeException> exceptionFunction) {
+            if (hasErrors()) {
+                throwIfNotNullAndValidationErrorOccurred(exceptionFunction.apply(getValidationResults()));
+            }
+        }
+
+        /**
+         * @throws ValidationException if validation errors are present
+         */
+        public final void throwValidationException() {
+            throwIfNotNullAndValidationErrorOccurred(null);
+        }
+
+        private <E extends RuntimeException> void throwIfNotNullAndValidationErrorOccurred(E exception) {
+            if (hasErrors()) {
+                if (nonNull(exception)) {
+                    throw exception;
+                }
+                else {
+                    throw getValidationException();
+                }
+            }
+        }
+
+        private ValidationException getValidationException() {
+            return new ValidationException(getValidationResults().toJson());
+        }
+    }
+
+    private void addError(FieldPath fieldPath, ValidationError error) {
+        getValidationSink().add(fieldPath, error);
+    }
+
+    private void addAll(ValidationMap results) {
+        if (nonNull(results) && !results.isEmpty()) {
+            getValidationSink().addAll(results);
+        }
+    }
+
+    private ValidationSink getValidationSink() {
+        if (isNull(root.validationSink)) {
+            root.validationSink = new ValidationSink();
+        }
+        return root.validationSink;
+    }
+
+    private boolean hasErrors() {
+        return nonNull(root.validationSink) && root.validationSink.size() > sinkOffset;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<BaseObject> getBaseObjectClass() {
+        return (Class<BaseObject>) baseObject.getClass();
+    }
+
+}
@@ -0,0 +1,226 @@
+package validator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Writes maps of field names and their messages as JSON objects of string arrays, straight to an {@link Appendable}.
+ * Strings are escaped while they are written, in runs of characters that need no escaping, so no intermediate
+ * strings or object models are built.
+ *
+ * @see ValidationMap#writeJson(Appendable, boolean)
+ */
+
+final class JsonWriter {
+
+    private static final String INDENT = "  ";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private JsonWriter() {
+    }
+
+    /**
+     * Entries with null lists are skipped.
+     *
+     * @param isPretty whether to write each message on its own line, indented by two spaces
+     */
+    static void write(Map<String, List<String>> map, Appendable out, boolean isPretty) throws IOException {
+        out.append('{');
+        boolean isFirstField = true;
+        for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+            List<String> messages = entry.getValue();
+            if (isNull(messages)) {
+                continue;
+            }
+            if (!isFirstField) {
+                out.append(',');
+            }
+            isFirstField = false;
+            newLine(out, isPretty, 1);
+            writeString(entry.getKey(), out);
+            out.append(isPretty ? ": " : ":");
+            writeArray(messages, out, isPretty);
+        }
+        if (!isFirstField) {
+            newLine(out, isPretty, 0);
+        }
+        out.append('}');
+    }
+
+    /**
+     * @return {@link Appendable} encoding characters as UTF-8 into given stream, without buffering them
+     */
+    static Appendable utf8(OutputStream out) {
+        return new Utf8Output(out);
+    }
+
+    private static void writeArray(List<String> messages, Appendable out, boolean isPretty) throws IOException {
+        out.append('[');
+        int size = messages.size();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            newLine(out, isPretty, 2);
+            writeString(messages.get(i), out);
+        }
+        if (size > 0) {
+            newLine(out, isPretty, 1);
+        }
+        out.append(']');
+    }
+
+    private static void newLine(Appendable out, boolean isPretty, int depth) throws IOException {
+        if (isPretty) {
+            out.append('\n');
+            for (int i = 0; i < depth; i++) {
+                out.append(INDENT);
+            }
+        }
+    }
+
+    private static void writeString(String value, Appendable out) throws IOException {
+        if (isNull(value)) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        int unescaped = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (needsEscaping(character)) {
+                appendRange(value, unescaped, i, out);
+                appendEscaped(character, out);
+                unescaped = i + 1;
+            }
+        }
+        appendRange(value, unescaped, value.length(), out);
+        out.append('"');
+    }
+
+    private static boolean needsEscaping(char character) {
+        return character < 0x20 || character == '"' || character == '\\' || character == '\u2028' || character == '\u2029';
+    }
+
+    private static void appendEscaped(char character, Appendable out) throws IOException {
+        switch (character) {
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            case '\b':
+                out.append("\\b");
+                break;
+            case '\f':
+                out.append("\\f");
+                break;
+            default:
+                out.append("\\u")
+                   .append(HEX_DIGITS[character >> 12 & 0xF])
+                   .append(HEX_DIGITS[character >> 8 & 0xF])
+                   .append(HEX_DIGITS[character >> 4 & 0xF])
+                   .append(HEX_DIGITS[character & 0xF]);
+        }
+    }
+
+    /**
+     * {@link Writer#append(CharSequence, int, int)} copies given range into a new string, so writers are written to directly.
+     */
+    private static void appendRange(String value, int start, int end, Appendable out) throws IOException {
+        if (start == end) {
+            return;
+        }
+        if (out instanceof Writer) {
+            ((Writer) out).write(value, start, end - start);
+        }
+        else {
+            out.append(value, start, end);
+        }
+    }
+
+    /**
+     * UTF-8 encoder of appended characters. Surrogate pairs may be split between calls, unpaired surrogates
+     * are written as {@code ?}, as {@link String#getBytes(java.nio.charset.Charset)} does.
+     */
+    private static final class Utf8Output implements Appendable {
+        private final OutputStream out;
+        private char highSurrogate;
+
+        private Utf8Output(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public Appendable append(CharSequence characters) throws IOException {
+            return append(characters, 0, characters.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence characters, int start, int end) throws IOException {
+            for (int i = start; i < end; i++) {
+                append(characters.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char character) throws IOException {
+            if (highSurrogate != 0) {
+                char high = highSurrogate;
+                highSurrogate = 0;
+                if (Character.isLowSurrogate(character)) {
+                    writeCodePoint(Character.toCodePoint(high, character));
+                    return this;
+                }
+                out.write('?');
+            }
+            if (Character.isHighSurrogate(character)) {
+                highSurrogate = character;
+            }
+            else if (Character.isLowSurrogate(character)) {
+                out.write('?');
+            }
+            else {
+                writeCodePoint(character);
+            }
+            return this;
+        }
+
+        private void writeCodePoint(int codePoint) throws IOException {
+            if (codePoint < 0x80) {
+                out.write(codePoint);
+            }
+            else if (codePoint < 0x800) {
+                out.write(0xC0 | codePoint >> 6);
+                out.write(0x80 | codePoint & 0x3F);
+            }
+            else if (codePoint < 0x10000) {
+                out.write(0xE0 | codePoint >> 12);
+                out.write(0x80 | codePoint >> 6 & 0x3F);
+                out.write(0x80 | codePoint & 0x3F);
+            }
+            else {
+                out.write(0xF0 | codePoint >> 18);
+                out.write(0x80 | codePoint >> 12 & 0x3F);
+                out.write(0x80 | codePoint >> 6 & 0x3F);
+                out.write(0x80 | codePoint & 0x3F);
+            }
+        }
+    }
+}
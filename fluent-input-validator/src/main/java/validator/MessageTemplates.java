@@ -0,0 +1,161 @@
+package validator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Message templates of {@link ValidationError} codes, loaded from {@value #BUNDLE_NAME} resource bundle.
+ * Templates of a locale are loaded and compiled once, on first use, so rendering a message only looks up
+ * the compiled template and appends its parts.
+ * <p>
+ * Templates refer to arguments of the failed constraint with {@code {0}}, {@code {1}}, ... placeholders.
+ * Other text, including other braces, is copied as it is. Messages of further languages can be provided
+ * by adding {@code validator/messages_<locale>.properties} files to the classpath.
+ */
+
+public final class MessageTemplates {
+
+    /**
+     * Base name of resource bundle with message templates.
+     */
+    public static final String BUNDLE_NAME = "validator.messages";
+
+    private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+
+    private static final ConcurrentMap<Locale, Map<String, MessageTemplate>> templates = new ConcurrentHashMap<>();
+
+    private MessageTemplates() {
+    }
+
+    /**
+     * @param error  validation error
+     * @param locale locale of the message, {@link Locale#ROOT} for default messages
+     *
+     * @return message rendered from template of error's code, or from the code itself if there is no template
+     */
+    public static String render(ValidationError error, Locale locale) {
+        MessageTemplate template = templates.computeIfAbsent(locale, MessageTemplates::loadTemplates)
+                                            .get(error.getCode());
+        if (nonNull(template)) {
+            return template.render(error.getArguments());
+        }
+        return error.getArguments()
+                    .isEmpty() ? error.getCode() : MessageTemplate.compile(error.getCode())
+                                                                  .render(error.getArguments());
+    }
+
+    /**
+     * Removes all compiled templates, so that they are loaded again on next use.
+     */
+    public static void clear() {
+        templates.clear();
+        ResourceBundle.clearCache(MessageTemplates.class.getClassLoader());
+    }
+
+    private static Map<String, MessageTemplate> loadTemplates(Locale locale) {
+        ResourceBundle bundle;
+        try {
+            bundle = ResourceBundle.getBundle(BUNDLE_NAME, locale, MessageTemplates.class.getClassLoader(), CONTROL);
+        } catch (MissingResourceException e) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, MessageTemplate> localeTemplates = new HashMap<>();
+        for (String code : bundle.keySet()) {
+            localeTemplates.put(code, MessageTemplate.compile(bundle.getString(code)));
+        }
+        return localeTemplates;
+    }
+
+    /**
+     * Template split into literal parts and indexes of arguments placed between them.
+     */
+    static final class MessageTemplate {
+        private final String[] literals;
+        private final int[] argumentIndexes;
+        private final int length;
+
+        private MessageTemplate(String[] literals, int[] argumentIndexes) {
+            this.literals = literals;
+            this.argumentIndexes = argumentIndexes;
+            int literalsLength = 0;
+            for (String literal : literals) {
+                literalsLength += literal.length();
+            }
+            this.length = literalsLength;
+        }
+
+        static MessageTemplate compile(String template) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> argumentIndexes = new ArrayList<>();
+            int start = 0;
+            for (int open = template.indexOf('{'); open >= 0; open = template.indexOf('{', open + 1)) {
+                int close = template.indexOf('}', open);
+                if (close < 0) {
+                    break;
+                }
+                int index = parseIndex(template, open + 1, close);
+                if (index >= 0) {
+                    literals.add(template.substring(start, open));
+                    argumentIndexes.add(index);
+                    start = close + 1;
+                    open = close;
+                }
+            }
+            literals.add(template.substring(start));
+
+            return new MessageTemplate(literals.toArray(new String[0]), argumentIndexes.stream()
+                                                                                      .mapToInt(Integer::intValue)
+                                                                                      .toArray());
+        }
+
+        /**
+         * Placeholders of missing arguments are rendered as they are.
+         */
+        String render(List<Object> arguments) {
+            if (argumentIndexes.length == 0) {
+                return literals[0];
+            }
+            StringBuilder message = new StringBuilder(length + 8 * argumentIndexes.length);
+            for (int i = 0; i < argumentIndexes.length; i++) {
+                message.append(literals[i]);
+                int index = argumentIndexes[i];
+                if (index < arguments.size()) {
+                    message.append(arguments.get(index));
+                }
+                else {
+                    message.append('{')
+                           .append(index)
+                           .append('}');
+                }
+            }
+            return message.append(literals[argumentIndexes.length])
+                          .toString();
+        }
+
+        private static int parseIndex(String template, int start, int end) {
+            if (start == end || end - start > 9) {
+                return -1;
+            }
+            int index = 0;
+            for (int i = start; i < end; i++) {
+                char digit = template.charAt(i);
+                if (digit < '0' || digit > '9') {
+                    return -1;
+                }
+                index = index * 10 + digit - '0';
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package validator;
+
+/**
+ * Parsers of numbers written in {@link CharSequence}s, which report malformed numbers through their results
+ * instead of throwing {@link NumberFormatException}, and do not allocate for common inputs.
+ * <p>
+ * Only ASCII digits are accepted. Leading and trailing whitespaces, hexadecimal notation, type suffixes,
+ * {@code NaN} and {@code Infinity} are not numbers.
+ */
+
+final class NumberParser {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final int MAX_EXPONENT = 100_000;
+
+    private NumberParser() {
+    }
+
+    /**
+     * @return true if text is an optionally signed decimal integer within {@link Long} range
+     */
+    static boolean isLong(CharSequence text) {
+        int length = text.length();
+        boolean isNegative = length > 0 && text.charAt(0) == '-';
+        int start = isNegative || length > 0 && text.charAt(0) == '+' ? 1 : 0;
+        if (start == length) {
+            return false;
+        }
+
+        long limit = isNegative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplicationLimit = limit / 10;
+        long negatedValue = 0;
+        for (int i = start; i < length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || negatedValue < multiplicationLimit) {
+                return false;
+            }
+            negatedValue *= 10;
+            if (negatedValue < limit + digit) {
+                return false;
+            }
+            negatedValue -= digit;
+        }
+        return true;
+    }
+
+    /**
+     * @param text text for which {@link #isLong(CharSequence)} is true
+     *
+     * @return parsed value, unspecified if text is not a long
+     */
+    static long parseLong(CharSequence text) {
+        int length = text.length();
+        boolean isNegative = text.charAt(0) == '-';
+        int start = isNegative || text.charAt(0) == '+' ? 1 : 0;
+        long negatedValue = 0;
+        for (int i = start; i < length; i++) {
+            negatedValue = negatedValue * 10 - (text.charAt(i) - '0');
+        }
+        return isNegative ? negatedValue : -negatedValue;
+    }
+
+    /**
+     * @return true if text is an optionally signed decimal number with optional fraction and exponent, such as {@code -1.5e3}
+     */
+    static boolean isDouble(CharSequence text) {
+        return !Double.isNaN(parseDouble(text, false));
+    }
+
+    /**
+     * Numbers of up to {@value #MAX_MANTISSA_DIGITS} significant digits and small exponents are computed exactly,
+     * longer ones are parsed by {@link Double#parseDouble(String)}.
+     *
+     * @return parsed value or {@link Double#NaN} if text is not a number
+     * @see #isDouble(CharSequence)
+     */
+    static double parseDouble(CharSequence text) {
+        return parseDouble(text, true);
+    }
+
+    /**
+     * @return NaN if text is not a number, parsed value or 0 depending on computeValue otherwise
+     */
+    private static double parseDouble(CharSequence text, boolean computeValue) {
+        int length = text.length();
+        int i = 0;
+        boolean isNegative = false;
+        if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            isNegative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int mantissaDigits = 0;
+        int exponent = 0;
+        boolean isExact = true;
+        boolean hasDigits = false;
+        for (; i < length && isDigit(text.charAt(i)); i++) {
+            hasDigits = true;
+            if (mantissaDigits < MAX_MANTISSA_DIGITS) {
+                mantissa = mantissa * 10 + text.charAt(i) - '0';
+                mantissaDigits += mantissa == 0 ? 0 : 1;
+            }
+            else {
+                isExact = false;
+            }
+        }
+        if (i < length && text.charAt(i) == '.') {
+            for (i++; i < length && isDigit(text.charAt(i)); i++) {
+                hasDigits = true;
+                if (mantissaDigits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + text.charAt(i) - '0';
+                    mantissaDigits += mantissa == 0 ? 0 : 1;
+                    exponent--;
+                }
+                else {
+                    isExact = false;
+                }
+            }
+        }
+        if (!hasDigits) {
+            return Double.NaN;
+        }
+
+        if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            boolean isExponentNegative = false;
+            if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                isExponentNegative = text.charAt(i) == '-';
+                i++;
+            }
+            if (i == length) {
+                return Double.NaN;
+            }
+            int explicitExponent = 0;
+            for (; i < length && isDigit(text.charAt(i)); i++) {
+                explicitExponent = Math.min(explicitExponent * 10 + text.charAt(i) - '0', MAX_EXPONENT);
+            }
+            exponent += isExponentNegative ? -explicitExponent : explicitExponent;
+        }
+        if (i != length) {
+            return Double.NaN;
+        }
+        if (!computeValue) {
+            return 0;
+        }
+
+        if (isExact && mantissa <= MAX_EXACT_MANTISSA && Math.abs(exponent) < POWERS_OF_TEN.length) {
+            double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            return isNegative ? -value : value;
+        }
+        return Double.parseDouble(text.toString());
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+}
@@ -0,0 +1,595 @@
+package validator;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.cglib.core.ReflectUtils;
+import org.springframework.util.ClassUtils;
+import validator.ValidationConstraints.DescribedConstraint;
+import validator.ValidationConstraints.ShapeConstraint;
+import validator.ValidationConstraints.ValidationConstraint;
+import validator.ValidationConstraints.ValueShape;
+import validator.PlanOptimizer.OptimizedCondition;
+import validator.PlanOptimizer.OptimizedExpectation;
+import validator.ValidationPlan.ConstraintCondition;
+import validator.ValidationPlan.Expectation;
+import validator.ValidationPlan.FieldRule;
+import validator.ValidationPlan.ForEach;
+import validator.ValidationPlan.InternalsValidation;
+import validator.ValidationPlan.Node;
+import validator.ValidationPlan.NodeValidator;
+import validator.ValidationPlan.Step;
+
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static validator.PlanOptimizer.describeField;
+import static validator.utils.SerializedLambdaPropertyNameResolver.getInstanceMethodReference;
+
+/**
+ * Generates a {@link NodeValidator} class for every {@link Node} of a {@link ValidationPlan}.
+ * <p>
+ * Each field rule becomes a method of the generated class, so that every getter and constraint is called
+ * from its own call site:
+ * <ul>
+ * <li>serializable method references of public getters are replaced with direct calls of the getters,
+ * other getters are called through {@link Function},</li>
+ * <li>constraints built into {@link ValidationConstraints} are replaced with calls of {@link ConstraintChecks},
+ * nullity, emptiness and whitespace constraints of a step share a single {@link ValueShape},</li>
+ * <li>conditions and expectations, including those of {@link PlanOptimizer}, are unrolled,
+ * other steps are called on their concrete classes.</li>
+ * </ul>
+ * Generated classes are defined in this library's class loader, so that they can use its package-private classes,
+ * and are never unloaded. Objects used by generated code are passed to constructors, so classes are generated once
+ * per distinct bytecode and reused by nodes of the same shape, e.g. when the same plan is compiled again.
+ * Nodes that cannot be generated, e.g. because that class loader cannot see validated classes, stay interpreted.
+ */
+
+final class PlanCompiler {
+
+    private static final ClassLoader CLASS_LOADER = PlanCompiler.class.getClassLoader();
+    private static final String CLASS_NAME_PREFIX = PlanCompiler.class.getPackage()
+                                                                      .getName() + ".CompiledNode$$";
+    private static final String TEMPLATE_CLASS_NAME = CLASS_NAME_PREFIX + "Template";
+    private static final AtomicInteger classCounter = new AtomicInteger();
+    private static final ConcurrentMap<Bytecode, Class<?>> generatedClasses = new ConcurrentHashMap<>();
+
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String NODE = Type.getInternalName(Node.class);
+    private static final String STEP_APPLY_DESCRIPTOR = "(Ljava/lang/Object;Lvalidator/FieldPath;ZLvalidator/ValidationMap;)Z";
+    private static final String VALIDATE_DESCRIPTOR = "(Ljava/lang/Object;Ljava/lang/Object;Lvalidator/FieldPath;Lvalidator/FieldPath;Lvalidator/ValidationMap;)V";
+    private static final String RULE_DESCRIPTOR = "(Ljava/lang/Object;Ljava/lang/Object;Lvalidator/FieldPath;Lvalidator/FieldPath;Lvalidator/ValidationMap;Z)V";
+    private static final String ADD_RESULT_DESCRIPTOR = "(Lvalidator/ValidationMap;Lvalidator/FieldPath;Lvalidator/ValidationError;)V";
+
+    private static final int THIS = 0;
+    private static final int BASE_OBJECT = 1;
+    private static final int ELEMENT = 2;
+    private static final int ELEMENT_PATH = 3;
+    private static final int BASE_PATH = 4;
+    private static final int VALIDATION_RESULTS = 5;
+    private static final int IS_COMPILED_BASE_PATH = 6;
+    private static final int FIELD = 7;
+    private static final int FIELD_PATH = 8;
+    private static final int CAN_BE_VALIDATED = 9;
+    private static final int SHAPE = 10;
+    private static final int ERROR = 11;
+    private static final int ARE_ALL_CONDITIONS_MET = 12;
+    private static final int FIRST_SLOT_ERROR = 13;
+
+    private final List<String> compilations;
+
+    private PlanCompiler(List<String> optimizations) {
+        this.compilations = new ArrayList<>(optimizations);
+    }
+
+    static <T> ValidationPlan<T> compile(ValidationPlan<T> plan) {
+        PlanCompiler compiler = new PlanCompiler(plan.getOptimizations());
+        Node root = compiler.compile(plan.getRoot(), plan.getBaseObjectName());
+        return new ValidationPlan<>(plan.getBaseObjectName(), root, compiler.compilations);
+    }
+
+    private Node compile(Node node, String basePath) {
+        String nodePath = nonNull(node.getCompiledBasePath()) ? node.getCompiledBasePath() : basePath;
+        List<FieldRule> rules = new ArrayList<>();
+        for (FieldRule rule : node.getRules()) {
+            String fieldPath = describeField(nodePath, rule, rules.size());
+            List<Step> steps = new ArrayList<>();
+            for (Step step : rule.getSteps()) {
+                if (step instanceof InternalsValidation) {
+                    InternalsValidation internalsValidation = (InternalsValidation) step;
+                    steps.add(internalsValidation.withNode(compile(internalsValidation.getNode(), fieldPath)));
+                }
+                else if (step instanceof ForEach) {
+                    ForEach forEach = (ForEach) step;
+                    steps.add(forEach.withElementNode(compile(forEach.getElementNode(), fieldPath)));
+                }
+                else {
+                    steps.add(step);
+                }
+            }
+            rules.add(rule.withSteps(steps));
+        }
+
+        Node interpretedNode = node.withRules(rules);
+        String description = nonNull(nodePath) ? nodePath : "<unknown>";
+        try {
+            NodeClassGenerator generator = new NodeClassGenerator(interpretedNode, TEMPLATE_CLASS_NAME);
+            Bytecode bytecode = new Bytecode(generator.generate());
+            Class<?> generatedClass = generatedClasses.get(bytecode);
+            String action = "reused ";
+            if (isNull(generatedClass)) {
+                synchronized (generatedClasses) {
+                    generatedClass = generatedClasses.get(bytecode);
+                    if (isNull(generatedClass)) {
+                        String className = CLASS_NAME_PREFIX + classCounter.incrementAndGet();
+                        generatedClass = ReflectUtils.defineClass(className, new NodeClassGenerator(interpretedNode, className).generate(),
+                                                                  CLASS_LOADER);
+                        generatedClasses.put(bytecode, generatedClass);
+                        action = "generated ";
+                    }
+                }
+            }
+            NodeValidator validator = (NodeValidator) generatedClass.getConstructor(Object[].class)
+                                                                    .newInstance((Object) generator.constants.toArray());
+            compilations.add(description + ": " + action + generatedClass.getName() + " with " + generator.directGetters
+                                     + " direct getter calls and " + generator.inlinedConstraints + " inlined constraints");
+            return interpretedNode.withValidator(validator);
+        } catch (Exception | LinkageError e) {
+            compilations.add(description + ": not generated, rules stay interpreted (" + e + ")");
+            return interpretedNode;
+        }
+    }
+
+    /**
+     * Bytecode of a generated class, compared by content.
+     */
+    private static final class Bytecode {
+        private final byte[] bytes;
+
+        private Bytecode(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Bytecode && Arrays.equals(bytes, ((Bytecode) other).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bytes);
+        }
+    }
+
+    /**
+     * Generates bytecode of a single {@link NodeValidator} class. Objects used by generated code are passed to its
+     * constructor and kept in final fields of their most specific accessible types, so bytecode depends only on
+     * the shape of the node and given class name.
+     */
+    private static final class NodeClassGenerator {
+        private final Node node;
+        private final String internalName;
+        private final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        private final List<Object> constants = new ArrayList<>();
+        private final List<Type> constantTypes = new ArrayList<>();
+        private int directGetters;
+        private int inlinedConstraints;
+
+        private NodeClassGenerator(Node node, String className) {
+            this.node = node;
+            this.internalName = className.replace('.', '/');
+        }
+
+        private byte[] generate() throws ClassNotFoundException {
+            classWriter.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, internalName, null, OBJECT,
+                              new String[]{Type.getInternalName(NodeValidator.class)});
+            int nodeConstant = addConstant(node, Node.class);
+
+            List<FieldRule> rules = node.getRules();
+            for (int i = 0; i < rules.size(); i++) {
+                generateRuleMethod(i, nodeConstant, rules.get(i));
+            }
+            generateValidateMethod(nodeConstant, rules.size());
+            generateConstructor();
+            classWriter.visitEnd();
+            return classWriter.toByteArray();
+        }
+
+        private void generateValidateMethod(int nodeConstant, int ruleCount) {
+            MethodVisitor method = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "validate", VALIDATE_DESCRIPTOR, null, null);
+            method.visitCode();
+            loadConstant(method, nodeConstant);
+            method.visitVarInsn(Opcodes.ALOAD, BASE_PATH);
+            method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, NODE, "isCompiledBasePath", "(Lvalidator/FieldPath;)Z", false);
+            method.visitVarInsn(Opcodes.ISTORE, IS_COMPILED_BASE_PATH);
+            for (int i = 0; i < ruleCount; i++) {
+                for (int variable = THIS; variable <= VALIDATION_RESULTS; variable++) {
+                    method.visitVarInsn(Opcodes.ALOAD, variable);
+                }
+                method.visitVarInsn(Opcodes.ILOAD, IS_COMPILED_BASE_PATH);
+                method.visitMethodInsn(Opcodes.INVOKESPECIAL, internalName, "validateRule" + i, RULE_DESCRIPTOR, false);
+            }
+            method.visitInsn(Opcodes.RETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+
+        private void generateRuleMethod(int index, int nodeConstant, FieldRule rule) throws ClassNotFoundException {
+            MethodVisitor method = classWriter.visitMethod(Opcodes.ACC_PRIVATE, "validateRule" + index, RULE_DESCRIPTOR, null, null);
+            method.visitCode();
+
+            if (rule.isElementRule()) {
+                method.visitVarInsn(Opcodes.ALOAD, ELEMENT);
+            }
+            else if (!generateDirectGetterCall(method, rule.getGetter())) {
+                loadConstant(method, addConstant(rule.getGetter(), Function.class));
+                method.visitVarInsn(Opcodes.ALOAD, BASE_OBJECT);
+                method.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Function.class), "apply",
+                                       "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+            }
+            method.visitVarInsn(Opcodes.ASTORE, FIELD);
+
+            loadConstant(method, nodeConstant);
+            loadConstant(method, addConstant(rule, FieldRule.class));
+            method.visitVarInsn(Opcodes.ILOAD, IS_COMPILED_BASE_PATH);
+            method.visitVarInsn(Opcodes.ALOAD, BASE_OBJECT);
+            method.visitVarInsn(Opcodes.ALOAD, BASE_PATH);
+            method.visitVarInsn(Opcodes.ALOAD, ELEMENT_PATH);
+            method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, NODE, "getFieldPath",
+                                   "(Lvalidator/ValidationPlan$FieldRule;ZLjava/lang/Object;Lvalidator/FieldPath;Lvalidator/FieldPath;)Lvalidator/FieldPath;",
+                                   false);
+            method.visitVarInsn(Opcodes.ASTORE, FIELD_PATH);
+
+            method.visitInsn(Opcodes.ICONST_1);
+            method.visitVarInsn(Opcodes.ISTORE, CAN_BE_VALIDATED);
+            for (Step step : rule.getSteps()) {
+                if (step instanceof Expectation) {
+                    generateExpectation(method, ((Expectation) step).constraints);
+                }
+                else if (step instanceof ConstraintCondition) {
+                    ConstraintCondition condition = (ConstraintCondition) step;
+                    generateCondition(method, condition.erasesPreviousConditions, condition.constraints);
+                }
+                else if (step instanceof OptimizedExpectation) {
+                    OptimizedExpectation expectation = (OptimizedExpectation) step;
+                    generateOptimizedExpectation(method, expectation.getSlotConstraints(), expectation.getEmittedSlots());
+                }
+                else if (step instanceof OptimizedCondition) {
+                    OptimizedCondition condition = (OptimizedCondition) step;
+                    generateOptimizedCondition(method, condition.isErasingPreviousConditions(), condition.getConstraints());
+                }
+                else {
+                    generateStepCall(method, step);
+                }
+            }
+            method.visitInsn(Opcodes.RETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+
+        /**
+         * @return false if getter is not a method reference of a public method that generated class can call
+         */
+        private boolean generateDirectGetterCall(MethodVisitor method, Function<Object, Object> getter) throws ClassNotFoundException {
+            SerializedLambda methodReference = getInstanceMethodReference(getter);
+            if (isNull(methodReference) || methodReference.getCapturedArgCount() != 0) {
+                return false;
+            }
+            Class<?> owner = ClassUtils.forName(methodReference.getImplClass()
+                                                               .replace('/', '.'), getter.getClass()
+                                                                                         .getClassLoader());
+            if (!Modifier.isPublic(owner.getModifiers()) || !ClassUtils.isVisible(owner, CLASS_LOADER)) {
+                return false;
+            }
+            Type getterType = Type.getMethodType(methodReference.getImplMethodSignature());
+            if (getterType.getArgumentTypes().length != 0 || getterType.getReturnType()
+                                                                       .equals(Type.VOID_TYPE)
+                    || !hasPublicMethod(owner, methodReference.getImplMethodName(), methodReference.getImplMethodSignature())) {
+                return false;
+            }
+
+            String ownerName = Type.getInternalName(owner);
+            method.visitVarInsn(Opcodes.ALOAD, BASE_OBJECT);
+            method.visitTypeInsn(Opcodes.CHECKCAST, ownerName);
+            method.visitMethodInsn(owner.isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, ownerName,
+                                   methodReference.getImplMethodName(), methodReference.getImplMethodSignature(), owner.isInterface());
+            box(method, getterType.getReturnType());
+            directGetters++;
+            return true;
+        }
+
+        private void generateExpectation(MethodVisitor method, List<ValidationConstraint> constraints) {
+            Label end = new Label();
+            method.visitVarInsn(Opcodes.ILOAD, CAN_BE_VALIDATED);
+            method.visitJumpInsn(Opcodes.IFEQ, end);
+            generateShape(method, constraints);
+            for (ValidationConstraint constraint : constraints) {
+                Label next = new Label();
+                generateCheck(method, constraint);
+                method.visitVarInsn(Opcodes.ASTORE, ERROR);
+                method.visitVarInsn(Opcodes.ALOAD, ERROR);
+                method.visitJumpInsn(Opcodes.IFNULL, next);
+                method.visitVarInsn(Opcodes.ALOAD, VALIDATION_RESULTS);
+                method.visitVarInsn(Opcodes.ALOAD, FIELD_PATH);
+                method.visitVarInsn(Opcodes.ALOAD, ERROR);
+                method.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(ValidationPlan.class), "addValidationResult",
+                                       ADD_RESULT_DESCRIPTOR, false);
+                method.visitLabel(next);
+            }
+            method.visitLabel(end);
+        }
+
+        private void generateCondition(MethodVisitor method, boolean erasesPreviousConditions, List<ValidationConstraint> constraints) {
+            method.visitInsn(Opcodes.ICONST_1);
+            method.visitVarInsn(Opcodes.ISTORE, ARE_ALL_CONDITIONS_MET);
+            generateShape(method, constraints);
+            for (ValidationConstraint constraint : constraints) {
+                Label next = new Label();
+                generateCheck(method, constraint);
+                method.visitJumpInsn(Opcodes.IFNULL, next);
+                method.visitInsn(Opcodes.ICONST_0);
+                method.visitVarInsn(Opcodes.ISTORE, ARE_ALL_CONDITIONS_MET);
+                method.visitLabel(next);
+            }
+            method.visitVarInsn(Opcodes.ILOAD, ARE_ALL_CONDITIONS_MET);
+            if (!erasesPreviousConditions) {
+                method.visitVarInsn(Opcodes.ILOAD, CAN_BE_VALIDATED);
+                method.visitInsn(Opcodes.IAND);
+            }
+            method.visitVarInsn(Opcodes.ISTORE, CAN_BE_VALIDATED);
+        }
+
+        /**
+         * Evaluates constraint of each slot once, keeping its error in a local variable, then reports errors
+         * of emitted slots in order of definition.
+         */
+        private void generateOptimizedExpectation(MethodVisitor method, List<ValidationConstraint> slotConstraints, int[] emittedSlots) {
+            Label end = new Label();
+            method.visitVarInsn(Opcodes.ILOAD, CAN_BE_VALIDATED);
+            method.visitJumpInsn(Opcodes.IFEQ, end);
+            generateShape(method, slotConstraints);
+            for (int slot = 0; slot < slotConstraints.size(); slot++) {
+                generateCheck(method, slotConstraints.get(slot));
+                method.visitVarInsn(Opcodes.ASTORE, FIRST_SLOT_ERROR + slot);
+            }
+            for (int slot : emittedSlots) {
+                Label next = new Label();
+                method.visitVarInsn(Opcodes.ALOAD, FIRST_SLOT_ERROR + slot);
+                method.visitJumpInsn(Opcodes.IFNULL, next);
+                method.visitVarInsn(Opcodes.ALOAD, VALIDATION_RESULTS);
+                method.visitVarInsn(Opcodes.ALOAD, FIELD_PATH);
+                method.visitVarInsn(Opcodes.ALOAD, FIRST_SLOT_ERROR + slot);
+                method.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(ValidationPlan.class), "addValidationResult",
+                                       ADD_RESULT_DESCRIPTOR, false);
+                method.visitLabel(next);
+            }
+            method.visitLabel(end);
+        }
+
+        /**
+         * Evaluates constraints in given order, skipping pure ones once a condition is not met.
+         */
+        private void generateOptimizedCondition(MethodVisitor method, boolean erasesPreviousConditions, List<ValidationConstraint> constraints) {
+            if (erasesPreviousConditions) {
+                method.visitInsn(Opcodes.ICONST_1);
+            }
+            else {
+                method.visitVarInsn(Opcodes.ILOAD, CAN_BE_VALIDATED);
+            }
+            method.visitVarInsn(Opcodes.ISTORE, ARE_ALL_CONDITIONS_MET);
+            generateShape(method, constraints);
+            for (ValidationConstraint constraint : constraints) {
+                Label next = new Label();
+                if (PlanOptimizer.isPure(constraint)) {
+                    method.visitVarInsn(Opcodes.ILOAD, ARE_ALL_CONDITIONS_MET);
+                    method.visitJumpInsn(Opcodes.IFEQ, next);
+                }
+                generateCheck(method, constraint);
+                method.visitJumpInsn(Opcodes.IFNULL, next);
+                method.visitInsn(Opcodes.ICONST_0);
+                method.visitVarInsn(Opcodes.ISTORE, ARE_ALL_CONDITIONS_MET);
+                method.visitLabel(next);
+            }
+            method.visitVarInsn(Opcodes.ILOAD, ARE_ALL_CONDITIONS_MET);
+            method.visitVarInsn(Opcodes.ISTORE, CAN_BE_VALIDATED);
+        }
+
+        private void generateShape(MethodVisitor method, List<ValidationConstraint> constraints) {
+            if (constraints.stream()
+                           .anyMatch(constraint -> nonNull(findShapeCheck(constraint)))) {
+                String shapeName = Type.getInternalName(ValueShape.class);
+                method.visitTypeInsn(Opcodes.NEW, shapeName);
+                method.visitInsn(Opcodes.DUP);
+                method.visitVarInsn(Opcodes.ALOAD, FIELD);
+                method.visitMethodInsn(Opcodes.INVOKESPECIAL, shapeName, "<init>", "(Ljava/lang/Object;)V", false);
+                method.visitVarInsn(Opcodes.ASTORE, SHAPE);
+            }
+        }
+
+        /**
+         * Leaves validation error of the field, or null, on the stack.
+         */
+        private void generateCheck(MethodVisitor method, ValidationConstraint constraint) {
+            Method shapeCheck = findShapeCheck(constraint);
+            Method check = isNull(shapeCheck) ? findCheck(constraint) : null;
+            if (nonNull(shapeCheck)) {
+                method.visitVarInsn(Opcodes.ALOAD, SHAPE);
+                invokeCheck(method, shapeCheck, (DescribedConstraint) constraint);
+            }
+            else if (nonNull(check)) {
+                method.visitVarInsn(Opcodes.ALOAD, FIELD);
+                invokeCheck(method, check, (DescribedConstraint) constraint);
+            }
+            else {
+                loadConstant(method, addConstant(constraint, ValidationConstraint.class));
+                method.visitVarInsn(Opcodes.ALOAD, FIELD);
+                method.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(ValidationConstraint.class), "getValidationErrorFor",
+                                       "(Ljava/lang/Object;)Lvalidator/ValidationError;", true);
+            }
+        }
+
+        /**
+         * Loads constraint's arguments, calls the check and replaces its result with constraint's error if it failed.
+         * Validated value has to be on the stack.
+         */
+        private void invokeCheck(MethodVisitor method, Method check, DescribedConstraint constraint) {
+            Class<?>[] parameterTypes = check.getParameterTypes();
+            List<Object> arguments = constraint.getArguments();
+            for (int i = 0; i < arguments.size(); i++) {
+                loadConstant(method, addConstant(arguments.get(i), parameterTypes[i + 1]));
+            }
+            method.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(ConstraintChecks.class), check.getName(),
+                                   Type.getMethodDescriptor(check), false);
+            Label isValid = new Label();
+            Label end = new Label();
+            method.visitJumpInsn(Opcodes.IFNE, isValid);
+            loadConstant(method, addConstant(constraint.getError(), ValidationError.class));
+            method.visitJumpInsn(Opcodes.GOTO, end);
+            method.visitLabel(isValid);
+            method.visitInsn(Opcodes.ACONST_NULL);
+            method.visitLabel(end);
+            inlinedConstraints++;
+        }
+
+        private void generateStepCall(MethodVisitor method, Step step) {
+            Class<?> stepType = isConcreteClassAccessible(step.getClass()) ? step.getClass() : Step.class;
+
+            loadConstant(method, addConstant(step, stepType));
+            method.visitVarInsn(Opcodes.ALOAD, FIELD);
+            method.visitVarInsn(Opcodes.ALOAD, FIELD_PATH);
+            method.visitVarInsn(Opcodes.ILOAD, CAN_BE_VALIDATED);
+            method.visitVarInsn(Opcodes.ALOAD, VALIDATION_RESULTS);
+            method.visitMethodInsn(stepType.isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, Type.getInternalName(stepType),
+                                   "apply", STEP_APPLY_DESCRIPTOR, stepType.isInterface());
+            method.visitVarInsn(Opcodes.ISTORE, CAN_BE_VALIDATED);
+        }
+
+        private void generateConstructor() {
+            MethodVisitor method = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+            method.visitCode();
+            method.visitVarInsn(Opcodes.ALOAD, THIS);
+            method.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+            for (int i = 0; i < constants.size(); i++) {
+                Type type = constantTypes.get(i);
+                classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "constant" + i, type.getDescriptor(), null, null)
+                           .visitEnd();
+                method.visitVarInsn(Opcodes.ALOAD, THIS);
+                method.visitVarInsn(Opcodes.ALOAD, 1);
+                method.visitLdcInsn(i);
+                method.visitInsn(Opcodes.AALOAD);
+                unbox(method, type);
+                method.visitFieldInsn(Opcodes.PUTFIELD, internalName, "constant" + i, type.getDescriptor());
+            }
+            method.visitInsn(Opcodes.RETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+
+        private int addConstant(Object value, Class<?> type) {
+            constants.add(value);
+            constantTypes.add(Type.getType(type));
+            return constants.size() - 1;
+        }
+
+        private void loadConstant(MethodVisitor method, int constant) {
+            method.visitVarInsn(Opcodes.ALOAD, THIS);
+            method.visitFieldInsn(Opcodes.GETFIELD, internalName, "constant" + constant, constantTypes.get(constant)
+                                                                                                       .getDescriptor());
+        }
+
+        /**
+         * @return true if generated class can refer to given step class and call its methods without virtual dispatch
+         */
+        private static boolean isConcreteClassAccessible(Class<?> stepClass) {
+            return stepClass.getClassLoader() == CLASS_LOADER && stepClass.getPackage() == PlanCompiler.class.getPackage()
+                    && Modifier.isFinal(stepClass.getModifiers()) && !stepClass.isSynthetic();
+        }
+
+        private static boolean hasPublicMethod(Class<?> owner, String name, String descriptor) {
+            for (Method method : owner.getMethods()) {
+                if (method.getName()
+                          .equals(name) && Type.getMethodDescriptor(method)
+                                               .equals(descriptor)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return method of {@link ConstraintChecks} checking {@link ValueShape}, null if constraint is not a {@link ShapeConstraint}
+         */
+        private static Method findShapeCheck(ValidationConstraint constraint) {
+            if (!(constraint instanceof ShapeConstraint)) {
+                return null;
+            }
+            return findMethod(((ShapeConstraint) constraint).getName(), ValueShape.class, ((ShapeConstraint) constraint).getArguments());
+        }
+
+        /**
+         * @return method of {@link ConstraintChecks} implementing the constraint, null if constraint is not built-in
+         */
+        private static Method findCheck(ValidationConstraint constraint) {
+            if (!(constraint instanceof DescribedConstraint)) {
+                return null;
+            }
+            return findMethod(((DescribedConstraint) constraint).getName(), Object.class, ((DescribedConstraint) constraint).getArguments());
+        }
+
+        private static Method findMethod(String name, Class<?> validatedType, List<Object> arguments) {
+            for (Method method : ConstraintChecks.class.getDeclaredMethods()) {
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                if (!method.getName()
+                           .equals(name) || !Modifier.isStatic(method.getModifiers()) || parameterTypes.length != arguments.size() + 1
+                        || parameterTypes[0] != validatedType || method.getReturnType() != boolean.class) {
+                    continue;
+                }
+                boolean areArgumentsAssignable = true;
+                for (int i = 0; i < arguments.size(); i++) {
+                    areArgumentsAssignable &= ClassUtils.isAssignableValue(parameterTypes[i + 1], arguments.get(i));
+                }
+                if (areArgumentsAssignable) {
+                    return method;
+                }
+            }
+            return null;
+        }
+
+        private static void box(MethodVisitor method, Type type) {
+            if (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY) {
+                return;
+            }
+            Type boxedType = Type.getType(ClassUtils.resolvePrimitiveIfNecessary(primitiveClass(type)));
+            method.visitMethodInsn(Opcodes.INVOKESTATIC, boxedType.getInternalName(), "valueOf",
+                                   Type.getMethodDescriptor(boxedType, type), false);
+        }
+
+        private static void unbox(MethodVisitor method, Type type) {
+            if (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY) {
+                method.visitTypeInsn(Opcodes.CHECKCAST, type.getInternalName());
+                return;
+            }
+            Class<?> primitiveClass = primitiveClass(type);
+            String boxedName = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(primitiveClass));
+            method.visitTypeInsn(Opcodes.CHECKCAST, boxedName);
+            method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, boxedName, primitiveClass.getName() + "Value",
+                                   Type.getMethodDescriptor(type), false);
+        }
+
+        private static Class<?> primitiveClass(Type type) {
+            return ClassUtils.resolvePrimitiveClassName(type.getClassName());
+        }
+    }
+}
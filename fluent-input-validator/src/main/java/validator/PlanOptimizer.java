@@ -0,0 +1,489 @@
+package validator;
+
+import validator.ValidationConstraints.Cost;
+import validator.ValidationConstraints.DescribedConstraint;
+import validator.ValidationConstraints.ShapeConstraint;
+import validator.ValidationConstraints.ValidationConstraint;
+import validator.ValidationConstraints.ValueShape;
+import validator.ValidationPlan.ConstraintCondition;
+import validator.ValidationPlan.Expectation;
+import validator.ValidationPlan.FieldRule;
+import validator.ValidationPlan.ForEach;
+import validator.ValidationPlan.InternalsValidation;
+import validator.ValidationPlan.Node;
+import validator.ValidationPlan.Step;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static validator.ValidationConstraints.ALWAYS_VALID;
+import static validator.ValidationPlan.addValidationResult;
+import static validator.ValidationPlan.mergeFieldNames;
+
+/**
+ * Rewrites compiled {@link ValidationPlan} into an equivalent one that evaluates fewer and cheaper constraints:
+ * <ul>
+ * <li>consecutive expectations of a field and consecutive conditions joined with {@code andWhen} are merged,</li>
+ * <li>conditions overridden by a following {@code when} are removed,</li>
+ * <li>duplicate and always valid built-in constraints are not evaluated,</li>
+ * <li>nullity, emptiness and whitespace constraints of a field share a single scan of its {@link String} representation,</li>
+ * <li>conditions evaluate built-in constraints from the cheapest and stop at the first unmet one.</li>
+ * </ul>
+ * Errors are still reported in order of definition and as many times as they are defined. Expectations report errors
+ * of all their constraints, so they evaluate every constraint in order of definition and are not reordered.
+ * Constraints that are not built into {@link ValidationConstraints} may have side effects,
+ * so they are always evaluated, once per definition and in order of definition relative to each other.
+ */
+
+final class PlanOptimizer {
+
+    private final List<String> optimizations = new ArrayList<>();
+
+    private PlanOptimizer() {
+    }
+
+    static <T> ValidationPlan<T> optimize(ValidationPlan<T> plan) {
+        PlanOptimizer optimizer = new PlanOptimizer();
+        Node root = optimizer.optimize(plan.getRoot(), plan.getBaseObjectName());
+        return new ValidationPlan<>(plan.getBaseObjectName(), root, optimizer.optimizations);
+    }
+
+    private Node optimize(Node node, String basePath) {
+        String nodePath = nonNull(node.getCompiledBasePath()) ? node.getCompiledBasePath() : basePath;
+        List<FieldRule> rules = new ArrayList<>();
+        for (FieldRule rule : node.getRules()) {
+            String fieldPath = describeField(nodePath, rule, rules.size());
+            rules.add(rule.withSteps(optimize(rule.getSteps(), fieldPath)));
+        }
+        return node.withRules(rules);
+    }
+
+    private List<Step> optimize(List<Step> steps, String fieldPath) {
+        List<Step> optimizedSteps = new ArrayList<>();
+        for (Step step : merge(steps, fieldPath)) {
+            if (step instanceof Expectation) {
+                optimizedSteps.add(optimize((Expectation) step, fieldPath));
+            }
+            else if (step instanceof ConstraintCondition) {
+                optimizedSteps.add(optimize((ConstraintCondition) step, fieldPath));
+            }
+            else if (step instanceof InternalsValidation) {
+                InternalsValidation internalsValidation = (InternalsValidation) step;
+                optimizedSteps.add(internalsValidation.withNode(optimize(internalsValidation.getNode(), fieldPath)));
+            }
+            else if (step instanceof ForEach) {
+                ForEach forEach = (ForEach) step;
+                optimizedSteps.add(forEach.withElementNode(optimize(forEach.getElementNode(), fieldPath)));
+            }
+            else {
+                optimizedSteps.add(step);
+            }
+        }
+        return optimizedSteps;
+    }
+
+    private List<Step> merge(List<Step> steps, String fieldPath) {
+        List<Step> mergedSteps = new ArrayList<>();
+        for (Step step : steps) {
+            Step previous = mergedSteps.isEmpty() ? null : mergedSteps.get(mergedSteps.size() - 1);
+            if (previous instanceof Expectation && step instanceof Expectation) {
+                mergedSteps.set(mergedSteps.size() - 1, new Expectation(concat(((Expectation) previous).constraints,
+                                                                               ((Expectation) step).constraints)));
+                report(fieldPath, "merged consecutive expectations");
+            }
+            else if (previous instanceof ConstraintCondition && step instanceof ConstraintCondition) {
+                ConstraintCondition previousCondition = (ConstraintCondition) previous;
+                ConstraintCondition condition = (ConstraintCondition) step;
+                if (!condition.erasesPreviousConditions) {
+                    mergedSteps.set(mergedSteps.size() - 1, new ConstraintCondition(previousCondition.erasesPreviousConditions,
+                                                                                    concat(previousCondition.constraints,
+                                                                                           condition.constraints)));
+                    report(fieldPath, "merged consecutive conditions");
+                }
+                else if (previousCondition.constraints.stream()
+                                                      .allMatch(PlanOptimizer::isPure)) {
+                    mergedSteps.set(mergedSteps.size() - 1, step);
+                    report(fieldPath, "removed condition overridden by following when(...)");
+                }
+                else {
+                    mergedSteps.add(step);
+                }
+            }
+            else {
+                mergedSteps.add(step);
+            }
+        }
+        return mergedSteps;
+    }
+
+    private Step optimize(Expectation expectation, String fieldPath) {
+        Evaluations evaluations = new Evaluations(expectation.constraints, fieldPath, false);
+        return evaluations.isChanged() ? new OptimizedExpectation(evaluations) : expectation;
+    }
+
+    private Step optimize(ConstraintCondition condition, String fieldPath) {
+        Evaluations evaluations = new Evaluations(condition.constraints, fieldPath, true);
+        if (evaluations.evaluations.size() > 1) {
+            report(fieldPath, "stops evaluating built-in conditions at the first unmet one");
+        }
+        return new OptimizedCondition(condition.erasesPreviousConditions, evaluations);
+    }
+
+    private void report(String fieldPath, String optimization) {
+        optimizations.add(fieldPath + ": " + optimization);
+    }
+
+    static String describeField(String nodePath, FieldRule rule, int index) {
+        if (nonNull(rule.getResolvedPath())) {
+            return rule.getResolvedPath();
+        }
+        String fieldName = rule.isElementRule() ? "<element>"
+                                                : nonNull(rule.getResolvedFieldName()) ? rule.getResolvedFieldName() : "<field " + (index + 1) + ">";
+        return mergeFieldNames(nonNull(nodePath) ? nodePath : "<unknown>", fieldName);
+    }
+
+    static boolean isPure(ValidationConstraint constraint) {
+        return constraint instanceof DescribedConstraint && ((DescribedConstraint) constraint).isPure();
+    }
+
+    private static <T> List<T> concat(List<T> first, List<T> second) {
+        List<T> list = new ArrayList<>(first);
+        list.addAll(second);
+        return list;
+    }
+
+    /**
+     * Evaluations of a list of constraints that write each defined constraint's error into its slot.
+     * Equal built-in constraints share a slot.
+     */
+    private final class Evaluations {
+        private final List<Evaluation> evaluations = new ArrayList<>();
+        private final List<ValidationConstraint> slotConstraints = new ArrayList<>();
+        private final int slotCount;
+        private final int[] emittedSlots;
+        private boolean isChanged;
+
+        /**
+         * @param isOrderedByCost whether to evaluate the cheapest constraints first, which pays off only if evaluation
+         *                        stops at the first unmet constraint
+         */
+        private Evaluations(List<ValidationConstraint> constraints, String fieldPath, boolean isOrderedByCost) {
+            List<Integer> emitted = new ArrayList<>();
+            for (ValidationConstraint constraint : constraints) {
+                if (constraint == ALWAYS_VALID) {
+                    report(fieldPath, "removed constraint that is always valid");
+                    isChanged = true;
+                    continue;
+                }
+                int slot = isPure(constraint) ? slotConstraints.indexOf(constraint) : -1;
+                if (slot >= 0) {
+                    report(fieldPath, "removed duplicate " + constraint);
+                    isChanged = true;
+                }
+                else {
+                    slot = slotConstraints.size();
+                    slotConstraints.add(constraint);
+                }
+                emitted.add(slot);
+            }
+            slotCount = slotConstraints.size();
+            emittedSlots = emitted.stream()
+                                  .mapToInt(Integer::intValue)
+                                  .toArray();
+
+            List<Integer> shapeSlots = new ArrayList<>();
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (slotConstraints.get(slot) instanceof ShapeConstraint) {
+                    shapeSlots.add(slot);
+                }
+            }
+            FusedEvaluation fusedEvaluation = null;
+            if (shapeSlots.size() > 1) {
+                fusedEvaluation = new FusedEvaluation(slotConstraints, shapeSlots);
+                report(fieldPath, "fused " + fusedEvaluation + " into a single scan");
+                isChanged = true;
+            }
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (nonNull(fusedEvaluation) && shapeSlots.contains(slot)) {
+                    if (shapeSlots.get(0) == slot) {
+                        evaluations.add(fusedEvaluation);
+                    }
+                }
+                else {
+                    evaluations.add(new SingleEvaluation(slotConstraints.get(slot), slot));
+                }
+            }
+
+            if (!isOrderedByCost) {
+                return;
+            }
+            List<Evaluation> orderedEvaluations = evaluations.stream()
+                                                             .sorted(Comparator.comparing(Evaluation::getCost))
+                                                             .collect(toList());
+            if (!orderedEvaluations.equals(evaluations)) {
+                report(fieldPath, "reordered by cost to " + orderedEvaluations.stream()
+                                                                             .map(Evaluation::toString)
+                                                                             .collect(joining(", ")));
+                evaluations.clear();
+                evaluations.addAll(orderedEvaluations);
+                isChanged = true;
+            }
+        }
+
+        private boolean isChanged() {
+            return isChanged;
+        }
+    }
+
+    /**
+     * Evaluation of one or more constraints.
+     */
+    private interface Evaluation {
+        Cost getCost();
+
+        /**
+         * @return true if evaluation has no side effects, so it can be skipped
+         */
+        boolean isPure();
+
+        /**
+         * @return evaluated constraints, in order of evaluation
+         */
+        List<ValidationConstraint> getConstraints();
+
+        /**
+         * @return true if any evaluated constraint is not met
+         */
+        boolean isNotMet(Object field);
+
+        /**
+         * @param errors    errors of slots, null if no error occurred so far
+         * @param slotCount number of slots of an array created for the first error
+         *
+         * @return given errors, or a new array if this evaluation found the first error
+         */
+        ValidationError[] evaluate(Object field, ValidationError[] errors, int slotCount);
+    }
+
+    private static final class SingleEvaluation implements Evaluation {
+        private final ValidationConstraint constraint;
+        private final int slot;
+
+        private SingleEvaluation(ValidationConstraint constraint, int slot) {
+            this.constraint = constraint;
+            this.slot = slot;
+        }
+
+        @Override
+        public Cost getCost() {
+            return Cost.of(constraint);
+        }
+
+        @Override
+        public boolean isPure() {
+            return PlanOptimizer.isPure(constraint);
+        }
+
+        @Override
+        public List<ValidationConstraint> getConstraints() {
+            return singletonList(constraint);
+        }
+
+        @Override
+        public boolean isNotMet(Object field) {
+            return nonNull(constraint.getValidationErrorFor(field));
+        }
+
+        @Override
+        public ValidationError[] evaluate(Object field, ValidationError[] errors, int slotCount) {
+            ValidationError error = constraint.getValidationErrorFor(field);
+            if (isNull(error)) {
+                return errors;
+            }
+            if (isNull(errors)) {
+                errors = new ValidationError[slotCount];
+            }
+            errors[slot] = error;
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            return isPure() ? constraint.toString() : "custom constraint";
+        }
+    }
+
+    /**
+     * Evaluation of several {@link ShapeConstraint}s sharing a single {@link ValueShape}.
+     */
+    private static final class FusedEvaluation implements Evaluation {
+        private final ShapeConstraint[] constraints;
+        private final int[] slots;
+        private final Cost cost;
+
+        /**
+         * Constraints are evaluated from the cheapest one, so conditions stop at the cheapest unmet one.
+         * Errors of expectations are stored by slot, so they are still reported in order of definition.
+         */
+        private FusedEvaluation(List<ValidationConstraint> slotConstraints, List<Integer> shapeSlots) {
+            shapeSlots = shapeSlots.stream()
+                                   .sorted(Comparator.comparing(slot -> Cost.of(slotConstraints.get(slot))))
+                                   .collect(toList());
+            constraints = shapeSlots.stream()
+                                    .map(slot -> (ShapeConstraint) slotConstraints.get(slot))
+                                    .toArray(ShapeConstraint[]::new);
+            slots = shapeSlots.stream()
+                              .mapToInt(Integer::intValue)
+                              .toArray();
+            cost = shapeSlots.stream()
+                             .map(slot -> Cost.of(slotConstraints.get(slot)))
+                             .max(Comparator.naturalOrder())
+                             .orElse(Cost.CONSTANT);
+        }
+
+        @Override
+        public Cost getCost() {
+            return cost;
+        }
+
+        @Override
+        public boolean isPure() {
+            return true;
+        }
+
+        @Override
+        public List<ValidationConstraint> getConstraints() {
+            return asList(constraints);
+        }
+
+        @Override
+        public boolean isNotMet(Object field) {
+            ValueShape shape = new ValueShape(field);
+            for (ShapeConstraint constraint : constraints) {
+                if (nonNull(constraint.getValidationErrorFor(shape))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public ValidationError[] evaluate(Object field, ValidationError[] errors, int slotCount) {
+            ValueShape shape = new ValueShape(field);
+            for (int i = 0; i < constraints.length; i++) {
+                ValidationError error = constraints[i].getValidationErrorFor(shape);
+                if (nonNull(error)) {
+                    if (isNull(errors)) {
+                        errors = new ValidationError[slotCount];
+                    }
+                    errors[slots[i]] = error;
+                }
+            }
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder description = new StringBuilder();
+            for (ShapeConstraint constraint : constraints) {
+                description.append(description.length() > 0 ? ", " : "")
+                           .append(constraint);
+            }
+            return description.toString();
+        }
+    }
+
+    /**
+     * Evaluates all constraints in order of definition. Errors are collected by slot, in an array created only
+     * when the first one occurs, and then reported in order of definition.
+     */
+    static final class OptimizedExpectation implements Step {
+        private final Evaluation[] evaluations;
+        private final List<ValidationConstraint> slotConstraints;
+        private final int slotCount;
+        private final int[] emittedSlots;
+
+        private OptimizedExpectation(Evaluations evaluations) {
+            this.evaluations = evaluations.evaluations.toArray(new Evaluation[0]);
+            this.slotConstraints = evaluations.slotConstraints;
+            this.slotCount = evaluations.slotCount;
+            this.emittedSlots = evaluations.emittedSlots;
+        }
+
+        /**
+         * @return constraints of slots, each evaluated once
+         */
+        List<ValidationConstraint> getSlotConstraints() {
+            return slotConstraints;
+        }
+
+        /**
+         * @return slots which errors are reported, in order of definition
+         */
+        int[] getEmittedSlots() {
+            return emittedSlots.clone();
+        }
+
+        @Override
+        public boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults) {
+            if (canBeValidated) {
+                ValidationError[] errors = null;
+                for (Evaluation evaluation : evaluations) {
+                    errors = evaluation.evaluate(field, errors, slotCount);
+                }
+                if (isNull(errors)) {
+                    return true;
+                }
+                for (int slot : emittedSlots) {
+                    if (nonNull(errors[slot])) {
+                        addValidationResult(validationResults, fieldPath, errors[slot]);
+                    }
+                }
+            }
+            return canBeValidated;
+        }
+    }
+
+    static final class OptimizedCondition implements Step {
+        private final boolean erasesPreviousConditions;
+        private final Evaluation[] evaluations;
+
+        private OptimizedCondition(boolean erasesPreviousConditions, Evaluations evaluations) {
+            this.erasesPreviousConditions = erasesPreviousConditions;
+            this.evaluations = evaluations.evaluations.toArray(new Evaluation[0]);
+        }
+
+        boolean isErasingPreviousConditions() {
+            return erasesPreviousConditions;
+        }
+
+        /**
+         * @return constraints in order of evaluation, pure ones are evaluated only while all conditions are met
+         */
+        List<ValidationConstraint> getConstraints() {
+            List<ValidationConstraint> constraints = new ArrayList<>();
+            for (Evaluation evaluation : evaluations) {
+                constraints.addAll(evaluation.getConstraints());
+            }
+            return constraints;
+        }
+
+        @Override
+        public boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults) {
+            boolean areAllConditionsMet = erasesPreviousConditions || canBeValidated;
+            for (Evaluation evaluation : evaluations) {
+                if ((areAllConditionsMet || !evaluation.isPure()) && evaluation.isNotMet(field)) {
+                    areAllConditionsMet = false;
+                }
+            }
+            return areAllConditionsMet;
+        }
+    }
+}
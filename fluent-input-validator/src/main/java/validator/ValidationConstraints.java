@@ -0,0 +1,854 @@
+package validator;
+
+import org.apache.commons.lang3.StringUtils;
+import validator.utils.PatternCache;
+import validator.utils.PatternCache.CompiledPattern;
+import validator.utils.PatternEngine;
+import validator.utils.RangeIndex;
+import validator.utils.ValueIndex;
+import validator.utils.ValueIndex.IntIndex;
+import validator.utils.ValueIndex.LongIndex;
+import validator.utils.ValueIndex.StringIndex;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.*;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Collection of static methods that can be used in {@link FluentInputValidator}.
+ * They are meant to be imported statically.
+ * <p>
+ * Constraints checking {@link String} representation of validated object use {@link CharSequence}s, such as
+ * {@link StringBuilder}, directly without copying them.
+ *
+ * @author Paweł Fiuk
+ */
+
+public class ValidationConstraints {
+
+    private ValidationConstraints() {
+    }
+
+    public interface ValidationConstraint {
+        /**
+         * @param object validated object
+         *
+         * @return validation error message or null if object is valid
+         */
+        String getErrorFor(Object object);
+
+        /**
+         * Built-in constraints return errors created once, without building their messages.
+         *
+         * @param object validated object
+         *
+         * @return validation error or null if object is valid
+         */
+        default ValidationError getValidationErrorFor(Object object) {
+            return ValidationError.ofMessage(getErrorFor(object));
+        }
+    }
+
+    /**
+     * Constraint of primitive {@code int} fields, validated without boxing.
+     */
+    public interface IntConstraint {
+        /**
+         * @param value validated value
+         *
+         * @return validation error message or null if value is valid
+         */
+        String getErrorFor(int value);
+
+        /**
+         * @param value validated value
+         *
+         * @return validation error or null if value is valid
+         */
+        default ValidationError getValidationErrorFor(int value) {
+            return ValidationError.ofMessage(getErrorFor(value));
+        }
+    }
+
+    /**
+     * Constraint of primitive {@code long} fields, validated without boxing.
+     */
+    public interface LongConstraint {
+        /**
+         * @param value validated value
+         *
+         * @return validation error message or null if value is valid
+         */
+        String getErrorFor(long value);
+
+        /**
+         * @param value validated value
+         *
+         * @return validation error or null if value is valid
+         */
+        default ValidationError getValidationErrorFor(long value) {
+            return ValidationError.ofMessage(getErrorFor(value));
+        }
+    }
+
+    /**
+     * Constraint of primitive {@code double} fields, validated without boxing.
+     */
+    public interface DoubleConstraint {
+        /**
+         * @param value validated value
+         *
+         * @return validation error message or null if value is valid
+         */
+        String getErrorFor(double value);
+
+        /**
+         * @param value validated value
+         *
+         * @return validation error or null if value is valid
+         */
+        default ValidationError getValidationErrorFor(double value) {
+            return ValidationError.ofMessage(getErrorFor(value));
+        }
+    }
+
+    /**
+     * Constraint that can validate objects as well as primitive values.
+     */
+    public interface NumericConstraint extends ValidationConstraint, IntConstraint, LongConstraint, DoubleConstraint {
+    }
+
+    static final ValidationConstraint ALWAYS_VALID = describe("isAlwaysValid", Cost.CONSTANT, ConstraintChecks::isAlwaysValid);
+
+    /**
+     * Checks if validated object is equal to given object.
+     */
+    public static ValidationConstraint isEqualTo(Object other) {
+        return describe("isEqualTo", Cost.CONSTANT, object -> ConstraintChecks.isEqualTo(object, other), other);
+    }
+
+    /**
+     * Checks if validated object is not null.
+     */
+    public static ValidationConstraint isNotNull() {
+        return new ShapeConstraint("isNotNull", Cost.CONSTANT, ConstraintChecks::isNotNull);
+    }
+
+    /**
+     * Checks if validated collection, map, array or {@link String} representation of object is not empty.
+     *
+     * @see StringUtils#isEmpty(CharSequence)
+     */
+    public static ValidationConstraint isNotEmpty() {
+        return new ShapeConstraint("isNotEmpty", Cost.LINEAR, ConstraintChecks::isNotEmpty);
+    }
+
+    /**
+     * Checks if validated collection or {@link String} representation of object is not whitespace.
+     *
+     * @see StringUtils#isWhitespace(CharSequence)
+     */
+    public static ValidationConstraint isNotWhitespace() {
+        return new ShapeConstraint("isNotWhitespace", Cost.LINEAR, ConstraintChecks::isNotWhitespace);
+    }
+
+    /**
+     * Checks if validated collection or {@link String} representation of object is not whitespace.
+     *
+     * @see StringUtils#isWhitespace(CharSequence)
+     */
+    public static ValidationConstraint isWhitespace() {
+        return new ShapeConstraint("isWhitespace", Cost.LINEAR, ConstraintChecks::isWhitespace);
+    }
+
+    /**
+     * Checks if validated collection or {@link String} representation of object is not blank.
+     *
+     * @see StringUtils#isNotBlank(CharSequence)
+     */
+    public static ValidationConstraint isNotBlank() {
+        return new ShapeConstraint("isNotBlank", Cost.LINEAR, ConstraintChecks::isNotBlank);
+    }
+
+    /**
+     * Checks if validated collection or {@link String} representation of object is blank.
+     *
+     * @see StringUtils#isBlank(CharSequence)
+     */
+    public static ValidationConstraint isBlank() {
+        return new ShapeConstraint("isBlank", Cost.LINEAR, ConstraintChecks::isBlank);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation is longer than given length.
+     * Collections, maps and arrays are measured by their size.
+     *
+     * @see #isLongerOrEqualTo(long)
+     */
+    public static ValidationConstraint isLongerThan(long minimalLength) {
+        return isLongerOrEqualTo(minimalLength + 1);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation is longer or equal to given length.
+     * Collections, maps and arrays are measured by their size.
+     *
+     * @see #isLongerThan(long)
+     */
+    public static ValidationConstraint isLongerOrEqualTo(long minimalLength) {
+        if (minimalLength <= 0) {
+            return ALWAYS_VALID;
+        }
+        return new ShapeConstraint("isLongerOrEqualTo", Cost.LINEAR, shape -> ConstraintChecks.isLongerOrEqualTo(shape, minimalLength), minimalLength);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation is shorter than given length.
+     * Collections, maps and arrays are measured by their size.
+     *
+     * @see #isShorterOrEqualTo(long)
+     */
+    public static ValidationConstraint isShorterThan(long maximalLength) {
+        return isShorterOrEqualTo(maximalLength - 1);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation is shorter or equal to given length.
+     * Collections, maps and arrays are measured by their size.
+     *
+     * @see #isShorterThan(long)
+     */
+    public static ValidationConstraint isShorterOrEqualTo(long maximalLength) {
+        return new ShapeConstraint("isShorterOrEqualTo", Cost.LINEAR, shape -> ConstraintChecks.isShorterOrEqualTo(shape, maximalLength), maximalLength);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation's length is equal to given length.
+     * Collections, maps and arrays are measured by their size.
+     */
+    public static ValidationConstraint hasLengthEqualTo(long expectedLength) {
+        return new ShapeConstraint("hasLengthEqualTo", Cost.LINEAR, shape -> ConstraintChecks.hasLengthEqualTo(shape, expectedLength), expectedLength);
+    }
+
+    /**
+     * Checks if size of validated collection, map or array, or length of object's {@link String} representation,
+     * is in given inclusive range. Sizes are read without building {@link String} representation of containers.
+     */
+    public static ValidationConstraint hasSizeBetween(long minimalSize, long maximalSize) {
+        return new ShapeConstraint("hasSizeBetween", Cost.LINEAR, shape -> ConstraintChecks.hasSizeBetween(shape, minimalSize, maximalSize),
+                                   minimalSize, maximalSize);
+    }
+
+    /**
+     * Checks if validated object's {@link Long} representation is in given range.
+     * Integral boxes are compared without building their {@link String} representation
+     * and primitive fields are compared without boxing. Values that are not numbers are out of range.
+     *
+     * @see #isInRangeExclusive(double, double)
+     * @see #isInRangeInclusive(long, long)
+     * @see #isInRangeInclusive(double, double)
+     */
+    public static NumericConstraint isInRangeExclusive(long min, long max) {
+        return new LongRangeConstraint("isInRangeExclusive", false, min, max);
+    }
+
+    /**
+     * Checks if validated object's {@link Double} representation is in given range.
+     * Numeric boxes are compared without building their {@link String} representation
+     * and primitive fields are compared without boxing. Values that are not numbers are out of range.
+     *
+     * @see #isInRangeExclusive(long, long)
+     * @see #isInRangeInclusive(long, long)
+     * @see #isInRangeInclusive(double, double)
+     */
+    public static NumericConstraint isInRangeExclusive(double min, double max) {
+        return new DoubleRangeConstraint("isInRangeExclusive", false, min, max);
+    }
+
+    /**
+     * Checks if validated object's {@link Long} representation is in given range.
+     * Integral boxes are compared without building their {@link String} representation
+     * and primitive fields are compared without boxing. Values that are not numbers are out of range.
+     *
+     * @see #isInRangeExclusive(long, long)
+     * @see #isInRangeExclusive(double, double)
+     * @see #isInRangeInclusive(double, double)
+     */
+    public static NumericConstraint isInRangeInclusive(long min, long max) {
+        return new LongRangeConstraint("isInRangeInclusive", true, min, max);
+    }
+
+    /**
+     * Checks if validated object's {@link Double} representation is in given range.
+     * Numeric boxes are compared without building their {@link String} representation
+     * and primitive fields are compared without boxing. Values that are not numbers are out of range.
+     *
+     * @see #isInRangeExclusive(long, long)
+     * @see #isInRangeExclusive(double, double)
+     * @see #isInRangeInclusive(long, long)
+     */
+    public static NumericConstraint isInRangeInclusive(double min, double max) {
+        return new DoubleRangeConstraint("isInRangeInclusive", true, min, max);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation consists of digits and periods.
+     *
+     * @see StringUtils#isNumeric(CharSequence)
+     */
+    public static ValidationConstraint isNumeric() {
+        return new ShapeConstraint("isNumeric", Cost.LINEAR, ConstraintChecks::isNumeric);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation is a decimal number, optionally signed
+     * and with an exponent, such as {@code -1.5e3}.
+     */
+    public static ValidationConstraint isDouble() {
+        return new ShapeConstraint("isDouble", Cost.LINEAR, ConstraintChecks::isDouble);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation matches given pattern.
+     * The pattern is compiled once, when the constraint is created, and cached in {@link PatternCache}.
+     *
+     * @throws java.util.regex.PatternSyntaxException if pattern is invalid
+     */
+    public static ValidationConstraint isMatchingPattern(String pattern) {
+        return isMatchingPattern(pattern, PatternEngine.JDK);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation matches given pattern using given engine.
+     * {@link PatternEngine#LINEAR} engine matches in time linear to the length of the value, so it is safe
+     * for patterns applied to user-supplied values.
+     *
+     * @throws java.util.regex.PatternSyntaxException if pattern is invalid
+     * @throws validator.utils.UnsupportedPatternException if pattern is not supported by {@link PatternEngine#LINEAR} engine
+     */
+    public static ValidationConstraint isMatchingPattern(String pattern, PatternEngine engine) {
+        CompiledPattern compiledPattern = PatternCache.getPattern(pattern, engine);
+        return new ShapeConstraint("isMatchingPattern", Cost.PATTERN, shape -> ConstraintChecks.isMatchingPattern(shape, compiledPattern), compiledPattern);
+    }
+
+    /**
+     * Checks if field is an instance of {@link Enum} and have corresponding value in given enum class.
+     * Names of constants are looked up in a table built once per enum class, so failed check does not throw.
+     */
+    public static ValidationConstraint isValidAsEnum(Class<? extends Enum> expectedClass) {
+        return describe("isValidAsEnum", Cost.CONSTANT, object -> ConstraintChecks.isValidAsEnum(object, expectedClass), expectedClass);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation is a name of a constant of given enum class,
+     * such as a code received as a {@link String}. Null is not a name of any constant.
+     */
+    public static ValidationConstraint isValidAsEnumName(Class<? extends Enum> expectedClass) {
+        return new ShapeConstraint("isValidAsEnumName", Cost.LINEAR, shape -> ConstraintChecks.isValidAsEnumName(shape, expectedClass), expectedClass);
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation is one of given values.
+     *
+     * @see #isOneOf(StringIndex)
+     */
+    public static ValidationConstraint isOneOf(String... values) {
+        return isOneOf(ValueIndex.ofStrings(asList(values)));
+    }
+
+    /**
+     * Checks if validated object's {@link String} representation is one of values of given index.
+     * Large sets of allowed values should be indexed once and shared by constraints.
+     */
+    public static ValidationConstraint isOneOf(StringIndex index) {
+        return new ShapeConstraint("isOneOf", Cost.LINEAR, shape -> ConstraintChecks.isOneOf(shape, index), index);
+    }
+
+    /**
+     * Checks if validated object's {@link Long} representation is one of given values.
+     *
+     * @see #isOneOf(LongIndex)
+     */
+    public static NumericConstraint isOneOf(long... values) {
+        return isOneOf(ValueIndex.ofLongs(values));
+    }
+
+    /**
+     * Checks if validated object's {@link Long} representation is one of values of given index.
+     * Integral boxes are looked up without building their {@link String} representation
+     * and primitive fields are looked up without boxing.
+     */
+    public static NumericConstraint isOneOf(LongIndex index) {
+        return new MembershipConstraint("isOneOf", index::contains, object -> ConstraintChecks.isOneOf(object, index), index);
+    }
+
+    /**
+     * Checks if validated object's {@link Long} representation is in one of ranges of given index.
+     * Integral boxes are looked up without building their {@link String} representation
+     * and primitive fields are looked up without boxing.
+     */
+    public static NumericConstraint isInAnyRange(RangeIndex index) {
+        return new MembershipConstraint("isInAnyRange", index::contains, object -> ConstraintChecks.isInAnyRange(object, index), index);
+    }
+
+    /**
+     * Checks if validated object's {@link Long} representation is in one of ranges of current index of given reference.
+     * The index can be replaced at any time, each validation uses the index current when it is checked.
+     *
+     * @see #isInAnyRange(RangeIndex)
+     */
+    public static NumericConstraint isInAnyRange(AtomicReference<RangeIndex> index) {
+        LongPredicate contains = value -> index.get()
+                                               .contains(value);
+        return new MembershipConstraint("isInAnyRange", contains, object -> ConstraintChecks.isInAnyRange(object, index), index);
+    }
+
+    /**
+     * Checks if validated object's {@link Integer} representation is one of given values.
+     *
+     * @see #isOneOf(IntIndex)
+     */
+    public static NumericConstraint isOneOf(int... values) {
+        return isOneOf(ValueIndex.ofInts(values));
+    }
+
+    /**
+     * Checks if validated object's {@link Integer} representation is one of values of given index.
+     * Integral boxes are looked up without building their {@link String} representation
+     * and primitive fields are looked up without boxing.
+     */
+    public static NumericConstraint isOneOf(IntIndex index) {
+        return new MembershipConstraint("isOneOf", index::contains, object -> ConstraintChecks.isOneOf(object, index), index);
+    }
+
+    /**
+     * Checks if testing the field against predicate returns true.
+     */
+    public static <T> ValidationConstraint fulfills(Predicate<T> predicate) {
+        return new PredicateConstraint(predicate);
+    }
+
+    private static ValidationConstraint describe(String name, Cost cost, Predicate<Object> check, Object... arguments) {
+        return new DescribedConstraint(name, cost, check, arguments);
+    }
+
+    private static String getMessage(ValidationError error) {
+        return nonNull(error) ? error.getMessage() : null;
+    }
+
+    /**
+     * Relative cost of evaluating a constraint, used to evaluate cheap conditions first.
+     */
+    enum Cost {
+        /**
+         * Does not depend on length of validated value.
+         */
+        CONSTANT,
+        /**
+         * Scans {@link String} representation of validated value.
+         */
+        LINEAR,
+        /**
+         * Matches {@link String} representation of validated value against a regular expression.
+         */
+        PATTERN,
+        /**
+         * User-defined code that may not be pure, so it is never skipped or evaluated fewer times than defined.
+         */
+        CUSTOM;
+
+        static Cost of(ValidationConstraint constraint) {
+            return constraint instanceof DescribedConstraint ? ((DescribedConstraint) constraint).getCost() : CUSTOM;
+        }
+    }
+
+    /**
+     * Built-in constraint identified by its name and arguments, so that equal constraints can be recognized.
+     * Its {@link ValidationError} is created once, with constraint's name as the code.
+     */
+    static class DescribedConstraint implements ValidationConstraint {
+        private final String name;
+        private final Cost cost;
+        private final Predicate<Object> check;
+        private final List<Object> arguments;
+        private final ValidationError error;
+
+        private DescribedConstraint(String name, Cost cost, Predicate<Object> check, Object... arguments) {
+            this.name = name;
+            this.cost = cost;
+            this.check = check;
+            this.arguments = unmodifiableList(asList(arguments));
+            this.error = new ValidationError(name, arguments);
+        }
+
+        @Override
+        public String getErrorFor(Object object) {
+            return getMessage(getValidationErrorFor(object));
+        }
+
+        @Override
+        public ValidationError getValidationErrorFor(Object object) {
+            return check.test(object) ? null : error;
+        }
+
+        /**
+         * @return error reported when validated object is not valid
+         */
+        ValidationError getError() {
+            return error;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Cost getCost() {
+            return cost;
+        }
+
+        List<Object> getArguments() {
+            return arguments;
+        }
+
+        /**
+         * @return true if constraint has no side effects, so it can be skipped or evaluated once for many uses
+         */
+        boolean isPure() {
+            return cost != Cost.CUSTOM;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (isNull(other) || getClass() != other.getClass()) {
+                return false;
+            }
+            DescribedConstraint that = (DescribedConstraint) other;
+            return isPure() && name.equals(that.name) && arguments.equals(that.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, arguments);
+        }
+
+        @Override
+        public String toString() {
+            return arguments.stream()
+                            .map(String::valueOf)
+                            .collect(joining(", ", name + "(", ")"));
+        }
+    }
+
+    /**
+     * Built-in constraint checking nullity, emptiness, whitespace or character content of validated object.
+     * Constraints of this kind can share a single {@link ValueShape}, so that validated object's character view
+     * is computed and scanned for whitespace once for all of them.
+     */
+    static final class ShapeConstraint extends DescribedConstraint {
+        private final Predicate<ValueShape> check;
+
+        private ShapeConstraint(String name, Cost cost, Predicate<ValueShape> check, Object... arguments) {
+            super(name, cost, object -> check.test(new ValueShape(object)), arguments);
+            this.check = check;
+        }
+
+        ValidationError getValidationErrorFor(ValueShape shape) {
+            return check.test(shape) ? null : getError();
+        }
+    }
+
+    /**
+     * Built-in constraint testing validated object against user's predicate. It reports a different error
+     * if the predicate throws an exception.
+     */
+    static final class PredicateConstraint extends DescribedConstraint {
+        private final Predicate<Object> predicate;
+        private final ValidationError exceptionError;
+
+        @SuppressWarnings("unchecked")
+        private PredicateConstraint(Predicate<?> predicate) {
+            super("fulfills", Cost.CUSTOM, (Predicate<Object>) predicate, predicate);
+            this.predicate = (Predicate<Object>) predicate;
+            this.exceptionError = new ValidationError("fulfills.exception", predicate);
+        }
+
+        @Override
+        public ValidationError getValidationErrorFor(Object object) {
+            try {
+                return predicate.test(object) ? null : getError();
+            } catch (Exception ex) {
+                return exceptionError;
+            }
+        }
+    }
+
+    /**
+     * Built-in constraint checking if integral value belongs to an index of allowed values.
+     */
+    static final class MembershipConstraint extends DescribedConstraint implements NumericConstraint {
+        private final LongPredicate contains;
+
+        private MembershipConstraint(String name, LongPredicate contains, Predicate<Object> check, Object index) {
+            super(name, Cost.CONSTANT, check, index);
+            this.contains = contains;
+        }
+
+        @Override
+        public String getErrorFor(int value) {
+            return getMessage(getValidationErrorFor(value));
+        }
+
+        @Override
+        public String getErrorFor(long value) {
+            return getMessage(getValidationErrorFor(value));
+        }
+
+        @Override
+        public String getErrorFor(double value) {
+            return getMessage(getValidationErrorFor(value));
+        }
+
+        @Override
+        public ValidationError getValidationErrorFor(int value) {
+            return getValidationErrorFor((long) value);
+        }
+
+        @Override
+        public ValidationError getValidationErrorFor(long value) {
+            return contains.test(value) ? null : getError();
+        }
+
+        /**
+         * Only integral values can be allowed.
+         */
+        @Override
+        public ValidationError getValidationErrorFor(double value) {
+            return value == Math.rint(value) && Math.abs(value) < 0x1p63 ? getValidationErrorFor((long) value) : getError();
+        }
+    }
+
+    /**
+     * Built-in range constraint with {@code long} bounds.
+     */
+    static final class LongRangeConstraint extends DescribedConstraint implements NumericConstraint {
+        private final boolean isInclusive;
+        private final long min;
+        private final long max;
+
+        private LongRangeConstraint(String name, boolean isInclusive, long min, long max) {
+            super(name, Cost.LINEAR, isInclusive ? object -> ConstraintChecks.isInRangeInclusive(object, min, max)
+                                                 : object -> ConstraintChecks.isInRangeExclusive(object, min, max), min, max);
+            this.isInclusive = isInclusive;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public String getErrorFor(int value) {
+            return getMessage(getValidationErrorFor((long) value));
+        }
+
+        @Override
+        public String getErrorFor(long value) {
+            return getMessage(getValidationErrorFor(value));
+        }
+
+        @Override
+        public String getErrorFor(double value) {
+            return getMessage(getValidationErrorFor(value));
+        }
+
+        @Override
+        public ValidationError getValidationErrorFor(int value) {
+            return getValidationErrorFor((long) value);
+        }
+
+        @Override
+        public ValidationError getValidationErrorFor(long value) {
+            boolean isInRange = isInclusive ? ConstraintChecks.isInRangeInclusive(value, min, max)
+                                            : ConstraintChecks.isInRangeExclusive(value, min, max);
+            return isInRange ? null : getError();
+        }
+
+        /**
+         * Like boxed values, values that are not integral or not within {@code long} range are out of range,
+         * other values are compared as {@code long}s.
+         */
+        @Override
+        public ValidationError getValidationErrorFor(double value) {
+            boolean isLong = value == Math.rint(value) && value >= Long.MIN_VALUE && value < -(double) Long.MIN_VALUE;
+            return isLong ? getValidationErrorFor((long) value) : getError();
+        }
+    }
+
+    /**
+     * Built-in range constraint with {@code double} bounds.
+     */
+    static final class DoubleRangeConstraint extends DescribedConstraint implements NumericConstraint {
+        private final boolean isInclusive;
+        private final double min;
+        private final double max;
+
+        private DoubleRangeConstraint(String name, boolean isInclusive, double min, double max) {
+            super(name, Cost.LINEAR, isInclusive ? object -> ConstraintChecks.isInRangeInclusive(object, min, max)
+                                                 : object -> ConstraintChecks.isInRangeExclusive(object, min, max), min, max);
+            this.isInclusive = isInclusive;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public String getErrorFor(int value) {
+            return getMessage(getValidationErrorFor((double) value));
+        }
+
+        @Override
+        public String getErrorFor(long value) {
+            return getMessage(getValidationErrorFor((double) value));
+        }
+
+        @Override
+        public String getErrorFor(double value) {
+            return getMessage(getValidationErrorFor(value));
+        }
+
+        @Override
+        public ValidationError getValidationErrorFor(int value) {
+            return getValidationErrorFor((double) value);
+        }
+
+        @Override
+        public ValidationError getValidationErrorFor(long value) {
+            return getValidationErrorFor((double) value);
+        }
+
+        @Override
+        public ValidationError getValidationErrorFor(double value) {
+            boolean isInRange = isInclusive ? ConstraintChecks.isInRangeInclusive(value, min, max)
+                                            : ConstraintChecks.isInRangeExclusive(value, min, max);
+            return isInRange ? null : getError();
+        }
+    }
+
+    /**
+     * Properties of validated object computed on first use.
+     */
+    static final class ValueShape {
+        private static final ToIntFunction<Object> NOT_A_CONTAINER = object -> -1;
+
+        /**
+         * Size readers by class of validated object, so that its type is checked once per class. Checking
+         * type of an object that is not an instance of a tested interface is costly in hot code.
+         */
+        private static final ClassValue<ToIntFunction<Object>> SIZE_READERS = new ClassValue<ToIntFunction<Object>>() {
+            @Override
+            protected ToIntFunction<Object> computeValue(Class<?> type) {
+                if (Collection.class.isAssignableFrom(type)) {
+                    return object -> ((Collection<?>) object).size();
+                }
+                else if (Map.class.isAssignableFrom(type)) {
+                    return object -> ((Map<?, ?>) object).size();
+                }
+                else if (Object[].class.isAssignableFrom(type)) {
+                    return object -> ((Object[]) object).length;
+                }
+                else if (type.isArray()) {
+                    return Array::getLength;
+                }
+                return NOT_A_CONTAINER;
+            }
+        };
+
+        private final Object object;
+        private CharSequence charSequence;
+        private Boolean isWhitespace;
+
+        ValueShape(Object object) {
+            this.object = object;
+        }
+
+        boolean isNull() {
+            return Objects.isNull(object);
+        }
+
+        /**
+         * @return true if validated object is a {@link Collection}, a {@link Map} or an array
+         */
+        boolean isContainer() {
+            return !(object instanceof String) && getSizeReader() != NOT_A_CONTAINER;
+        }
+
+        /**
+         * @return number of elements of a container, length of character view otherwise
+         */
+        int getSize() {
+            if (object instanceof String) {
+                return ((String) object).length();
+            }
+            ToIntFunction<Object> sizeReader = getSizeReader();
+            if (sizeReader != NOT_A_CONTAINER) {
+                return sizeReader.applyAsInt(object);
+            }
+            return getCharSequence().length();
+        }
+
+        private ToIntFunction<Object> getSizeReader() {
+            return isNull() ? NOT_A_CONTAINER : SIZE_READERS.get(object.getClass());
+        }
+
+        /**
+         * @return validated object if it is a {@link CharSequence}, its {@link String} representation otherwise
+         */
+        CharSequence getCharSequence() {
+            if (Objects.isNull(charSequence)) {
+                charSequence = ConstraintChecks.asCharSequence(object);
+            }
+            return charSequence;
+        }
+
+        /**
+         * Containers are never whitespace, as their {@link String} representations are not.
+         *
+         * @see StringUtils#isWhitespace(CharSequence)
+         */
+        boolean isWhitespace() {
+            if (Objects.isNull(isWhitespace)) {
+                isWhitespace = !isContainer() && StringUtils.isWhitespace(getCharSequence());
+            }
+            return isWhitespace;
+        }
+
+        /**
+         * Equal to {@link #isWhitespace()}, as character view is never null.
+         *
+         * @see StringUtils#isBlank(CharSequence)
+         */
+        boolean isBlank() {
+            return isWhitespace();
+        }
+
+        /**
+         * @return validation error of given constraint, computed with this shape if it is a {@link ShapeConstraint}
+         */
+        ValidationError getValidationErrorFor(ValidationConstraint constraint) {
+            if (constraint instanceof ShapeConstraint) {
+                return ((ShapeConstraint) constraint).getValidationErrorFor(this);
+            }
+            return constraint.getValidationErrorFor(object);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package validator;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.isNull;
+
+/**
+ * Validation error identified by a code and parameters of the failed constraint.
+ * Built-in constraints create their error once, so failing validation does not build any message.
+ * The message is rendered from code's template when it is first read.
+ * <p>
+ * Errors of custom constraints use their message as the code and render the same message in every locale.
+ *
+ * @see ValidationMap#getErrorCodes()
+ */
+
+public final class ValidationError {
+
+    private final String code;
+    private final List<Object> arguments;
+    private String message;
+
+    /**
+     * @param code      error code, built-in constraints use their names
+     * @param arguments parameters of the failed constraint, referred to by {@code {0}}, {@code {1}}, ... in message template
+     */
+    public ValidationError(String code, Object... arguments) {
+        this.code = Objects.requireNonNull(code);
+        this.arguments = unmodifiableList(asList(arguments.clone()));
+    }
+
+    /**
+     * @param message message of error reported by a custom constraint, also used as its code
+     *
+     * @return error with given message or null if message is null
+     */
+    public static ValidationError ofMessage(String message) {
+        if (isNull(message)) {
+            return null;
+        }
+        ValidationError error = new ValidationError(message);
+        error.message = message;
+        return error;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public List<Object> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Default message is rendered once and kept by this error.
+     *
+     * @return message rendered from code's default template
+     * @see MessageTemplates
+     */
+    public String getMessage() {
+        String renderedMessage = message;
+        if (isNull(renderedMessage)) {
+            renderedMessage = MessageTemplates.render(this, Locale.ROOT);
+            message = renderedMessage;
+        }
+        return renderedMessage;
+    }
+
+    /**
+     * @return message rendered from code's template for given locale
+     * @see MessageTemplates
+     */
+    public String getMessage(Locale locale) {
+        return Locale.ROOT.equals(locale) ? getMessage() : MessageTemplates.render(this, locale);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ValidationError)) {
+            return false;
+        }
+        ValidationError that = (ValidationError) other;
+        return code.equals(that.code) && arguments.equals(that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(code, arguments);
+    }
+
+    /**
+     * @return rendered message
+     */
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
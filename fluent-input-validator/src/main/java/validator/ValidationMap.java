@@ -0,0 +1,294 @@
+package validator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.isNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A simple wrapper for {@link HashMap} with JSON {@link #toString()} method.
+ * <p>
+ * Errors added with {@link #addError(String, ValidationError)} keep their codes and parameters,
+ * their messages are rendered only when lists of this map are read or the map is serialized.
+ *
+ * @author Paweł Fiuk
+ */
+
+public class ValidationMap extends HashMap<String, List<String>> {
+
+    private static final ValidationMap EMPTY = new EmptyValidationMap();
+
+    public ValidationMap() {
+    }
+
+    public ValidationMap(Map<? extends String, ? extends List<String>> map) {
+        super(map);
+    }
+
+    /**
+     * Validations without errors return this map instead of allocating their own.
+     *
+     * @return shared, unmodifiable map without errors
+     */
+    public static ValidationMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Adds error of given field without rendering its message.
+     */
+    public void addError(String field, ValidationError error) {
+        List<String> errors = get(field);
+        if (isNull(errors)) {
+            errors = new ErrorList();
+            put(field, errors);
+        }
+
+        if (errors instanceof ErrorList) {
+            ((ErrorList) errors).addError(error);
+        }
+        else {
+            errors.add(error.getMessage());
+        }
+    }
+
+    /**
+     * @return errors of given field, empty list if there are none
+     */
+    public List<ValidationError> getErrors(String field) {
+        List<String> errors = get(field);
+        if (isNull(errors)) {
+            return emptyList();
+        }
+        if (errors instanceof ErrorList) {
+            return unmodifiableList(((ErrorList) errors).errors);
+        }
+        return errors.stream()
+                     .map(ValidationError::ofMessage)
+                     .collect(toList());
+    }
+
+    /**
+     * Code-only view of this map, which does not render any message.
+     *
+     * @return field names and codes of their errors
+     */
+    public Map<String, List<String>> getErrorCodes() {
+        Map<String, List<String>> errorCodes = new LinkedHashMap<>();
+        forEach((field, errors) -> errorCodes.put(field, getErrors(field).stream()
+                                                                        .map(ValidationError::getCode)
+                                                                        .collect(toList())));
+        return errorCodes;
+    }
+
+    /**
+     * @param locale locale of messages
+     *
+     * @return field names and messages of their errors rendered for given locale
+     * @see MessageTemplates
+     */
+    public Map<String, List<String>> getMessages(Locale locale) {
+        Map<String, List<String>> messages = new LinkedHashMap<>();
+        forEach((field, errors) -> messages.put(field, getErrors(field).stream()
+                                                                      .map(error -> error.getMessage(locale))
+                                                                      .collect(toList())));
+        return messages;
+    }
+
+    /**
+     * Writes compact JSON representation of this map, such as {@code {"Order.id":["may not be null"]}}.
+     * Messages are rendered as they are written.
+     *
+     * @param out destination, such as {@link java.io.Writer} or {@link StringBuilder}
+     */
+    public void writeJson(Appendable out) throws IOException {
+        writeJson(out, false);
+    }
+
+    /**
+     * @param out      destination, such as {@link java.io.Writer} or {@link StringBuilder}
+     * @param isPretty whether to write each message on its own line, indented by two spaces
+     */
+    public void writeJson(Appendable out, boolean isPretty) throws IOException {
+        JsonWriter.write(this, out, isPretty);
+    }
+
+    /**
+     * Writes compact JSON representation of this map encoded in UTF-8. Stream is neither buffered, flushed nor closed.
+     */
+    public void writeJson(OutputStream out) throws IOException {
+        writeJson(out, false);
+    }
+
+    /**
+     * @param isPretty whether to write each message on its own line, indented by two spaces
+     *
+     * @see #writeJson(OutputStream)
+     */
+    public void writeJson(OutputStream out, boolean isPretty) throws IOException {
+        JsonWriter.write(this, JsonWriter.utf8(out), isPretty);
+    }
+
+    /**
+     * @return compact JSON representation of this map
+     */
+    public String toJson() {
+        return toJson(false);
+    }
+
+    /**
+     * @return pretty printed JSON representation of this map.
+     */
+    @Override
+    public String toString() {
+        return toJson(true);
+    }
+
+    private String toJson(boolean isPretty) {
+        StringBuilder json = new StringBuilder();
+        try {
+            writeJson(json, isPretty);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
+
+    /**
+     * List of errors presented as their messages.
+     */
+    static final class ErrorList extends AbstractList<String> implements RandomAccess {
+        private final List<ValidationError> errors = new ArrayList<>(2);
+
+        void addError(ValidationError error) {
+            errors.add(error);
+            modCount++;
+        }
+
+        @Override
+        public String get(int index) {
+            return messageOf(errors.get(index));
+        }
+
+        @Override
+        public int size() {
+            return errors.size();
+        }
+
+        @Override
+        public String set(int index, String message) {
+            return messageOf(errors.set(index, ValidationError.ofMessage(message)));
+        }
+
+        @Override
+        public void add(int index, String message) {
+            errors.add(index, ValidationError.ofMessage(message));
+            modCount++;
+        }
+
+        @Override
+        public String remove(int index) {
+            modCount++;
+            return messageOf(errors.remove(index));
+        }
+
+        private static String messageOf(ValidationError error) {
+            return isNull(error) ? null : error.getMessage();
+        }
+    }
+
+    /**
+     * Immutable map without errors, all modifications throw {@link UnsupportedOperationException}.
+     */
+    private static final class EmptyValidationMap extends ValidationMap {
+
+        @Override
+        public void addError(String field, ValidationError error) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> put(String key, List<String> value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends List<String>> map) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> putIfAbsent(String key, List<String> value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> remove(Object key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> replace(String key, List<String> value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean replace(String key, List<String> oldValue, List<String> newValue) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super String, ? super List<String>, ? extends List<String>> function) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> computeIfAbsent(String key, Function<? super String, ? extends List<String>> mappingFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> computeIfPresent(String key, BiFunction<? super String, ? super List<String>, ? extends List<String>> remappingFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> compute(String key, BiFunction<? super String, ? super List<String>, ? extends List<String>> remappingFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> merge(String key, List<String> value,
+                                  BiFunction<? super List<String>, ? super List<String>, ? extends List<String>> remappingFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        private Object readResolve() {
+            return EMPTY;
+        }
+    }
+}
@@ -0,0 +1,802 @@
+package validator;
+
+import validator.FluentInputValidator.IterableFunction;
+import validator.FluentInputValidator.SerializableFunction;
+import validator.ValidationConstraints.ValidationConstraint;
+import validator.ValidationConstraints.ValueShape;
+import validator.metamodel.IterableProperty;
+import validator.metamodel.Property;
+
+import javax.validation.ValidationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.lang.Boolean.FALSE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static validator.ValidationConstraints.isNotNull;
+import static validator.utils.PropertyNameCache.getPropertyName;
+
+/**
+ * Immutable, thread-safe validation definition that is built once and applied to many objects.
+ * Its results are the same as results of {@link FluentInputValidator} chain with the same definition.
+ * <pre>
+ * ValidationPlan&lt;MyObject&gt; plan = ValidationPlan.forClass(MyObject.class)
+ *                                         .withDefaultName()
+ *                                         .given(MyObject::getInnerSimpleObject)
+ *                                         .expectThat(isNotNull(),
+ *                                                     isNotEmpty())
+ *                                         .build();
+ *
+ * ValidationMap results = plan.validate(myObject);
+ * </pre>
+ * Field names, field paths and constraints are resolved when the plan is built. Names of fields of nested objects
+ * are resolved on first validation, as their classes are known only then.
+ *
+ * @see FluentInputValidator
+ */
+
+public final class ValidationPlan<BaseObject> implements SpecializedValidator<BaseObject> {
+
+    private final String baseObjectName;
+    private final Node root;
+    private final List<String> optimizations;
+
+    ValidationPlan(String baseObjectName, Node root, List<String> optimizations) {
+        this.baseObjectName = baseObjectName;
+        this.root = root;
+        this.optimizations = unmodifiableList(optimizations);
+    }
+
+    /**
+     * Entry point for building a plan.
+     *
+     * @param baseObjectClass class of top-level objects under validation
+     */
+    public static <T> NameBuilder<T> forClass(Class<T> baseObjectClass) {
+        return new NameBuilder<>(baseObjectClass);
+    }
+
+    /**
+     * @param baseObject top-level object under validation
+     *
+     * @return map containing field names and corresponding validation errors
+     * @throws ValidationException if base object is null
+     */
+    public ValidationMap validate(BaseObject baseObject) {
+        return getValidationFor(baseObject, baseObjectName);
+    }
+
+    /**
+     * @param input     top-level object under validation
+     * @param inputName name of base object for validation map building
+     *
+     * @return map containing field names and corresponding validation errors
+     * @throws ValidationException if base object is null
+     */
+    @Override
+    public ValidationMap getValidationFor(BaseObject input, String inputName) {
+        if (isNull(input)) {
+            throw new ValidationException(inputName + " may not be null");
+        }
+        ValidationMap validationResults = new ValidationMap();
+        root.validate(input, FieldPath.ofText(inputName), validationResults);
+        return validationResults;
+    }
+
+    /**
+     * @return name used for base objects
+     */
+    public String getBaseObjectName() {
+        return baseObjectName;
+    }
+
+    /**
+     * Creates an equivalent plan that removes duplicate constraints, checks nullity, emptiness and whitespace
+     * of a field in a single scan and evaluates cheap conditions before expensive ones.
+     * Optimized plan produces exactly the same validation results.
+     *
+     * @return optimized plan, which {@link #getOptimizations()} describe what was changed
+     */
+    public ValidationPlan<BaseObject> optimize() {
+        return PlanOptimizer.optimize(this);
+    }
+
+    /**
+     * Creates an equivalent plan that validates fields of each object with a class generated for this plan.
+     * Generated classes call getters of public classes and built-in constraints directly, instead of calling them
+     * through shared {@link Function} and {@link ValidationConstraint} call sites, so that JIT compiler can inline them.
+     * Rules that cannot be generated are validated as in this plan.
+     * <p>
+     * Each distinct plan shape defines a class in the class loader of this library, which is never unloaded.
+     * Plans of the same shape, e.g. the same plan compiled again, reuse it, so compile plans once rather than
+     * building plans of ever-changing shapes at runtime.
+     *
+     * @return compiled plan, which {@link #getOptimizations()} describe generated classes
+     */
+    public ValidationPlan<BaseObject> compile() {
+        return PlanCompiler.compile(this);
+    }
+
+    /**
+     * @return descriptions of changes made by {@link #optimize()} and {@link #compile()}, empty for a plan that was just built
+     */
+    public List<String> getOptimizations() {
+        return optimizations;
+    }
+
+    Node getRoot() {
+        return root;
+    }
+
+    /**
+     * Provides a name for base object.
+     */
+    public static final class NameBuilder<BaseObject> {
+        private final Class<BaseObject> baseObjectClass;
+
+        private NameBuilder(Class<BaseObject> baseObjectClass) {
+            this.baseObjectClass = baseObjectClass;
+        }
+
+        /**
+         * Uses base object's class name as it's name.
+         */
+        public Builder<BaseObject> withDefaultName() {
+            return as(baseObjectClass.getSimpleName());
+        }
+
+        /**
+         * @param baseObjectName name of base object for validation map building
+         */
+        public Builder<BaseObject> as(String baseObjectName) {
+            return new Builder<>(baseObjectClass, baseObjectName, null);
+        }
+    }
+
+    /**
+     * Entry point for field rules.
+     */
+    public static final class Builder<BaseObject> {
+        private final Class<BaseObject> baseObjectClass;
+        private final String baseObjectName;
+        private final Builder<?> parent;
+        private final List<FieldRule> rules = new ArrayList<>();
+
+        private Builder(Class<BaseObject> baseObjectClass, String baseObjectName, Builder<?> parent) {
+            this.baseObjectClass = baseObjectClass;
+            this.baseObjectName = baseObjectName;
+            this.parent = parent;
+        }
+
+        /**
+         * @param getter static method reference of field getter
+         */
+        public <T> FieldRules<BaseObject, T> given(Function<BaseObject, T> getter) {
+            return new FieldRules<>(this, addRule(getter, resolveName(getter)));
+        }
+
+        /**
+         * {@link #given(Function)} variation for serializable method references.
+         */
+        public <T> FieldRules<BaseObject, T> given(SerializableFunction<BaseObject, T> getter) {
+            return given((Function<BaseObject, T>) getter);
+        }
+
+        /**
+         * @param getter    field getter
+         * @param fieldName name of field provided by the getter
+         */
+        public <T> FieldRules<BaseObject, T> given(Function<BaseObject, T> getter, String fieldName) {
+            return new FieldRules<>(this, addRule(getter, fieldName));
+        }
+
+        /**
+         * @param property metamodel property of base object
+         */
+        public <T> FieldRules<BaseObject, T> given(Property<? super BaseObject, T> property) {
+            return new FieldRules<>(this, addRule(property::getValue, property.getName()));
+        }
+
+        /**
+         * {@link #given(Function)} variation for fields that implement {@link Iterable}.
+         */
+        public <T> IterableFieldRules<BaseObject, T> given(IterableFunction<BaseObject, T> getter) {
+            return new IterableFieldRules<>(this, addRule(getter, resolveName(getter)));
+        }
+
+        /**
+         * {@link #given(Property)} variation for fields that implement {@link Iterable}.
+         */
+        public <T> IterableFieldRules<BaseObject, T> given(IterableProperty<? super BaseObject, T> property) {
+            return new IterableFieldRules<>(this, addRule(property::getValue, property.getName()));
+        }
+
+        /**
+         * @return immutable plan containing all defined rules
+         * @throws IllegalStateException if called while defining rules of nested objects
+         */
+        public ValidationPlan<BaseObject> build() {
+            if (nonNull(parent)) {
+                throw new IllegalStateException("Validation plan can only be built by top-level builder");
+            }
+            return new ValidationPlan<>(baseObjectName, toNode(baseObjectName), emptyList());
+        }
+
+        private String resolveName(Function<BaseObject, ?> getter) {
+            return nonNull(baseObjectClass) ? getPropertyName(baseObjectClass, getter) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private FieldRule addRule(Function<? super BaseObject, ?> getter, String fieldName) {
+            FieldRule rule = new FieldRule((Function<Object, Object>) getter, fieldName);
+            rules.add(rule);
+            return rule;
+        }
+
+        private Node toNode(String basePath) {
+            List<FieldRule> compiledRules = new ArrayList<>();
+            for (FieldRule rule : rules) {
+                compiledRules.add(rule.compile(basePath));
+            }
+            return new Node(basePath, compiledRules);
+        }
+    }
+
+    /**
+     * Rules of base object's field.
+     */
+    public static class AbstractFieldRules<ThisType extends AbstractFieldRules<ThisType, BaseObject, Field>, BaseObject, Field> {
+        final Builder<BaseObject> builder;
+        final FieldRule rule;
+
+        private AbstractFieldRules(Builder<BaseObject> builder, FieldRule rule) {
+            this.builder = builder;
+            this.rule = rule;
+        }
+
+        /**
+         * Allows conditional validation. Erases all previous conditions for this field.
+         */
+        public final ThisType when(ValidationConstraint... validationConstraints) {
+            return addStep(new ConstraintCondition(true, validationConstraints));
+        }
+
+        /**
+         * Allows conditional validation. Erases all previous conditions for this field.
+         */
+        @SafeVarargs
+        public final ThisType when(Function<Field, Boolean>... conditions) {
+            return addStep(new FunctionCondition(true, conditions));
+        }
+
+        /**
+         * Allows conditional validation.
+         */
+        public final ThisType andWhen(ValidationConstraint... validationConstraints) {
+            return addStep(new ConstraintCondition(false, validationConstraints));
+        }
+
+        /**
+         * Allows conditional validation.
+         */
+        @SafeVarargs
+        public final ThisType andWhen(Function<Field, Boolean>... conditions) {
+            return addStep(new FunctionCondition(false, conditions));
+        }
+
+        /**
+         * Specifies validation constraints that a field will be validated against.
+         */
+        public final ThisType expectThat(ValidationConstraint... validationConstraints) {
+            return addStep(new Expectation(validationConstraints));
+        }
+
+        /**
+         * Allows validation of nested objects.
+         */
+        public final ThisType validateInternals(Consumer<Builder<Field>> rulesConsumer) {
+            Builder<Field> nestedBuilder = new Builder<>(null, null, builder);
+            rulesConsumer.accept(nestedBuilder);
+            return addStep(new InternalsValidation(nestedBuilder));
+        }
+
+        /**
+         * Allows custom validation at does not append errors, but possibly ends validation flow with an exception instead.
+         */
+        public final ThisType validateUsing(Consumer<Field> consumer) {
+            return addStep(new CustomValidation(consumer));
+        }
+
+        /**
+         * Allows validation with {@link SpecializedValidator}.
+         */
+        public final ThisType validateUsing(SpecializedValidator<Field> specializedValidator) {
+            return addStep(new SpecializedValidation(specializedValidator));
+        }
+
+        /**
+         * Rules separator, allows defining rules of a different field.
+         */
+        public final Builder<BaseObject> and() {
+            return builder;
+        }
+
+        /**
+         * @see Builder#build()
+         */
+        public final ValidationPlan<BaseObject> build() {
+            return builder.build();
+        }
+
+        final ThisType addStep(Step step) {
+            rule.steps.add(step);
+            return getGenericThis();
+        }
+
+        @SuppressWarnings("unchecked")
+        protected ThisType getGenericThis() {
+            return (ThisType) this;
+        }
+    }
+
+    /**
+     * Rules of base object's field.
+     */
+    public static final class FieldRules<BaseObject, Field> extends AbstractFieldRules<FieldRules<BaseObject, Field>, BaseObject, Field> {
+        private FieldRules(Builder<BaseObject> builder, FieldRule rule) {
+            super(builder, rule);
+        }
+    }
+
+    /**
+     * Rules of base object's field that implements {@link Iterable}.
+     */
+    public static final class IterableFieldRules<BaseObject, Element>
+            extends AbstractFieldRules<IterableFieldRules<BaseObject, Element>, BaseObject, Iterable<Element>> {
+        private IterableFieldRules(Builder<BaseObject> builder, FieldRule rule) {
+            super(builder, rule);
+        }
+
+        /**
+         * Allows validation for each element of an {@link Iterable} field.
+         */
+        public IterableFieldRules<BaseObject, Element> forEach(Consumer<FieldRules<Iterable<Element>, Element>> rulesConsumer) {
+            return forEach(String::valueOf, rulesConsumer);
+        }
+
+        /**
+         * Allows validation for each element of an {@link Iterable} field.
+         *
+         * @param toString function naming non-null elements, called only for elements with errors
+         */
+        public IterableFieldRules<BaseObject, Element> forEach(Function<Element, String> toString,
+                                                               Consumer<FieldRules<Iterable<Element>, Element>> rulesConsumer) {
+            return forEach(toString, false, rulesConsumer);
+        }
+
+        /**
+         * Allows validation for each element of an {@link Iterable} field. Elements are named by their indexes,
+         * such as {@code items[17]}, without calling any of their methods.
+         */
+        public IterableFieldRules<BaseObject, Element> forEachIndexed(Consumer<FieldRules<Iterable<Element>, Element>> rulesConsumer) {
+            return forEach(null, true, rulesConsumer);
+        }
+
+        @SuppressWarnings("unchecked")
+        private IterableFieldRules<BaseObject, Element> forEach(Function<Element, String> toString, boolean isIndexed,
+                                                                Consumer<FieldRules<Iterable<Element>, Element>> rulesConsumer) {
+            Builder<Iterable<Element>> elementBuilder = new Builder<>(null, null, builder);
+            FieldRule elementRule = elementBuilder.addRule(null, null);
+            rulesConsumer.accept(new FieldRules<>(elementBuilder, elementRule));
+
+            andWhen(isNotNull());
+            return addStep(new ForEach((Function<Object, String>) toString, isIndexed, elementBuilder));
+        }
+    }
+
+    /**
+     * Compiled rules of fields of a single object.
+     */
+    static final class Node {
+        private final String compiledBasePath;
+        private final List<FieldRule> rules;
+        private final NodeValidator validator;
+
+        private Node(String compiledBasePath, List<FieldRule> rules) {
+            this(compiledBasePath, rules, null);
+        }
+
+        private Node(String compiledBasePath, List<FieldRule> rules, NodeValidator validator) {
+            this.compiledBasePath = compiledBasePath;
+            this.rules = unmodifiableList(rules);
+            this.validator = validator;
+        }
+
+        String getCompiledBasePath() {
+            return compiledBasePath;
+        }
+
+        List<FieldRule> getRules() {
+            return rules;
+        }
+
+        Node withRules(List<FieldRule> rules) {
+            return new Node(compiledBasePath, rules);
+        }
+
+        /**
+         * @param validator generated validator of this node's rules
+         */
+        Node withValidator(NodeValidator validator) {
+            return new Node(compiledBasePath, rules, validator);
+        }
+
+        void validate(Object baseObject, FieldPath basePath, ValidationMap validationResults) {
+            validate(baseObject, null, null, basePath, validationResults);
+        }
+
+        /**
+         * @param elementPath path of validated element, named only when its text is built
+         */
+        void validate(Object baseObject, Object element, FieldPath elementPath, FieldPath basePath, ValidationMap validationResults) {
+            if (nonNull(validator)) {
+                validator.validate(baseObject, element, elementPath, basePath, validationResults);
+                return;
+            }
+            boolean isCompiledBasePath = isCompiledBasePath(basePath);
+            for (FieldRule rule : rules) {
+                Object field = rule.isElementRule() ? element : rule.getter.apply(baseObject);
+                rule.validate(field, getFieldPath(rule, isCompiledBasePath, baseObject, basePath, elementPath), validationResults);
+            }
+        }
+
+        /**
+         * Text of base path is built only for nodes which path is known when plan is built, elements are not named here.
+         */
+        boolean isCompiledBasePath(FieldPath basePath) {
+            if (isNull(compiledBasePath)) {
+                return false;
+            }
+            String path = basePath.toString();
+            return path == compiledBasePath || path.equals(compiledBasePath);
+        }
+
+        FieldPath getFieldPath(FieldRule rule, boolean isCompiledBasePath, Object baseObject, FieldPath basePath, FieldPath elementPath) {
+            if (rule.isElementRule()) {
+                return elementPath;
+            }
+            return isCompiledBasePath ? rule.getCompiledPath(compiledBasePath, baseObject)
+                                      : basePath.child(rule.getFieldName(baseObject));
+        }
+    }
+
+    /**
+     * Validator of fields of a single object generated by {@link PlanCompiler}, equivalent to interpreted {@link Node}.
+     */
+    interface NodeValidator {
+        void validate(Object baseObject, Object element, FieldPath elementPath, FieldPath basePath, ValidationMap validationResults);
+    }
+
+    /**
+     * Getter, name and validation steps of a single field.
+     */
+    static final class FieldRule {
+        private final Function<Object, Object> getter;
+        private final List<Step> steps;
+        private volatile String fieldName;
+        private volatile String path;
+        private volatile FieldPath compiledPath;
+
+        private FieldRule(Function<Object, Object> getter, String fieldName) {
+            this(getter, fieldName, new ArrayList<>());
+        }
+
+        private FieldRule(Function<Object, Object> getter, String fieldName, List<Step> steps) {
+            this.getter = getter;
+            this.fieldName = fieldName;
+            this.steps = steps;
+        }
+
+        /**
+         * @param basePath path of base object if it is known when plan is built, null otherwise
+         */
+        private FieldRule compile(String basePath) {
+            String compiledPath = nonNull(basePath) && nonNull(fieldName) ? mergeFieldNames(basePath, fieldName) : null;
+
+            List<Step> compiledSteps = new ArrayList<>();
+            for (Step step : steps) {
+                compiledSteps.add(step.compile(compiledPath));
+            }
+
+            FieldRule compiled = new FieldRule(getter, fieldName, unmodifiableList(compiledSteps));
+            compiled.path = compiledPath;
+            compiled.compiledPath = nonNull(compiledPath) ? FieldPath.ofText(compiledPath) : null;
+            return compiled;
+        }
+
+        boolean isElementRule() {
+            return isNull(getter);
+        }
+
+        Function<Object, Object> getGetter() {
+            return getter;
+        }
+
+        List<Step> getSteps() {
+            return steps;
+        }
+
+        FieldRule withSteps(List<Step> steps) {
+            FieldRule rule = new FieldRule(getter, fieldName, unmodifiableList(steps));
+            rule.path = path;
+            rule.compiledPath = compiledPath;
+            return rule;
+        }
+
+        /**
+         * @return field name, or null if it is not resolved yet
+         */
+        String getResolvedFieldName() {
+            return fieldName;
+        }
+
+        /**
+         * @return field path, or null if it is not resolved yet
+         */
+        String getResolvedPath() {
+            return path;
+        }
+
+        private FieldPath getCompiledPath(String compiledBasePath, Object baseObject) {
+            FieldPath fieldPath = compiledPath;
+            if (isNull(fieldPath)) {
+                String text = path;
+                if (isNull(text)) {
+                    text = mergeFieldNames(compiledBasePath, getFieldName(baseObject));
+                    path = text;
+                }
+                fieldPath = FieldPath.ofText(text);
+                compiledPath = fieldPath;
+            }
+            return fieldPath;
+        }
+
+        @SuppressWarnings("unchecked")
+        private String getFieldName(Object baseObject) {
+            String name = fieldName;
+            if (isNull(name)) {
+                name = getPropertyName((Class<Object>) baseObject.getClass(), getter);
+                fieldName = name;
+            }
+            return name;
+        }
+
+        private void validate(Object field, FieldPath fieldPath, ValidationMap validationResults) {
+            boolean canBeValidated = true;
+            for (Step step : steps) {
+                canBeValidated = step.apply(field, fieldPath, canBeValidated, validationResults);
+            }
+        }
+    }
+
+    /**
+     * Single validation step of a field.
+     */
+    interface Step {
+        /**
+         * @return whether following steps can validate the field
+         */
+        boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults);
+
+        /**
+         * @param fieldPath path of validated field if it is known when plan is built, null otherwise
+         */
+        default Step compile(String fieldPath) {
+            return this;
+        }
+    }
+
+    static final class ConstraintCondition implements Step {
+        final boolean erasesPreviousConditions;
+        final List<ValidationConstraint> constraints;
+
+        ConstraintCondition(boolean erasesPreviousConditions, ValidationConstraint[] constraints) {
+            this(erasesPreviousConditions, asList(constraints.clone()));
+        }
+
+        ConstraintCondition(boolean erasesPreviousConditions, List<ValidationConstraint> constraints) {
+            this.erasesPreviousConditions = erasesPreviousConditions;
+            this.constraints = unmodifiableList(constraints);
+        }
+
+        @Override
+        public boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults) {
+            boolean areAllConditionsMet = true;
+            ValueShape shape = new ValueShape(field);
+            for (ValidationConstraint constraint : constraints) {
+                if (nonNull(shape.getValidationErrorFor(constraint))) {
+                    areAllConditionsMet = false;
+                }
+            }
+            return (erasesPreviousConditions || canBeValidated) && areAllConditionsMet;
+        }
+    }
+
+    static final class FunctionCondition implements Step {
+        private final boolean erasesPreviousConditions;
+        private final List<Function<Object, Boolean>> conditions;
+
+        @SuppressWarnings("unchecked")
+        private FunctionCondition(boolean erasesPreviousConditions, Function<?, Boolean>[] conditions) {
+            this.erasesPreviousConditions = erasesPreviousConditions;
+            this.conditions = unmodifiableList(asList((Function<Object, Boolean>[]) conditions.clone()));
+        }
+
+        @Override
+        public boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults) {
+            boolean areAllConditionsMet = true;
+            for (Function<Object, Boolean> condition : conditions) {
+                if (FALSE.equals(condition.apply(field))) {
+                    areAllConditionsMet = false;
+                }
+            }
+            return (erasesPreviousConditions || canBeValidated) && areAllConditionsMet;
+        }
+    }
+
+    static final class Expectation implements Step {
+        final List<ValidationConstraint> constraints;
+
+        Expectation(ValidationConstraint[] constraints) {
+            this(asList(constraints.clone()));
+        }
+
+        Expectation(List<ValidationConstraint> constraints) {
+            this.constraints = unmodifiableList(constraints);
+        }
+
+        @Override
+        public boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults) {
+            if (canBeValidated) {
+                ValueShape shape = new ValueShape(field);
+                for (ValidationConstraint constraint : constraints) {
+                    ValidationError error = shape.getValidationErrorFor(constraint);
+                    if (nonNull(error)) {
+                        addValidationResult(validationResults, fieldPath, error);
+                    }
+                }
+            }
+            return canBeValidated;
+        }
+    }
+
+    static final class InternalsValidation implements Step {
+        private final Builder<?> nestedBuilder;
+        private final Node node;
+
+        private InternalsValidation(Builder<?> nestedBuilder) {
+            this(nestedBuilder, null);
+        }
+
+        private InternalsValidation(Builder<?> nestedBuilder, Node node) {
+            this.nestedBuilder = nestedBuilder;
+            this.node = node;
+        }
+
+        @Override
+        public Step compile(String fieldPath) {
+            return new InternalsValidation(null, nestedBuilder.toNode(fieldPath));
+        }
+
+        Node getNode() {
+            return node;
+        }
+
+        InternalsValidation withNode(Node node) {
+            return new InternalsValidation(null, node);
+        }
+
+        @Override
+        public boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults) {
+            if (nonNull(field)) {
+                node.validate(field, fieldPath, validationResults);
+            }
+            return canBeValidated;
+        }
+    }
+
+    static final class CustomValidation implements Step {
+        private final Consumer<Object> consumer;
+
+        @SuppressWarnings("unchecked")
+        private CustomValidation(Consumer<?> consumer) {
+            this.consumer = (Consumer<Object>) consumer;
+        }
+
+        @Override
+        public boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults) {
+            consumer.accept(field);
+            return canBeValidated;
+        }
+    }
+
+    static final class SpecializedValidation implements Step {
+        private final SpecializedValidator<Object> specializedValidator;
+
+        @SuppressWarnings("unchecked")
+        private SpecializedValidation(SpecializedValidator<?> specializedValidator) {
+            this.specializedValidator = (SpecializedValidator<Object>) specializedValidator;
+        }
+
+        @Override
+        public boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults) {
+            if (nonNull(field)) {
+                ValidationMap specializedResults = specializedValidator.getValidationFor(field, fieldPath.toString());
+                specializedResults.keySet()
+                                  .forEach(path -> specializedResults.getErrors(path)
+                                                                     .forEach(error -> validationResults.addError(path, error)));
+            }
+            return canBeValidated;
+        }
+    }
+
+    /**
+     * Validates each element with a path named by its index or, only when its first error is added, by its value.
+     */
+    static final class ForEach implements Step {
+        private final Function<Object, String> toString;
+        private final boolean isIndexed;
+        private final Builder<?> elementBuilder;
+        private final Node elementNode;
+
+        private ForEach(Function<Object, String> toString, boolean isIndexed, Builder<?> elementBuilder) {
+            this(toString, isIndexed, elementBuilder, null);
+        }
+
+        private ForEach(Function<Object, String> toString, boolean isIndexed, Builder<?> elementBuilder, Node elementNode) {
+            this.toString = toString;
+            this.isIndexed = isIndexed;
+            this.elementBuilder = elementBuilder;
+            this.elementNode = elementNode;
+        }
+
+        @Override
+        public Step compile(String fieldPath) {
+            return new ForEach(toString, isIndexed, null, elementBuilder.toNode(fieldPath));
+        }
+
+        Node getElementNode() {
+            return elementNode;
+        }
+
+        ForEach withElementNode(Node elementNode) {
+            return new ForEach(toString, isIndexed, null, elementNode);
+        }
+
+        @Override
+        public boolean apply(Object field, FieldPath fieldPath, boolean canBeValidated, ValidationMap validationResults) {
+            if (canBeValidated) {
+                int index = 0;
+                for (Object element : (Iterable<?>) field) {
+                    FieldPath elementPath = isIndexed ? fieldPath.element(index++) : fieldPath.element(element, toString);
+                    elementNode.validate(field, element, elementPath, fieldPath, validationResults);
+                }
+            }
+            return canBeValidated;
+        }
+    }
+
+    static void addValidationResult(ValidationMap validationResults, FieldPath fieldPath, ValidationError error) {
+        validationResults.addError(fieldPath.toString(), error);
+    }
+
+    static String mergeFieldNames(String baseName, String fieldName) {
+        return baseName + "." + fieldName;
+    }
+}
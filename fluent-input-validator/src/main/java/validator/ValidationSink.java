@@ -0,0 +1,65 @@
+package validator;
+
+import java.util.Arrays;
+
+/**
+ * Append-only list of errors of a single validation, shared by all validators nested in it.
+ * Errors are kept with {@link FieldPath}s of their fields. Text of interned paths is built only when results are read,
+ * text of other paths when their first error is added, so elements are named while they are validated and not kept.
+ * Nested validators append their errors here instead of building maps of their own, so errors are copied
+ * into a {@link ValidationMap} only when results are read, in a single pass. Each nested validator reads only
+ * errors appended after the offset at which it was created.
+ */
+
+final class ValidationSink {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private FieldPath[] fields = new FieldPath[INITIAL_CAPACITY];
+    private ValidationError[] errors = new ValidationError[INITIAL_CAPACITY];
+    private int size;
+
+    void add(FieldPath field, ValidationError error) {
+        if (!field.isInterned()) {
+            field.toString();
+        }
+        if (size == fields.length) {
+            fields = Arrays.copyOf(fields, size * 2);
+            errors = Arrays.copyOf(errors, size * 2);
+        }
+        fields[size] = field;
+        errors[size] = error;
+        size++;
+    }
+
+    /**
+     * Appends errors of a map built by a separate validation, such as a {@link SpecializedValidator}.
+     */
+    void addAll(ValidationMap validationResults) {
+        validationResults.keySet()
+                         .forEach(field -> {
+                             FieldPath fieldPath = FieldPath.ofText(field);
+                             validationResults.getErrors(field)
+                                              .forEach(error -> add(fieldPath, error));
+                         });
+    }
+
+    /**
+     * @return number of errors appended so far, which is an offset of errors appended later
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param offset number of errors appended before the errors to read, see {@link #size()}
+     * @return new map of errors appended since given offset, owned by the caller
+     */
+    ValidationMap toValidationMap(int offset) {
+        ValidationMap validationMap = new ValidationMap();
+        for (int i = offset; i < size; i++) {
+            validationMap.addError(fields[i].toString(), errors[i]);
+        }
+        return validationMap;
+    }
+}
@@ -0,0 +1,265 @@
+package validator;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+import validator.metamodel.ValidationMetamodel;
+import validator.utils.PropertyNameCache;
+import validator.utils.RecordingObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static validator.FluentInputValidator.validate;
+import static validator.ValidationConstraints.isNotNull;
+
+/**
+ * Prepares validation of given classes at application start, so that the first validations after deployment
+ * do not pay for proxy class generation, name resolution and interpreted execution of validation chain.
+ * <pre>
+ * ValidatorWarmup.forPackage("com.example.dto")
+ *                .run();
+ * </pre>
+ * Warm-up never creates instances of given classes and never calls their code. Getters are called only on
+ * {@link RecordingObject} proxies, which return default values without calling the proxied class.
+ */
+
+public final class ValidatorWarmup {
+
+    private static final int DEFAULT_VALIDATION_ITERATIONS = 1000;
+
+    private final Collection<Class<?>> classes;
+    private int validationIterations = DEFAULT_VALIDATION_ITERATIONS;
+
+    private ValidatorWarmup(Collection<Class<?>> classes) {
+        this.classes = classes;
+    }
+
+    /**
+     * @param classes classes that will be validated
+     */
+    public static ValidatorWarmup forClasses(Class<?>... classes) {
+        return forClasses(asList(classes));
+    }
+
+    /**
+     * @param classes classes that will be validated
+     */
+    public static ValidatorWarmup forClasses(Collection<Class<?>> classes) {
+        return new ValidatorWarmup(new ArrayList<>(classes));
+    }
+
+    /**
+     * @param packageName package which classes annotated with {@link ValidationMetamodel}, including classes
+     *                    of its subpackages, will be validated; other classes are not loaded
+     *
+     * @throws UncheckedIOException if package cannot be scanned
+     */
+    public static ValidatorWarmup forPackage(String packageName) {
+        return forClasses(findClasses(packageName));
+    }
+
+    /**
+     * @param validationIterations number of synthetic validations of each class, {@value #DEFAULT_VALIDATION_ITERATIONS} by default
+     *
+     * @throws IllegalArgumentException if given number is not positive
+     */
+    public ValidatorWarmup withValidationIterations(int validationIterations) {
+        if (validationIterations <= 0) {
+            throw new IllegalArgumentException("Number of validation iterations must be positive, got " + validationIterations);
+        }
+        this.validationIterations = validationIterations;
+        return this;
+    }
+
+    /**
+     * Generates recording proxies, resolves getter names with {@link PropertyNameCache}'s resolver and runs
+     * synthetic validations of all given classes. Getters are resolved and validated on recording proxies,
+     * so classes that cannot be proxied are not validated.
+     *
+     * @return times spent on each step
+     */
+    public WarmupReport run() {
+        List<Class<?>> proxiedClasses = new ArrayList<>();
+        long start = System.nanoTime();
+        for (Class<?> cls : classes) {
+            if (RecordingObject.warmUp(cls)) {
+                proxiedClasses.add(cls);
+            }
+        }
+
+        long proxiesGenerated = System.nanoTime();
+        Map<Class<?>, Map<Method, String>> getters = new LinkedHashMap<>();
+        for (Class<?> cls : proxiedClasses) {
+            getters.put(cls, resolveGetterNames(cls));
+        }
+
+        long namesResolved = System.nanoTime();
+        getters.forEach((cls, classGetters) -> {
+            Object proxy = RecordingObject.create(cls)
+                                          .getObject();
+            for (int i = 0; i < validationIterations; i++) {
+                validateSynthetically(cls, proxy, classGetters);
+            }
+        });
+
+        long validationsFinished = System.nanoTime();
+        return new WarmupReport(proxiedClasses,
+                                new ArrayList<>(getters.keySet()),
+                                Duration.ofNanos(proxiesGenerated - start),
+                                Duration.ofNanos(namesResolved - proxiesGenerated),
+                                Duration.ofNanos(validationsFinished - namesResolved));
+    }
+
+    /**
+     * @return getters of given class that can be recorded and their property names, getters which names
+     * cannot be resolved are skipped
+     */
+    private static <T> Map<Method, String> resolveGetterNames(Class<T> cls) {
+        Map<Method, String> getters = new LinkedHashMap<>();
+        for (Method method : cls.getMethods()) {
+            if (isRecordableGetter(method)) {
+                try {
+                    getters.put(method, PropertyNameCache.resolvePropertyName(cls, recorded -> invoke(method, recorded)));
+                } catch (RuntimeException e) {
+                    // the getter is not validated
+                }
+            }
+        }
+        return getters;
+    }
+
+    private static void validateSynthetically(Class<?> cls, Object proxy, Map<Method, String> getters) {
+        FluentInputValidator<Object>.FieldValidatorBuilder validator = validate(proxy).as(cls.getSimpleName());
+        getters.forEach((getter, propertyName) -> validator.given(invoke(getter, proxy), propertyName)
+                                                           .expectThat(isNotNull()));
+        validator.ifErrorsPresent()
+                 .getValidationResults();
+    }
+
+    /**
+     * Final methods are not intercepted by recording proxies, so they would run code of the proxied class.
+     */
+    private static boolean isRecordableGetter(Method method) {
+        int modifiers = method.getModifiers();
+        return method.getName()
+                     .startsWith("get")
+                && method.getName()
+                         .length() > 3
+                && method.getParameterCount() == 0
+                && method.getReturnType() != void.class
+                && !Modifier.isStatic(modifiers)
+                && !Modifier.isFinal(modifiers)
+                && method.getDeclaringClass() != Object.class;
+    }
+
+    /**
+     * @param recordedObject recording proxy created by {@link RecordingObject}
+     */
+    private static Object invoke(Method getter, Object recordedObject) {
+        try {
+            return getter.invoke(recordedObject);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not call " + getter + " on recording proxy", e);
+        }
+    }
+
+    private static List<Class<?>> findClasses(String packageName) {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        MetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(resolver);
+        String pattern = PathMatchingResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+                + ClassUtils.convertClassNameToResourcePath(packageName) + "/**/*.class";
+
+        List<Class<?>> classes = new ArrayList<>();
+        try {
+            for (Resource resource : resolver.getResources(pattern)) {
+                MetadataReader metadataReader = metadataReaderFactory.getMetadataReader(resource);
+                if (metadataReader.getAnnotationMetadata()
+                                  .hasAnnotation(ValidationMetamodel.class.getName())) {
+                    classes.add(ClassUtils.forName(metadataReader.getClassMetadata()
+                                                                 .getClassName(), classLoader));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalStateException("Could not load classes of package " + packageName, e);
+        }
+        return classes;
+    }
+
+    /**
+     * Times spent on each step of {@link ValidatorWarmup#run()}.
+     */
+    public static final class WarmupReport {
+        private final List<Class<?>> proxiedClasses;
+        private final List<Class<?>> validatedClasses;
+        private final Duration proxyGenerationTime;
+        private final Duration nameResolutionTime;
+        private final Duration validationTime;
+
+        private WarmupReport(List<Class<?>> proxiedClasses,
+                             List<Class<?>> validatedClasses,
+                             Duration proxyGenerationTime,
+                             Duration nameResolutionTime,
+                             Duration validationTime) {
+            this.proxiedClasses = unmodifiableList(proxiedClasses);
+            this.validatedClasses = unmodifiableList(validatedClasses);
+            this.proxyGenerationTime = proxyGenerationTime;
+            this.nameResolutionTime = nameResolutionTime;
+            this.validationTime = validationTime;
+        }
+
+        /**
+         * @return classes which recording proxies were generated
+         */
+        public List<Class<?>> getProxiedClasses() {
+            return proxiedClasses;
+        }
+
+        /**
+         * @return classes that were validated with synthetic validations
+         */
+        public List<Class<?>> getValidatedClasses() {
+            return validatedClasses;
+        }
+
+        public Duration getProxyGenerationTime() {
+            return proxyGenerationTime;
+        }
+
+        public Duration getNameResolutionTime() {
+            return nameResolutionTime;
+        }
+
+        public Duration getValidationTime() {
+            return validationTime;
+        }
+
+        public Duration getTotalTime() {
+            return proxyGenerationTime.plus(nameResolutionTime)
+                                      .plus(validationTime);
+        }
+
+        @Override
+        public String toString() {
+            return "proxies generated for " + proxiedClasses.size() + " classes in " + proxyGenerationTime.toMillis() + " ms, "
+                    + "names resolved in " + nameResolutionTime.toMillis() + " ms, "
+                    + validatedClasses.size() + " classes validated in " + validationTime.toMillis() + " ms";
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package validator.metamodel;
+
+import java.util.function.Function;
+
+/**
+ * {@link Property} variation for fields that implement {@link Iterable}.
+ *
+ * @see validator.FluentInputValidator.FieldValidatorBuilder#given(IterableProperty)
+ */
+
+public final class IterableProperty<Owner, Element> extends Property<Owner, Iterable<Element>> {
+
+    private IterableProperty(String name, Function<? super Owner, ? extends Iterable<Element>> getter) {
+        super(name, getter);
+    }
+
+    /**
+     * @param name   field name
+     * @param getter field getter, its elements are only read so their type may be a subtype of Element
+     */
+    @SuppressWarnings("unchecked")
+    public static <Owner, Element> IterableProperty<Owner, Element> iterableProperty(String name,
+                                                                                     Function<? super Owner, ? extends Iterable<? extends Element>> getter) {
+        return new IterableProperty<>(name, (Function<? super Owner, ? extends Iterable<Element>>) getter);
+    }
+}
@@ -0,0 +1,65 @@
+package validator.metamodel;
+
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Field name and getter of a property, usually generated for classes annotated with {@link ValidationMetamodel}.
+ *
+ * @see validator.FluentInputValidator.FieldValidatorBuilder#given(Property)
+ */
+
+public class Property<Owner, Value> {
+
+    private final String name;
+    private final Function<? super Owner, ? extends Value> getter;
+
+    Property(String name, Function<? super Owner, ? extends Value> getter) {
+        this.name = requireNonNull(name);
+        this.getter = requireNonNull(getter);
+    }
+
+    /**
+     * @param name   field name
+     * @param getter field getter
+     */
+    public static <Owner, Value> Property<Owner, Value> property(String name, Function<? super Owner, ? extends Value> getter) {
+        return new Property<>(name, getter);
+    }
+
+    /**
+     * @return property of a nested object, named with dot separated path, e.g. {@code customer.name}.
+     * Its value is null if this property's value is null.
+     */
+    public final <Next> Property<Owner, Next> then(Property<? super Value, Next> next) {
+        return new Property<>(name + "." + next.getName(), owner -> {
+            Value value = getValue(owner);
+            return isNull(value) ? null : next.getValue(value);
+        });
+    }
+
+    /**
+     * @return {@link #then(Property)} variation for nested fields that implement {@link Iterable}
+     */
+    public final <Element> IterableProperty<Owner, Element> then(IterableProperty<? super Value, Element> next) {
+        return IterableProperty.iterableProperty(name + "." + next.getName(), owner -> {
+            Value value = getValue(owner);
+            return isNull(value) ? null : next.getValue(value);
+        });
+    }
+
+    public final String getName() {
+        return name;
+    }
+
+    public final Value getValue(Owner owner) {
+        return getter.apply(owner);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
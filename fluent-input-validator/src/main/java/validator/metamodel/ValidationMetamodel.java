@@ -0,0 +1,21 @@
+package validator.metamodel;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which fluent-input-validator-processor generates a static metamodel.
+ * <p>
+ * For class {@code Order} a class {@code Order_} is generated in the same package. It holds a field name constant
+ * and a {@link Property} for every getter, which can be passed to
+ * {@link validator.FluentInputValidator.FieldValidatorBuilder#given(Property)} without resolving names at runtime.
+ */
+
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ValidationMetamodel {
+}
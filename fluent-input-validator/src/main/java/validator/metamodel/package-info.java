@@ -0,0 +1,6 @@
+/**
+ * Static property metamodel that allows referring to validated fields without resolving their names at runtime.
+ *
+ * @see validator.metamodel.ValidationMetamodel
+ */
+package validator.metamodel;
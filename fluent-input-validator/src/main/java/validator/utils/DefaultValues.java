@@ -14,12 +14,16 @@ public class DefaultValues {
             .put(Long.class, 0L)
             .put(Character.class, 'c')
             .put(Byte.class, (byte) 0)
+            .put(Short.class, (short) 0)
+            .put(Boolean.class, false)
             .put(int.class, 0)
             .put(float.class, 0f)
             .put(double.class, 0d)
             .put(long.class, 0L)
             .put(char.class, 'c')
             .put(byte.class, (byte) 0)
+            .put(short.class, (short) 0)
+            .put(boolean.class, false)
             .build();
 
     public static Object getDefault(Class<?> cls) {
@@ -0,0 +1,818 @@
+package validator.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Matcher of the regular subset of {@link java.util.regex.Pattern} syntax, which never backtracks,
+ * so matching takes time linear to the length of the input.
+ * <p>
+ * The pattern is parsed into a nondeterministic automaton, which is converted into a deterministic one
+ * when the pattern is compiled. Matching then takes one table lookup per character. Patterns whose
+ * deterministic automaton would be too large are matched by simulating the nondeterministic automaton
+ * instead, which is slower, but still linear.
+ * <p>
+ * Supported are literals, {@code .}, character classes with ranges and negation, {@code \d \D \w \W \s \S},
+ * groups, alternation, greedy and lazy quantifiers, and {@code ^} and {@code $} at the start and the end
+ * of the pattern. Other constructs are rejected with {@link UnsupportedPatternException}.
+ */
+
+final class LinearPattern {
+
+    /**
+     * Maximum number of states of nondeterministic automaton, which grows with counted repetitions.
+     */
+    static final int MAX_NFA_STATES = 10_000;
+
+    /**
+     * Maximum number of states of deterministic automaton.
+     */
+    static final int MAX_DFA_STATES = 2_000;
+
+    /**
+     * Maximum size of transition table of deterministic automaton.
+     */
+    static final int MAX_DFA_TRANSITIONS = 1 << 18;
+
+    private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+    private static final int[] DIGITS = {'0', '9'};
+    private static final int[] WORD_CHARACTERS = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] WHITESPACES = {'\t', '\r', ' ', ' '};
+    private static final int[] ANY_BUT_LINE_TERMINATORS = {0, '\n' - 1, '\n' + 1, '\r' - 1, '\r' + 1, 0x84, 0x86, 0x2027, 0x202A, MAX_CODE_POINT};
+
+    private static final int CHARACTER = 0;
+    private static final int SPLIT = 1;
+    private static final int MATCH = 2;
+
+    private final String regex;
+
+    private final int[] boundaries;
+    private final int[] asciiClasses = new int[128];
+    private final int classCount;
+
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    private final Nfa nfa;
+    private final ThreadLocal<NfaBuffers> buffers;
+
+    private LinearPattern(String regex, Nfa nfa) {
+        this.regex = regex;
+        this.boundaries = nfa.getBoundaries();
+        this.classCount = boundaries.length;
+        for (int codePoint = 0; codePoint < asciiClasses.length; codePoint++) {
+            asciiClasses[codePoint] = searchClass(codePoint);
+        }
+        nfa.computeClassMembership(boundaries);
+
+        Dfa dfa = Dfa.build(nfa, classCount);
+        if (dfa != null) {
+            this.transitions = dfa.transitions;
+            this.accepting = dfa.accepting;
+            this.nfa = null;
+            this.buffers = null;
+        }
+        else {
+            this.transitions = null;
+            this.accepting = null;
+            this.nfa = nfa;
+            this.buffers = ThreadLocal.withInitial(() -> new NfaBuffers(nfa.size));
+        }
+    }
+
+    /**
+     * @param regex valid regular expression
+     *
+     * @return compiled pattern
+     * @throws UnsupportedPatternException if regular expression uses a construct that is not supported
+     */
+    static LinearPattern compile(String regex) {
+        Nfa nfa = new Nfa(regex);
+        nfa.start = nfa.build(new Parser(regex).parse(), nfa.add(MATCH, -1, -1, -1));
+        return new LinearPattern(regex, nfa);
+    }
+
+    /**
+     * @return true if the entire input matches the pattern
+     */
+    boolean matches(CharSequence input) {
+        return transitions != null ? matchesDeterministic(input) : matchesNondeterministic(input);
+    }
+
+    /**
+     * @return true if the pattern is matched with deterministic automaton
+     */
+    boolean isDeterministic() {
+        return transitions != null;
+    }
+
+    private boolean matchesDeterministic(CharSequence input) {
+        int state = 0;
+        int length = input.length();
+        for (int i = 0; i < length; i++) {
+            int codePoint = input.charAt(i);
+            if (Character.isHighSurrogate((char) codePoint) && i + 1 < length && Character.isLowSurrogate(input.charAt(i + 1))) {
+                codePoint = Character.toCodePoint((char) codePoint, input.charAt(++i));
+            }
+            state = transitions[state * classCount + classOf(codePoint)];
+            if (state < 0) {
+                return false;
+            }
+        }
+        return accepting[state];
+    }
+
+    private boolean matchesNondeterministic(CharSequence input) {
+        NfaBuffers buffers = this.buffers.get();
+        int[] current = buffers.current;
+        int[] next = buffers.next;
+        buffers.nextGeneration();
+        int currentSize = nfa.addClosure(nfa.start, current, 0, buffers);
+
+        int length = input.length();
+        for (int i = 0; i < length && currentSize > 0; i++) {
+            int codePoint = input.charAt(i);
+            if (Character.isHighSurrogate((char) codePoint) && i + 1 < length && Character.isLowSurrogate(input.charAt(i + 1))) {
+                codePoint = Character.toCodePoint((char) codePoint, input.charAt(++i));
+            }
+            int characterClass = classOf(codePoint);
+            buffers.nextGeneration();
+            int nextSize = 0;
+            for (int j = 0; j < currentSize; j++) {
+                int state = current[j];
+                if (nfa.accepts(state, characterClass)) {
+                    nextSize = nfa.addClosure(nfa.out[state], next, nextSize, buffers);
+                }
+            }
+            int[] swap = current;
+            current = next;
+            next = swap;
+            currentSize = nextSize;
+        }
+
+        for (int j = 0; j < currentSize; j++) {
+            if (nfa.type[current[j]] == MATCH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int classOf(int codePoint) {
+        return codePoint < asciiClasses.length ? asciiClasses[codePoint] : searchClass(codePoint);
+    }
+
+    private int searchClass(int codePoint) {
+        int index = Arrays.binarySearch(boundaries, codePoint);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public String toString() {
+        return regex;
+    }
+
+    /**
+     * Nondeterministic automaton, whose states are either {@link #CHARACTER} states consuming one character
+     * of a set, {@link #SPLIT} states leading to up to two other states without consuming anything, or
+     * the {@link #MATCH} state.
+     */
+    private static final class Nfa {
+        private final String regex;
+        private final List<int[]> characterSets = new ArrayList<>();
+        private int[] type = new int[16];
+        private int[] out = new int[16];
+        private int[] alternativeOut = new int[16];
+        private int[] characterSet = new int[16];
+        private long[][] classMembership;
+        private int size;
+        private int start;
+
+        private Nfa(String regex) {
+            this.regex = regex;
+        }
+
+        private int add(int stateType, int stateOut, int stateAlternativeOut, int stateCharacterSet) {
+            if (size == MAX_NFA_STATES) {
+                throw new UnsupportedPatternException(regex, "Automaton larger than " + MAX_NFA_STATES + " states");
+            }
+            if (size == type.length) {
+                type = Arrays.copyOf(type, size * 2);
+                out = Arrays.copyOf(out, size * 2);
+                alternativeOut = Arrays.copyOf(alternativeOut, size * 2);
+                characterSet = Arrays.copyOf(characterSet, size * 2);
+            }
+            type[size] = stateType;
+            out[size] = stateOut;
+            alternativeOut[size] = stateAlternativeOut;
+            characterSet[size] = stateCharacterSet;
+            return size++;
+        }
+
+        /**
+         * Builds states of given node, which continue to given next state.
+         *
+         * @return entry state of the node
+         */
+        private int build(Node node, int next) {
+            if (node instanceof CharacterSetNode) {
+                int index = ((CharacterSetNode) node).index;
+                if (index < 0) {
+                    index = characterSets.size();
+                    characterSets.add(((CharacterSetNode) node).ranges);
+                    ((CharacterSetNode) node).index = index;
+                }
+                return add(CHARACTER, next, -1, index);
+            }
+            if (node instanceof SequenceNode) {
+                List<Node> nodes = ((SequenceNode) node).nodes;
+                for (int i = nodes.size() - 1; i >= 0; i--) {
+                    next = build(nodes.get(i), next);
+                }
+                return next;
+            }
+            if (node instanceof AlternationNode) {
+                List<Node> nodes = ((AlternationNode) node).nodes;
+                int entry = build(nodes.get(nodes.size() - 1), next);
+                for (int i = nodes.size() - 2; i >= 0; i--) {
+                    entry = add(SPLIT, build(nodes.get(i), next), entry, -1);
+                }
+                return entry;
+            }
+            RepetitionNode repetition = (RepetitionNode) node;
+            int entry = next;
+            if (repetition.max < 0) {
+                entry = add(SPLIT, -1, next, -1);
+                int body = build(repetition.node, entry);
+                out[entry] = body;
+            }
+            else {
+                for (int i = repetition.min; i < repetition.max; i++) {
+                    entry = add(SPLIT, build(repetition.node, entry), next, -1);
+                }
+            }
+            for (int i = 0; i < repetition.min; i++) {
+                entry = build(repetition.node, entry);
+            }
+            return entry;
+        }
+
+        /**
+         * @return sorted starts of character classes, which are ranges of characters indistinguishable by the pattern
+         */
+        private int[] getBoundaries() {
+            TreeSet<Integer> boundaries = new TreeSet<>();
+            boundaries.add(0);
+            for (int[] ranges : characterSets) {
+                for (int i = 0; i < ranges.length; i += 2) {
+                    boundaries.add(ranges[i]);
+                    if (ranges[i + 1] < MAX_CODE_POINT) {
+                        boundaries.add(ranges[i + 1] + 1);
+                    }
+                }
+            }
+            return boundaries.stream()
+                             .mapToInt(Integer::intValue)
+                             .toArray();
+        }
+
+        private void computeClassMembership(int[] boundaries) {
+            classMembership = new long[characterSets.size()][];
+            for (int set = 0; set < classMembership.length; set++) {
+                int[] ranges = characterSets.get(set);
+                long[] members = new long[(boundaries.length + 63) / 64];
+                for (int characterClass = 0; characterClass < boundaries.length; characterClass++) {
+                    if (contains(ranges, boundaries[characterClass])) {
+                        members[characterClass >>> 6] |= 1L << characterClass;
+                    }
+                }
+                classMembership[set] = members;
+            }
+        }
+
+        private boolean accepts(int state, int characterClass) {
+            return type[state] == CHARACTER && (classMembership[characterSet[state]][characterClass >>> 6] & 1L << characterClass) != 0;
+        }
+
+        /**
+         * Adds character and match states reachable from given state without consuming anything.
+         *
+         * @return new size of states
+         */
+        private int addClosure(int state, int[] states, int size, NfaBuffers buffers) {
+            int[] stack = buffers.stack;
+            int top = 0;
+            stack[top++] = state;
+            while (top > 0) {
+                int current = stack[--top];
+                if (!buffers.mark(current)) {
+                    continue;
+                }
+                if (type[current] == SPLIT) {
+                    if (alternativeOut[current] >= 0) {
+                        stack[top++] = alternativeOut[current];
+                    }
+                    stack[top++] = out[current];
+                }
+                else {
+                    states[size++] = current;
+                }
+            }
+            return size;
+        }
+
+        private static boolean contains(int[] ranges, int codePoint) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (codePoint < ranges[i]) {
+                    return false;
+                }
+                if (codePoint <= ranges[i + 1]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Per thread buffers of nondeterministic automaton simulation.
+     */
+    private static final class NfaBuffers {
+        private final int[] current;
+        private final int[] next;
+        private final int[] stack;
+        private final int[] marks;
+        private int generation = 1;
+
+        private NfaBuffers(int size) {
+            this.current = new int[size];
+            this.next = new int[size];
+            this.stack = new int[size * 2];
+            this.marks = new int[size];
+        }
+
+        private void nextGeneration() {
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        private boolean mark(int state) {
+            if (marks[state] == generation) {
+                return false;
+            }
+            marks[state] = generation;
+            return true;
+        }
+    }
+
+    /**
+     * Deterministic automaton built by subset construction, state 0 is the start state.
+     */
+    private static final class Dfa {
+        private final int[] transitions;
+        private final boolean[] accepting;
+
+        private Dfa(int[] transitions, boolean[] accepting) {
+            this.transitions = transitions;
+            this.accepting = accepting;
+        }
+
+        /**
+         * @return deterministic automaton or null if it would exceed {@link #MAX_DFA_STATES} states
+         * or {@link #MAX_DFA_TRANSITIONS} transitions
+         */
+        private static Dfa build(Nfa nfa, int classCount) {
+            NfaBuffers buffers = new NfaBuffers(nfa.size);
+            Map<StateSet, Integer> indexes = new HashMap<>();
+            List<StateSet> states = new ArrayList<>();
+            Deque<Integer> pending = new ArrayDeque<>();
+
+            StateSet start = new StateSet(buffers.current, nfa.addClosure(nfa.start, buffers.current, 0, buffers));
+            indexes.put(start, 0);
+            states.add(start);
+            pending.add(0);
+
+            int[] transitions = new int[classCount * 16];
+            while (!pending.isEmpty()) {
+                int index = pending.poll();
+                int[] nfaStates = states.get(index).states;
+                for (int characterClass = 0; characterClass < classCount; characterClass++) {
+                    buffers.nextGeneration();
+                    int size = 0;
+                    for (int state : nfaStates) {
+                        if (nfa.accepts(state, characterClass)) {
+                            size = nfa.addClosure(nfa.out[state], buffers.next, size, buffers);
+                        }
+                    }
+
+                    int target = -1;
+                    if (size > 0) {
+                        StateSet next = new StateSet(buffers.next, size);
+                        Integer existing = indexes.get(next);
+                        if (existing == null) {
+                            if (states.size() == MAX_DFA_STATES || (states.size() + 1) * classCount > MAX_DFA_TRANSITIONS) {
+                                return null;
+                            }
+                            existing = states.size();
+                            indexes.put(next, existing);
+                            states.add(next);
+                            pending.add(existing);
+                        }
+                        target = existing;
+                    }
+
+                    int position = index * classCount + characterClass;
+                    if (position >= transitions.length) {
+                        transitions = Arrays.copyOf(transitions, Math.max(position + 1, transitions.length * 2));
+                    }
+                    transitions[position] = target;
+                }
+            }
+
+            boolean[] accepting = new boolean[states.size()];
+            for (int index = 0; index < accepting.length; index++) {
+                for (int state : states.get(index).states) {
+                    accepting[index] |= nfa.type[state] == MATCH;
+                }
+            }
+            return new Dfa(Arrays.copyOf(transitions, states.size() * classCount), accepting);
+        }
+    }
+
+    /**
+     * Sorted set of nondeterministic automaton states, which is a state of deterministic automaton.
+     */
+    private static final class StateSet {
+        private final int[] states;
+        private final int hash;
+
+        private StateSet(int[] states, int size) {
+            this.states = Arrays.copyOf(states, size);
+            Arrays.sort(this.states);
+            this.hash = Arrays.hashCode(this.states);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof StateSet && Arrays.equals(states, ((StateSet) other).states);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private abstract static class Node {
+    }
+
+    private static final class CharacterSetNode extends Node {
+        private final int[] ranges;
+        private int index = -1;
+
+        private CharacterSetNode(int[] ranges) {
+            this.ranges = ranges;
+        }
+    }
+
+    private static final class SequenceNode extends Node {
+        private final List<Node> nodes;
+
+        private SequenceNode(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+    }
+
+    private static final class AlternationNode extends Node {
+        private final List<Node> nodes;
+
+        private AlternationNode(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+    }
+
+    private static final class RepetitionNode extends Node {
+        private final Node node;
+        private final int min;
+        private final int max;
+
+        private RepetitionNode(Node node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    /**
+     * Recursive descent parser of already validated regular expression.
+     */
+    private static final class Parser {
+        private final String regex;
+        private int position;
+        private int depth;
+
+        private Parser(String regex) {
+            this.regex = regex;
+        }
+
+        private Node parse() {
+            Node node = parseAlternation();
+            if (position < regex.length()) {
+                throw unsupported("Unbalanced ')'");
+            }
+            return node;
+        }
+
+        private Node parseAlternation() {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(parseSequence());
+            while (position < regex.length() && regex.charAt(position) == '|') {
+                position++;
+                nodes.add(parseSequence());
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new AlternationNode(nodes);
+        }
+
+        private Node parseSequence() {
+            List<Node> nodes = new ArrayList<>();
+            while (position < regex.length() && regex.charAt(position) != '|' && regex.charAt(position) != ')') {
+                Node node = parseAtom();
+                if (node != null) {
+                    nodes.add(parseQuantifier(node));
+                }
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new SequenceNode(nodes);
+        }
+
+        /**
+         * @return parsed atom or null for anchor, which always holds where it is allowed
+         */
+        private Node parseAtom() {
+            int codePoint = regex.codePointAt(position);
+            position += Character.charCount(codePoint);
+            switch (codePoint) {
+                case '^':
+                    if (position != 1) {
+                        throw unsupported("'^' not at the start of pattern");
+                    }
+                    return null;
+                case '$':
+                    if (position != regex.length() || depth > 0) {
+                        throw unsupported("'$' not at the end of pattern");
+                    }
+                    return null;
+                case '(':
+                    if (regex.startsWith("?", position)) {
+                        if (!regex.startsWith("?:", position)) {
+                            throw unsupported("Group construct '(?'");
+                        }
+                        position += 2;
+                    }
+                    depth++;
+                    Node group = parseAlternation();
+                    if (position >= regex.length()) {
+                        throw unsupported("Unclosed group");
+                    }
+                    position++;
+                    depth--;
+                    return group;
+                case '[':
+                    return new CharacterSetNode(parseClass());
+                case '.':
+                    return new CharacterSetNode(ANY_BUT_LINE_TERMINATORS);
+                case '\\':
+                    return new CharacterSetNode(parseEscape());
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw unsupported("Dangling '" + (char) codePoint + "'");
+                default:
+                    return new CharacterSetNode(new int[]{codePoint, codePoint});
+            }
+        }
+
+        private Node parseQuantifier(Node node) {
+            if (position >= regex.length()) {
+                return node;
+            }
+            int min;
+            int max;
+            switch (regex.charAt(position)) {
+                case '*':
+                    min = 0;
+                    max = -1;
+                    break;
+                case '+':
+                    min = 1;
+                    max = -1;
+                    break;
+                case '?':
+                    min = 0;
+                    max = 1;
+                    break;
+                case '{':
+                    int close = regex.indexOf('}', position);
+                    if (close < 0) {
+                        throw unsupported("Unclosed counted repetition");
+                    }
+                    String bounds = regex.substring(position + 1, close);
+                    int comma = bounds.indexOf(',');
+                    try {
+                        min = Integer.parseInt(comma < 0 ? bounds : bounds.substring(0, comma));
+                        max = comma < 0 ? min : comma == bounds.length() - 1 ? -1 : Integer.parseInt(bounds.substring(comma + 1));
+                    } catch (NumberFormatException e) {
+                        throw unsupported("Counted repetition '{" + bounds + "}'");
+                    }
+                    if (min < 0 || max >= 0 && max < min) {
+                        throw unsupported("Counted repetition '{" + bounds + "}'");
+                    }
+                    position = close;
+                    break;
+                default:
+                    return node;
+            }
+            position++;
+            if (position < regex.length()) {
+                if (regex.charAt(position) == '+') {
+                    throw unsupported("Possessive quantifier");
+                }
+                if (regex.charAt(position) == '?') {
+                    position++;
+                }
+            }
+            return new RepetitionNode(node, min, max);
+        }
+
+        private int[] parseClass() {
+            boolean negated = regex.startsWith("^", position);
+            if (negated) {
+                position++;
+            }
+            List<int[]> ranges = new ArrayList<>();
+            boolean first = true;
+            while (true) {
+                if (position >= regex.length()) {
+                    throw unsupported("Unclosed character class");
+                }
+                int codePoint = regex.codePointAt(position);
+                if (codePoint == ']' && !first) {
+                    position++;
+                    break;
+                }
+                if (codePoint == '[' || codePoint == ']' || codePoint == '&' && regex.startsWith("&&", position)) {
+                    throw unsupported("Nested character class, intersection or ']' at the start of class");
+                }
+                int[] element = parseClassElement();
+                if (isSingle(element) && regex.startsWith("-", position) && position + 1 < regex.length()
+                        && regex.charAt(position + 1) != ']') {
+                    position++;
+                    if (regex.charAt(position) == '[') {
+                        throw unsupported("Nested character class");
+                    }
+                    int[] end = parseClassElement();
+                    if (!isSingle(end) || end[0] < element[0]) {
+                        throw unsupported("Character range");
+                    }
+                    element = new int[]{element[0], end[0]};
+                }
+                ranges.add(element);
+                first = false;
+            }
+            int[] union = union(ranges);
+            return negated ? complement(union) : union;
+        }
+
+        private int[] parseClassElement() {
+            int codePoint = regex.codePointAt(position);
+            position += Character.charCount(codePoint);
+            return codePoint == '\\' ? parseEscape() : new int[]{codePoint, codePoint};
+        }
+
+        private int[] parseEscape() {
+            if (position >= regex.length()) {
+                throw unsupported("Trailing '\\'");
+            }
+            int codePoint = regex.codePointAt(position);
+            position += Character.charCount(codePoint);
+            switch (codePoint) {
+                case 'd':
+                    return DIGITS;
+                case 'D':
+                    return complement(DIGITS);
+                case 'w':
+                    return WORD_CHARACTERS;
+                case 'W':
+                    return complement(WORD_CHARACTERS);
+                case 's':
+                    return WHITESPACES;
+                case 'S':
+                    return complement(WHITESPACES);
+                case 't':
+                    return single('\t');
+                case 'n':
+                    return single('\n');
+                case 'r':
+                    return single('\r');
+                case 'f':
+                    return single('\f');
+                case 'a':
+                    return single('\u0007');
+                case 'e':
+                    return single('\u001B');
+                case 'x':
+                    if (regex.startsWith("{", position)) {
+                        int close = regex.indexOf('}', position);
+                        int value = parseHex(position + 1, close);
+                        position = close + 1;
+                        return single(value);
+                    }
+                    position += 2;
+                    return single(parseHex(position - 2, position));
+                case 'u':
+                    position += 4;
+                    return single(parseHex(position - 4, position));
+                default:
+                    if (Character.isLetterOrDigit(codePoint)) {
+                        throw unsupported("Escape '\\" + new String(Character.toChars(codePoint)) + "'");
+                    }
+                    return single(codePoint);
+            }
+        }
+
+        private int parseHex(int start, int end) {
+            try {
+                return Integer.parseInt(regex.substring(start, end), 16);
+            } catch (RuntimeException e) {
+                throw unsupported("Hexadecimal escape");
+            }
+        }
+
+        private UnsupportedPatternException unsupported(String construct) {
+            return new UnsupportedPatternException(regex, construct);
+        }
+
+        private static int[] single(int codePoint) {
+            return new int[]{codePoint, codePoint};
+        }
+
+        private static boolean isSingle(int[] ranges) {
+            return ranges.length == 2 && ranges[0] == ranges[1];
+        }
+
+        /**
+         * @return sorted, disjoint ranges covering all given ranges
+         */
+        private static int[] union(List<int[]> ranges) {
+            List<int[]> pairs = new ArrayList<>();
+            for (int[] element : ranges) {
+                for (int i = 0; i < element.length; i += 2) {
+                    pairs.add(new int[]{element[i], element[i + 1]});
+                }
+            }
+            pairs.sort((left, right) -> Integer.compare(left[0], right[0]));
+
+            int[] union = new int[pairs.size() * 2];
+            int size = 0;
+            for (int[] pair : pairs) {
+                if (size > 0 && pair[0] <= union[size - 1] + 1) {
+                    union[size - 1] = Math.max(union[size - 1], pair[1]);
+                }
+                else {
+                    union[size++] = pair[0];
+                    union[size++] = pair[1];
+                }
+            }
+            return Arrays.copyOf(union, size);
+        }
+
+        /**
+         * @return sorted, disjoint ranges of all code points not in given sorted, disjoint ranges
+         */
+        private static int[] complement(int[] ranges) {
+            int[] complement = new int[ranges.length + 2];
+            int size = 0;
+            int start = 0;
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (ranges[i] > start) {
+                    complement[size++] = start;
+                    complement[size++] = ranges[i] - 1;
+                }
+                start = ranges[i + 1] + 1;
+            }
+            if (start <= MAX_CODE_POINT) {
+                complement[size++] = start;
+                complement[size++] = MAX_CODE_POINT;
+            }
+            return Arrays.copyOf(complement, size);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package validator.utils;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Bounded, thread-safe cache of compiled regular expressions, so that a pattern used by many constraints
+ * is compiled once. Least recently used patterns are evicted when the cache is full.
+ * <p>
+ * Each thread reuses {@link Matcher}s of the last {@value #MATCHERS_PER_THREAD} patterns it matched, looked up by pattern
+ * identity, so matching does not allocate a new one, while matchers of evicted patterns are not kept for long.
+ * Patterns of user-supplied values can be matched by {@link PatternEngine#LINEAR} engine instead,
+ * which never backtracks.
+ */
+
+public final class PatternCache {
+
+    /**
+     * Default maximum number of cached patterns.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private static final int MATCHERS_PER_THREAD = 16;
+    private static final ThreadLocal<Matcher[]> matchers = ThreadLocal.withInitial(() -> new Matcher[MATCHERS_PER_THREAD]);
+
+    private static volatile LoadingCache<PatternKey, CompiledPattern> patterns = createCache(DEFAULT_MAXIMUM_SIZE);
+
+    private PatternCache() {
+    }
+
+    /**
+     * @param regex regular expression
+     *
+     * @return compiled pattern matched by {@link PatternEngine#JDK} engine
+     * @throws PatternSyntaxException if regular expression is invalid
+     */
+    public static CompiledPattern getPattern(String regex) {
+        return getPattern(regex, PatternEngine.JDK);
+    }
+
+    /**
+     * @param regex  regular expression
+     * @param engine engine matching the pattern
+     *
+     * @return compiled pattern
+     * @throws PatternSyntaxException      if regular expression is invalid
+     * @throws UnsupportedPatternException if regular expression is not supported by {@link PatternEngine#LINEAR} engine
+     */
+    public static CompiledPattern getPattern(String regex, PatternEngine engine) {
+        try {
+            return patterns.getUnchecked(new PatternKey(regex, engine));
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the cache with an empty one of given maximum size and resets its statistics.
+     */
+    public static void setMaximumSize(long maximumSize) {
+        patterns = createCache(maximumSize);
+    }
+
+    /**
+     * @return number of lookups answered without compiling the pattern
+     */
+    public static long getHitCount() {
+        return patterns.stats()
+                       .hitCount();
+    }
+
+    /**
+     * @return number of lookups that had to compile the pattern
+     */
+    public static long getMissCount() {
+        return patterns.stats()
+                       .missCount();
+    }
+
+    /**
+     * @return ratio of lookups answered without compiling the pattern, 1.0 if there were no lookups
+     */
+    public static double getHitRate() {
+        return patterns.stats()
+                       .hitRate();
+    }
+
+    /**
+     * @return number of patterns evicted because the cache was full
+     */
+    public static long getEvictionCount() {
+        return patterns.stats()
+                       .evictionCount();
+    }
+
+    /**
+     * @return number of cached patterns
+     */
+    public static long size() {
+        return patterns.size();
+    }
+
+    /**
+     * Removes all cached patterns. Patterns already held by constraints stay usable.
+     */
+    public static void clear() {
+        patterns.invalidateAll();
+    }
+
+    private static LoadingCache<PatternKey, CompiledPattern> createCache(long maximumSize) {
+        return CacheBuilder.newBuilder()
+                           .maximumSize(maximumSize)
+                           .recordStats()
+                           .build(CacheLoader.from(CompiledPattern::new));
+    }
+
+    private static final class PatternKey {
+        private final String regex;
+        private final PatternEngine engine;
+
+        private PatternKey(String regex, PatternEngine engine) {
+            this.regex = Objects.requireNonNull(regex);
+            this.engine = Objects.requireNonNull(engine);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PatternKey && regex.equals(((PatternKey) other).regex) && engine == ((PatternKey) other).engine;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * regex.hashCode() + engine.hashCode();
+        }
+    }
+
+    /**
+     * Compiled regular expression matched with a {@link Matcher} reused by the thread,
+     * or with a {@link LinearPattern} if it is matched by {@link PatternEngine#LINEAR} engine.
+     */
+    public static final class CompiledPattern {
+        private final Pattern pattern;
+        private final PatternEngine engine;
+        private final LinearPattern linearPattern;
+
+        private CompiledPattern(PatternKey key) {
+            this.pattern = Pattern.compile(key.regex);
+            this.engine = key.engine;
+            this.linearPattern = compileLinearPattern(key.regex, key.engine);
+        }
+
+        private static LinearPattern compileLinearPattern(String regex, PatternEngine engine) {
+            switch (engine) {
+                case LINEAR:
+                    return LinearPattern.compile(regex);
+                case LINEAR_OR_JDK:
+                    try {
+                        return LinearPattern.compile(regex);
+                    } catch (UnsupportedPatternException e) {
+                        return null;
+                    }
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * @return true if the entire input matches the pattern
+         * @see String#matches(String)
+         */
+        public boolean matches(CharSequence input) {
+            if (linearPattern != null) {
+                return linearPattern.matches(input);
+            }
+            Matcher matcher = getMatcher();
+            try {
+                return matcher.reset(input)
+                              .matches();
+            } finally {
+                matcher.reset("");
+            }
+        }
+
+        /**
+         * @return matcher of this pattern cached by current thread, replacing matcher of another pattern in its slot
+         */
+        private Matcher getMatcher() {
+            Matcher[] threadMatchers = matchers.get();
+            int slot = System.identityHashCode(pattern) & (MATCHERS_PER_THREAD - 1);
+            Matcher matcher = threadMatchers[slot];
+            if (matcher == null || matcher.pattern() != pattern) {
+                matcher = pattern.matcher("");
+                threadMatchers[slot] = matcher;
+            }
+            return matcher;
+        }
+
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        /**
+         * @return true if the pattern is matched in linear time, without backtracking
+         */
+        public boolean isLinear() {
+            return linearPattern != null;
+        }
+
+        /**
+         * @return engine this pattern was requested with
+         */
+        public PatternEngine getEngine() {
+            return engine;
+        }
+
+        /**
+         * Patterns are equal if they have the same regular expression and were requested with the same engine,
+         * as engines differ in time they take to match.
+         */
+        @Override
+        public boolean equals(Object other) {
+            return this == other || other instanceof CompiledPattern && pattern.pattern()
+                                                                               .equals(((CompiledPattern) other).pattern.pattern())
+                    && engine == ((CompiledPattern) other).engine;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * pattern.pattern()
+                               .hashCode() + engine.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return pattern.pattern();
+        }
+    }
+}
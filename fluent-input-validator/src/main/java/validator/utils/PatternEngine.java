@@ -0,0 +1,25 @@
+package validator.utils;
+
+/**
+ * Engine matching patterns of {@link PatternCache.CompiledPattern}.
+ */
+
+public enum PatternEngine {
+
+    /**
+     * {@link java.util.regex.Pattern}, which supports the whole syntax, but may backtrack exponentially on hostile input.
+     */
+    JDK,
+
+    /**
+     * Automaton matching in time linear to the length of the input. Patterns using constructs
+     * that are not regular, such as backreferences or lookarounds, are rejected with
+     * {@link UnsupportedPatternException} when they are compiled.
+     */
+    LINEAR,
+
+    /**
+     * {@link #LINEAR} engine for patterns it supports, {@link #JDK} engine for the others.
+     */
+    LINEAR_OR_JDK
+}
@@ -0,0 +1,182 @@
+package validator.utils;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches property names resolved with configured {@link PropertyNameResolver}, so that a name is resolved
+ * only once per getter call site instead of once per validation.
+ * <p>
+ * Names are keyed by base object class and the class of the getter's lambda. A lambda class corresponds
+ * to a single call site, so getters that choose between properties at runtime are not supported.
+ * <p>
+ * Each resolver has its own map of names, replaced together with the resolver, so a lookup that is in progress
+ * while the resolver is replaced cannot cache a name resolved by the previous one.
+ */
+
+public final class PropertyNameCache {
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private static volatile ResolverCache resolverCache = new ResolverCache(defaultPropertyNameResolver());
+
+    private PropertyNameCache() {
+    }
+
+    /**
+     * @param cls    class of object that getter is called on
+     * @param getter method reference of field getter
+     *
+     * @return name of property returned by the getter
+     */
+    public static <T> String getPropertyName(Class<T> cls, Function<? super T, ?> getter) {
+        return getPropertyName(cls, getter, getter);
+    }
+
+    /**
+     * Variation for getters that are not {@link Function}s, e.g. {@link java.util.function.ToLongFunction}.
+     *
+     * @param cls        class of object that getter is called on
+     * @param getter     method reference of field getter, used as the cache key
+     * @param invocation function calling the getter
+     *
+     * @return name of property returned by the getter
+     */
+    public static <T> String getPropertyName(Class<T> cls, Object getter, Function<? super T, ?> invocation) {
+        String propertyName = getCachedPropertyName(cls, getter);
+        return nonNull(propertyName) ? propertyName : cachePropertyName(cls, getter, invocation);
+    }
+
+    /**
+     * {@link #getPropertyName(Class, Function)} variation for {@code int} getters, adapted to a {@link Function}
+     * only when the name is not cached.
+     */
+    public static <T> String getPropertyName(Class<T> cls, ToIntFunction<? super T> getter) {
+        String propertyName = getCachedPropertyName(cls, getter);
+        return nonNull(propertyName) ? propertyName : cachePropertyName(cls, getter, getter::applyAsInt);
+    }
+
+    /**
+     * {@link #getPropertyName(Class, Function)} variation for {@code long} getters, adapted to a {@link Function}
+     * only when the name is not cached.
+     */
+    public static <T> String getPropertyName(Class<T> cls, ToLongFunction<? super T> getter) {
+        String propertyName = getCachedPropertyName(cls, getter);
+        return nonNull(propertyName) ? propertyName : cachePropertyName(cls, getter, getter::applyAsLong);
+    }
+
+    /**
+     * {@link #getPropertyName(Class, Function)} variation for {@code double} getters, adapted to a {@link Function}
+     * only when the name is not cached.
+     */
+    public static <T> String getPropertyName(Class<T> cls, ToDoubleFunction<? super T> getter) {
+        String propertyName = getCachedPropertyName(cls, getter);
+        return nonNull(propertyName) ? propertyName : cachePropertyName(cls, getter, getter::applyAsDouble);
+    }
+
+    /**
+     * Resolves the name with configured {@link PropertyNameResolver} without caching it, for getters that are not
+     * method references of a single call site, such as reflective calls of warm-up.
+     *
+     * @param cls    class of object that getter is called on
+     * @param getter function calling field getter
+     *
+     * @return name of property returned by the getter
+     */
+    public static <T> String resolvePropertyName(Class<T> cls, Function<? super T, ?> getter) {
+        return resolvePropertyName(resolverCache.resolver, cls, getter, getter);
+    }
+
+    /**
+     * Replaces strategy of resolving property names and removes all cached names.
+     */
+    public static void setPropertyNameResolver(PropertyNameResolver resolver) {
+        resolverCache = new ResolverCache(requireNonNull(resolver));
+    }
+
+    /**
+     * @return resolver that reads names of serializable method references and falls back to recording proxies
+     */
+    public static PropertyNameResolver defaultPropertyNameResolver() {
+        return new SerializedLambdaPropertyNameResolver().orElse(new RecordingPropertyNameResolver());
+    }
+
+    /**
+     * @return number of lookups answered without resolving the name
+     */
+    public static long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that had to resolve the name
+     */
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of cached property names
+     */
+    public static int size() {
+        return resolverCache.propertyNames.size();
+    }
+
+    /**
+     * Removes all cached names and resets counters.
+     */
+    public static void clear() {
+        resolverCache.propertyNames.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    private static String getCachedPropertyName(Class<?> cls, Object getter) {
+        String propertyName = resolverCache.propertyNames.get(Pair.of(cls, getter.getClass()));
+        if (nonNull(propertyName)) {
+            hits.increment();
+        }
+        return propertyName;
+    }
+
+    private static <T> String cachePropertyName(Class<T> cls, Object getter, Function<? super T, ?> invocation) {
+        misses.increment();
+        ResolverCache cache = resolverCache;
+        String propertyName = resolvePropertyName(cache.resolver, cls, getter, invocation);
+        String previousPropertyName = cache.propertyNames.putIfAbsent(Pair.of(cls, getter.getClass()), propertyName);
+        return nonNull(previousPropertyName) ? previousPropertyName : propertyName;
+    }
+
+    private static <T> String resolvePropertyName(PropertyNameResolver resolver, Class<T> cls, Object getter,
+                                                  Function<? super T, ?> invocation) {
+        String propertyName = resolver.getPropertyName(cls, getter, invocation);
+        if (isNull(propertyName)) {
+            throw new IllegalArgumentException("Cannot resolve property name of getter " + getter);
+        }
+        return propertyName;
+    }
+
+    /**
+     * Resolver and names resolved by it.
+     */
+    private static final class ResolverCache {
+        private final PropertyNameResolver resolver;
+        private final ConcurrentMap<Pair<Class<?>, Class<?>>, String> propertyNames = new ConcurrentHashMap<>();
+
+        private ResolverCache(PropertyNameResolver resolver) {
+            this.resolver = resolver;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package validator.utils;
+
+import java.util.function.Function;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Strategy of resolving names of properties returned by getter method references.
+ *
+ * @see PropertyNameCache#setPropertyNameResolver(PropertyNameResolver)
+ */
+
+public interface PropertyNameResolver {
+
+    /**
+     * @param cls    class of object that getter is called on
+     * @param getter method reference of field getter
+     *
+     * @return name of property returned by the getter or null if it cannot be resolved with this strategy
+     */
+    <T> String getPropertyName(Class<T> cls, Function<? super T, ?> getter);
+
+    /**
+     * Variation for getters that are not {@link Function}s, e.g. {@link java.util.function.ToLongFunction}.
+     * By default resolves the name of the invocation.
+     *
+     * @param cls        class of object that getter is called on
+     * @param getter     method reference of field getter
+     * @param invocation function calling the getter
+     *
+     * @return name of property returned by the getter or null if it cannot be resolved with this strategy
+     */
+    default <T> String getPropertyName(Class<T> cls, Object getter, Function<? super T, ?> invocation) {
+        return getPropertyName(cls, invocation);
+    }
+
+    /**
+     * @return resolver that uses given resolver if this one cannot resolve a name
+     */
+    default PropertyNameResolver orElse(PropertyNameResolver fallback) {
+        PropertyNameResolver primary = this;
+        return new PropertyNameResolver() {
+            @Override
+            public <T> String getPropertyName(Class<T> cls, Function<? super T, ?> getter) {
+                String propertyName = primary.getPropertyName(cls, getter);
+                return nonNull(propertyName) ? propertyName : fallback.getPropertyName(cls, getter);
+            }
+
+            @Override
+            public <T> String getPropertyName(Class<T> cls, Object getter, Function<? super T, ?> invocation) {
+                String propertyName = primary.getPropertyName(cls, getter, invocation);
+                return nonNull(propertyName) ? propertyName : fallback.getPropertyName(cls, getter, invocation);
+            }
+        };
+    }
+}
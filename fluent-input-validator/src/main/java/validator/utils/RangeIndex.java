@@ -0,0 +1,222 @@
+package validator.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Immutable set of inclusive ranges of {@code long} values, such as card BIN ranges or IP address blocks.
+ * Ranges are kept sorted and disjoint in a single buffer of their bounds, so a lookup is a binary search
+ * without any objects per range.
+ * <p>
+ * Indexes are built with {@link #builder()}, loaded from text files with {@link #load(Path)}, or mapped
+ * from binary files written by {@link #write(Path)} with {@link #map(Path)}, in which case ranges are searched
+ * in the mapped file and do not occupy heap. Indexes used by constraints can be replaced while validations
+ * are running through an {@link java.util.concurrent.atomic.AtomicReference}.
+ *
+ * @see validator.ValidationConstraints#isInAnyRange(RangeIndex)
+ */
+
+public final class RangeIndex {
+
+    /**
+     * Size in bytes of a range in binary files, which are big-endian pairs of inclusive bounds.
+     */
+    public static final int RANGE_BYTES = 2 * Long.BYTES;
+
+    private final LongBuffer bounds;
+    private final int size;
+
+    private RangeIndex(LongBuffer bounds) {
+        this.bounds = bounds;
+        this.size = bounds.limit() / 2;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Loads ranges from a text file, with a range per line written as inclusive bounds separated by a comma,
+     * or as a single value. Empty lines and lines starting with {@code #} are skipped. Ranges may be
+     * unsorted and overlapping.
+     *
+     * @throws IllegalArgumentException if a line is not a range
+     */
+    public static RangeIndex load(Path path) throws IOException {
+        Builder builder = builder();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                try {
+                    long start = Long.parseLong(comma < 0 ? line : line.substring(0, comma)
+                                                                       .trim());
+                    long end = comma < 0 ? start : Long.parseLong(line.substring(comma + 1)
+                                                                      .trim());
+                    builder.add(start, end);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(path + ":" + lineNumber + " is not a range: " + line, e);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Maps a binary file written by {@link #write(Path)} into memory. The file is only read while it is checked,
+     * so indexes of millions of ranges are available without parsing them.
+     * <p>
+     * A mapped file must never be modified in place, as lookups read it directly and a truncated file crashes them.
+     * Replace it with {@link #write(Path)}, which moves a new file in its place, and map it again.
+     *
+     * @throws IllegalArgumentException if the file does not hold sorted, disjoint ranges
+     */
+    public static RangeIndex map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length % RANGE_BYTES != 0 || length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(path + " is not a range index file");
+            }
+            LongBuffer bounds = channel.map(FileChannel.MapMode.READ_ONLY, 0, length)
+                                       .asLongBuffer();
+            for (int i = 0; i < bounds.limit(); i += 2) {
+                if (bounds.get(i) > bounds.get(i + 1) || i > 0 && bounds.get(i - 1) >= bounds.get(i)) {
+                    throw new IllegalArgumentException(path + " does not hold sorted, disjoint ranges at range " + i / 2);
+                }
+            }
+            return new RangeIndex(bounds);
+        }
+    }
+
+    /**
+     * Writes ranges in the binary format read by {@link #map(Path)}. Ranges are written to a temporary file
+     * in the same directory, which then atomically replaces given file, so indexes mapped from the previous file
+     * keep reading it and no index maps a partially written file.
+     *
+     * @throws java.nio.file.AtomicMoveNotSupportedException if the file system cannot replace the file atomically
+     */
+    public void write(Path path) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        Path temporaryFile = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName()
+                                                                                        .toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temporaryFile);
+                 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file))) {
+                for (int i = 0; i < bounds.limit(); i++) {
+                    output.writeLong(bounds.get(i));
+                }
+            }
+            Files.move(temporaryFile, absolutePath, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * @return true if value is in one of the ranges
+     */
+    public boolean contains(long value) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = low + high >>> 1;
+            if (bounds.get(2 * middle) <= value) {
+                low = middle + 1;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+        return high >= 0 && value <= bounds.get(2 * high + 1);
+    }
+
+    /**
+     * @return number of disjoint ranges, overlapping and adjacent ranges are merged
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if ranges are searched in a mapped file
+     */
+    public boolean isMapped() {
+        return bounds.isDirect();
+    }
+
+    @Override
+    public String toString() {
+        return "RangeIndex[size=" + size + "]";
+    }
+
+    /**
+     * Collects ranges in any order, they are sorted and merged when the index is built.
+     */
+    public static final class Builder {
+        private long[] bounds = new long[32];
+        private int length;
+
+        private Builder() {
+        }
+
+        /**
+         * @param start inclusive lower bound
+         * @param end   inclusive upper bound
+         *
+         * @throws IllegalArgumentException if start is greater than end
+         */
+        public Builder add(long start, long end) {
+            if (start > end) {
+                throw new IllegalArgumentException("Range start " + start + " is greater than its end " + end);
+            }
+            if (length == bounds.length) {
+                bounds = Arrays.copyOf(bounds, length * 2);
+            }
+            bounds[length++] = start;
+            bounds[length++] = end;
+            return this;
+        }
+
+        /**
+         * Starts and ends are sorted separately, which keeps union of the ranges and needs no objects per range.
+         */
+        public RangeIndex build() {
+            int size = length / 2;
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            for (int i = 0; i < size; i++) {
+                starts[i] = bounds[2 * i];
+                ends[i] = bounds[2 * i + 1];
+            }
+            Arrays.sort(starts);
+            Arrays.sort(ends);
+
+            long[] sortedBounds = new long[length];
+            int merged = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || ends[i - 1] != Long.MAX_VALUE && starts[i] > ends[i - 1] + 1) {
+                    sortedBounds[merged++] = starts[i];
+                    merged++;
+                }
+                sortedBounds[merged - 1] = ends[i];
+            }
+            return new RangeIndex(LongBuffer.wrap(Arrays.copyOf(sortedBounds, merged)));
+        }
+    }
+}
@@ -14,7 +14,11 @@ public class Recorder<T> {
         return toPropertyName(recorder.getCurrentPropertyName());
     }
 
-    private static String toPropertyName(String getterName) {
+    static boolean isGetterName(String methodName) {
+        return methodName.matches("^get.+");
+    }
+
+    static String toPropertyName(String getterName) {
         if (!getterName.matches("^get.*")) {
             throw new IllegalArgumentException("Called a method that is not a getter " + getterName);
         }
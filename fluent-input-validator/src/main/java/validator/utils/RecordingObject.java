@@ -0,0 +1,165 @@
+package validator.utils;
+
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static java.util.Arrays.stream;
+import static java.util.Objects.isNull;
+import static java.util.Optional.ofNullable;
+import static org.springframework.cglib.proxy.Enhancer.isEnhanced;
+
+/**
+ * Records names of methods called on proxies of recorded classes.
+ * <p>
+ * Proxy class and instances are generated once per recorded class and shared by all threads. The single interceptor
+ * keeps the name of the currently recorded property per thread, so recording is thread-safe as long as a thread
+ * finishes one recording before it starts another.
+ * <p>
+ * Whether a class can be proxied is decided up front and cached, so getters returning JDK types, final classes
+ * or classes without a no-argument constructor return a default value without generating any proxy class.
+ * Proxies of other return types are generated only when a getter returning them is intercepted.
+ */
+
+public class RecordingObject implements MethodInterceptor {
+
+    private static final String UNKNOWN_PROPERTY_NAME = "unknown";
+
+    private static final RecordingObject INSTANCE = new RecordingObject();
+
+    private static final ClassValue<Boolean> proxiableClasses = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> cls) {
+            return canBeProxied(cls);
+        }
+    };
+
+    private static final ClassValue<Boolean> chainableClasses = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> cls) {
+            return !isJdkClass(cls) && proxiableClasses.get(cls);
+        }
+    };
+
+    private static final ClassValue<Object> recordedObjects = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> cls) {
+            return createProxy(cls);
+        }
+    };
+
+    private static final ClassValue<Object> chainedObjects = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> cls) {
+            return ((Factory) recordedObjects.get(cls)).newInstance(INSTANCE);
+        }
+    };
+
+    private static final ThreadLocal<Recording> currentRecording = ThreadLocal.withInitial(Recording::new);
+
+    private RecordingObject() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if a proxy of given class cannot be created
+     */
+    public static <T> Recorder<T> create(Class<? extends T> cls) {
+        if (!isProxiable(cls)) {
+            throw new IllegalArgumentException("Cannot create recording proxy of " + cls.getName());
+        }
+        Object recordedObject = recordedObjects.get(cls);
+
+        Recording recording = currentRecording.get();
+        recording.recordedObject = recordedObject;
+        recording.currentPropertyName = null;
+
+        return new Recorder<>(cls.cast(recordedObject), INSTANCE);
+    }
+
+    /**
+     * @return true if calls on given class can be recorded
+     */
+    public static boolean isProxiable(Class<?> cls) {
+        return proxiableClasses.get(cls);
+    }
+
+    /**
+     * Generates proxies of given class and chainable return types of its methods in advance,
+     * so that the first recording does not have to.
+     *
+     * @return true if calls on given class can be recorded
+     */
+    public static boolean warmUp(Class<?> cls) {
+        if (!isProxiable(cls)) {
+            return false;
+        }
+        recordedObjects.get(cls);
+        for (Method method : cls.getMethods()) {
+            Class<?> returnType = method.getReturnType();
+            if (chainableClasses.get(returnType)) {
+                chainedObjects.get(returnType);
+            }
+        }
+        return true;
+    }
+
+    public Object intercept(Object o, Method method, Object[] os, MethodProxy mp) {
+        if (method.getName()
+                  .equals("getCurrentPropertyName")) {
+            return getCurrentPropertyName();
+        }
+
+        Recording recording = currentRecording.get();
+        if (o == recording.recordedObject) {
+            recording.currentPropertyName = method.getName();
+        }
+
+        Class<?> returnType = method.getReturnType();
+        return chainableClasses.get(returnType) ? chainedObjects.get(returnType) : DefaultValues.getDefault(returnType);
+    }
+
+    public String getCurrentPropertyName() {
+        return ofNullable(currentRecording.get().currentPropertyName).orElse(UNKNOWN_PROPERTY_NAME);
+    }
+
+    private static Object createProxy(Class<?> cls) {
+        final Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(getProxiedClass(cls));
+        enhancer.setCallback(INSTANCE);
+        return enhancer.create();
+    }
+
+    private static Class<?> getProxiedClass(Class<?> cls) {
+        return isEnhanced(cls) ? cls.getSuperclass() : cls;
+    }
+
+    private static boolean canBeProxied(Class<?> cls) {
+        Class<?> proxiedClass = getProxiedClass(cls);
+        if (proxiedClass.isPrimitive() || proxiedClass.isArray() || proxiedClass.isEnum()
+                || Modifier.isFinal(proxiedClass.getModifiers())) {
+            return false;
+        }
+        if (proxiedClass.isInterface()) {
+            return true;
+        }
+        return stream(proxiedClass.getDeclaredConstructors()).anyMatch(constructor -> constructor.getParameterCount() == 0
+                && !Modifier.isPrivate(constructor.getModifiers()));
+    }
+
+    private static boolean isJdkClass(Class<?> cls) {
+        return isNull(cls.getClassLoader()) || cls.getName()
+                                                  .startsWith("java.");
+    }
+
+    /**
+     * State of recording in progress on a single thread.
+     */
+    private static final class Recording {
+        private Object recordedObject;
+        private String currentPropertyName;
+    }
+}
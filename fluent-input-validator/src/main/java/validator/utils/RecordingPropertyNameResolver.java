@@ -0,0 +1,18 @@
+package validator.utils;
+
+import java.util.function.Function;
+
+/**
+ * Resolves property names by calling getters on {@link RecordingObject} proxies.
+ * Requires base object class to be subclassable.
+ */
+
+public class RecordingPropertyNameResolver implements PropertyNameResolver {
+
+    @Override
+    public <T> String getPropertyName(Class<T> cls, Function<? super T, ?> getter) {
+        Recorder<T> recorder = RecordingObject.create(cls);
+        getter.apply(recorder.getObject());
+        return recorder.getCurrentPropertyName();
+    }
+}
@@ -0,0 +1,71 @@
+package validator.utils;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandleInfo;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Resolves property names from implementation method of serializable getter method references, without creating
+ * proxies or calling the getter, so it also works for final classes. Names are not cached,
+ * {@link PropertyNameCache} caches them per call site.
+ * <p>
+ * Lambda expressions and non-serializable method references are not resolved.
+ */
+
+public class SerializedLambdaPropertyNameResolver implements PropertyNameResolver {
+
+    @Override
+    public <T> String getPropertyName(Class<T> cls, Function<? super T, ?> getter) {
+        return getPropertyName(cls, getter, getter);
+    }
+
+    /**
+     * Resolves the name from the getter itself, as the invocation is not a method reference.
+     */
+    @Override
+    public <T> String getPropertyName(Class<T> cls, Object getter, Function<? super T, ?> invocation) {
+        if (!(getter instanceof Serializable)) {
+            return null;
+        }
+        String methodName = getImplementationMethodName(getter);
+        return nonNull(methodName) && Recorder.isGetterName(methodName) ? Recorder.toPropertyName(methodName) : null;
+    }
+
+    private static String getImplementationMethodName(Object getter) {
+        SerializedLambda methodReference = getInstanceMethodReference(getter);
+        return nonNull(methodReference) ? methodReference.getImplMethodName() : null;
+    }
+
+    /**
+     * @param getter serializable lambda
+     *
+     * @return serialized form of the getter if it refers to an instance method, null otherwise
+     */
+    public static SerializedLambda getInstanceMethodReference(Object getter) {
+        if (!(getter instanceof Serializable)) {
+            return null;
+        }
+        try {
+            Method writeReplace = getter.getClass()
+                                        .getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            Object replacement = writeReplace.invoke(getter);
+            if (!(replacement instanceof SerializedLambda)) {
+                return null;
+            }
+
+            SerializedLambda serializedLambda = (SerializedLambda) replacement;
+            int kind = serializedLambda.getImplMethodKind();
+            if (kind != MethodHandleInfo.REF_invokeVirtual && kind != MethodHandleInfo.REF_invokeInterface) {
+                return null;
+            }
+            return serializedLambda;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
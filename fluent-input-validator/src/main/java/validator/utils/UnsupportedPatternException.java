@@ -0,0 +1,19 @@
+package validator.utils;
+
+/**
+ * Thrown when a pattern uses a construct that cannot be matched by {@link PatternEngine#LINEAR} engine.
+ */
+
+public class UnsupportedPatternException extends IllegalArgumentException {
+
+    private final String pattern;
+
+    public UnsupportedPatternException(String pattern, String construct) {
+        super(construct + " is not supported by linear pattern engine in " + pattern);
+        this.pattern = pattern;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+}
@@ -0,0 +1,294 @@
+package validator.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Immutable, memory-compact set of allowed values, built once and shared by constraints.
+ * Values are kept in open addressing tables of primitive arrays, so neither values nor table entries are boxed.
+ * <p>
+ * Tables are at most {@value #MAX_LOAD_FACTOR} full, so a lookup compares one or two entries on average.
+ *
+ * @see validator.ValidationConstraints#isOneOf(StringIndex)
+ */
+
+public abstract class ValueIndex {
+
+    /**
+     * Maximum ratio of values to slots of a table.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.7;
+
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+    private static final long LONG_GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final int size;
+
+    private ValueIndex(int size) {
+        this.size = size;
+    }
+
+    /**
+     * @param values allowed values, duplicates are stored once
+     *
+     * @return index of given values
+     */
+    public static StringIndex ofStrings(Collection<? extends CharSequence> values) {
+        return new StringIndex(values.stream()
+                                     .map(value -> Objects.requireNonNull(value, "Index may not contain null")
+                                                          .toString())
+                                     .distinct()
+                                     .toArray(String[]::new));
+    }
+
+    /**
+     * @param values allowed values, duplicates are stored once
+     *
+     * @return index of given values
+     */
+    public static LongIndex ofLongs(long... values) {
+        return new LongIndex(Arrays.stream(values)
+                                   .distinct()
+                                   .toArray());
+    }
+
+    /**
+     * @param values allowed values, duplicates are stored once
+     *
+     * @return index of given values
+     */
+    public static IntIndex ofInts(int... values) {
+        return new IntIndex(Arrays.stream(values)
+                                  .distinct()
+                                  .toArray());
+    }
+
+    /**
+     * @return number of distinct values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return approximate number of bytes of arrays held by this index
+     */
+    public abstract long getMemoryFootprint();
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size + "]";
+    }
+
+    /**
+     * @return power of two number of slots, which keeps load factor of given number of values under {@link #MAX_LOAD_FACTOR}
+     */
+    private static int capacityFor(int size) {
+        int capacity = 2;
+        while (capacity * MAX_LOAD_FACTOR < size) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int slotOf(int hash, int shift) {
+        return hash * GOLDEN_RATIO >>> shift;
+    }
+
+    private static int slotOf(long value, int shift) {
+        return (int) (value * LONG_GOLDEN_RATIO >>> 32 + shift);
+    }
+
+    private static long sizeOf(int length, int elementSize) {
+        return ARRAY_HEADER_SIZE + (long) length * elementSize;
+    }
+
+    /**
+     * Index of {@link String} values, whose characters are stored in a single array.
+     * Any {@link CharSequence} can be looked up without converting it to a {@link String}.
+     */
+    public static final class StringIndex extends ValueIndex {
+        private final char[] characters;
+        private final int[] offsets;
+        private final int[] hashes;
+        private final int[] slots;
+        private final int shift;
+
+        private StringIndex(String[] values) {
+            super(values.length);
+            int capacity = capacityFor(values.length);
+            this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            this.slots = new int[capacity];
+            this.hashes = new int[values.length];
+            this.offsets = new int[values.length + 1];
+
+            int length = 0;
+            for (String value : values) {
+                length += value.length();
+            }
+            this.characters = new char[length];
+
+            int offset = 0;
+            for (int i = 0; i < values.length; i++) {
+                String value = values[i];
+                value.getChars(0, value.length(), characters, offset);
+                offsets[i] = offset;
+                offset += value.length();
+                hashes[i] = value.hashCode();
+
+                int slot = slotOf(hashes[i], shift);
+                while (slots[slot] != 0) {
+                    slot = slot + 1 & capacity - 1;
+                }
+                slots[slot] = i + 1;
+            }
+            offsets[values.length] = offset;
+        }
+
+        /**
+         * @return true if index contains value with the same characters
+         */
+        public boolean contains(CharSequence value) {
+            int hash = value instanceof String ? value.hashCode() : hashOf(value);
+            int mask = slots.length - 1;
+            for (int slot = slotOf(hash, shift); slots[slot] != 0; slot = slot + 1 & mask) {
+                int entry = slots[slot] - 1;
+                if (hashes[entry] == hash && contentEquals(entry, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public long getMemoryFootprint() {
+            return sizeOf(characters.length, Character.BYTES) + sizeOf(offsets.length, Integer.BYTES) + sizeOf(hashes.length, Integer.BYTES)
+                    + sizeOf(slots.length, Integer.BYTES);
+        }
+
+        private boolean contentEquals(int entry, CharSequence value) {
+            int offset = offsets[entry];
+            int length = offsets[entry + 1] - offset;
+            if (length != value.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (characters[offset + i] != value.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hashOf(CharSequence value) {
+            int hash = 0;
+            for (int i = 0; i < value.length(); i++) {
+                hash = 31 * hash + value.charAt(i);
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Index of {@code long} values. Zero marks empty slots, so it is tracked separately.
+     */
+    public static final class LongIndex extends ValueIndex {
+        private final long[] slots;
+        private final boolean containsZero;
+        private final int shift;
+
+        private LongIndex(long[] values) {
+            super(values.length);
+            int capacity = capacityFor(values.length);
+            this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            this.slots = new long[capacity];
+            boolean hasZero = false;
+            for (long value : values) {
+                if (value == 0) {
+                    hasZero = true;
+                    continue;
+                }
+                int slot = slotOf(value, shift);
+                while (slots[slot] != 0) {
+                    slot = slot + 1 & capacity - 1;
+                }
+                slots[slot] = value;
+            }
+            this.containsZero = hasZero;
+        }
+
+        public boolean contains(long value) {
+            if (value == 0) {
+                return containsZero;
+            }
+            int mask = slots.length - 1;
+            for (int slot = slotOf(value, shift); slots[slot] != 0; slot = slot + 1 & mask) {
+                if (slots[slot] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public long getMemoryFootprint() {
+            return sizeOf(slots.length, Long.BYTES);
+        }
+    }
+
+    /**
+     * Index of {@code int} values. Zero marks empty slots, so it is tracked separately.
+     */
+    public static final class IntIndex extends ValueIndex {
+        private final int[] slots;
+        private final boolean containsZero;
+        private final int shift;
+
+        private IntIndex(int[] values) {
+            super(values.length);
+            int capacity = capacityFor(values.length);
+            this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            this.slots = new int[capacity];
+            boolean hasZero = false;
+            for (int value : values) {
+                if (value == 0) {
+                    hasZero = true;
+                    continue;
+                }
+                int slot = slotOf(value, shift);
+                while (slots[slot] != 0) {
+                    slot = slot + 1 & capacity - 1;
+                }
+                slots[slot] = value;
+            }
+            this.containsZero = hasZero;
+        }
+
+        public boolean contains(int value) {
+            if (value == 0) {
+                return containsZero;
+            }
+            int mask = slots.length - 1;
+            for (int slot = slotOf(value, shift); slots[slot] != 0; slot = slot + 1 & mask) {
+                if (slots[slot] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return true if value is in {@code int} range and index contains it
+         */
+        public boolean contains(long value) {
+            return value == (int) value && contains((int) value);
+        }
+
+        @Override
+        public long getMemoryFootprint() {
+            return sizeOf(slots.length, Integer.BYTES);
+        }
+    }
+}
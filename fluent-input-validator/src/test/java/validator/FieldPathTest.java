@@ -0,0 +1,127 @@
+package validator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class FieldPathTest {
+
+    @Test
+    public void shouldInternPathsOfTheSameNames() {
+        FieldPath path = FieldPath.of("FieldPathTest")
+                                  .child("order")
+                                  .child("price");
+
+        assertSame(path, FieldPath.of("FieldPathTest")
+                                  .child("order")
+                                  .child("price"));
+        assertNotSame(path, FieldPath.of("FieldPathTest")
+                                     .child("price"));
+    }
+
+    @Test
+    public void shouldJoinSegmentsWithDots() {
+        FieldPath path = FieldPath.of("Order")
+                                  .child("items")
+                                  .child(null);
+
+        assertEquals("Order.items.null", path.toString());
+        assertSame(path.toString(), path.toString());
+        assertEquals("Order.customer.name", FieldPath.ofText("Order.customer.name")
+                                                     .toString());
+        assertEquals("Order.customer.name.first", FieldPath.ofText("Order.customer.name")
+                                                           .child("first")
+                                                           .toString());
+    }
+
+    @Test
+    public void shouldNameElementsByIndexOrWhenTextIsBuilt() {
+        FieldPath items = FieldPath.of("Order")
+                                   .child("items");
+        String[] names = {"first"};
+        FieldPath namedElement = items.element(new Object(), element -> names[0]);
+        names[0] = "second";
+        FieldPath namedElementChild = namedElement.child("price");
+
+        assertSame(items.element(17), items.element(17));
+        assertEquals("Order.items[17].price", items.element(17)
+                                                   .child("price")
+                                                   .toString());
+        assertEquals("Order.items.second.price", namedElementChild.toString());
+        names[0] = "third";
+        assertEquals("Order.items.second", namedElement.toString());
+        assertFalse(namedElement.isInterned());
+        assertEquals("Order.items.null", items.element(null, element -> "never")
+                                              .toString());
+    }
+
+    @Test
+    public void shouldNotInternNamesGivenAtRuntime() {
+        FieldPath order = FieldPath.of("FieldPathTest")
+                                   .child("dynamic");
+        for (int i = 0; i < 10_000; i++) {
+            order.dynamicChild("field" + i)
+                 .child("price");
+            FieldPath.ofDynamicName("Order" + i)
+                     .child("price");
+        }
+
+        assertEquals(0, order.getInternedChildCount());
+        assertNotSame(order.dynamicChild("field"), order.dynamicChild("field"));
+        assertNotSame(FieldPath.ofDynamicName("Order")
+                               .child("price"), FieldPath.ofDynamicName("Order")
+                                                         .child("price"));
+        assertEquals("Order.price", FieldPath.ofDynamicName("Order")
+                                             .child("price")
+                                             .toString());
+        assertEquals("FieldPathTest.dynamic.null", order.dynamicChild(null)
+                                                        .toString());
+    }
+
+    @Test
+    public void shouldNotInternChildrenOverLimit() {
+        FieldPath list = FieldPath.of("FieldPathTest")
+                                  .child("list");
+        for (int i = 0; i < FieldPath.MAX_INTERNED_CHILDREN; i++) {
+            list.child(String.valueOf(i));
+        }
+
+        assertEquals(FieldPath.MAX_INTERNED_CHILDREN, list.getInternedChildCount());
+        assertSame(list.child("0"), list.child("0"));
+        assertNotSame(list.child("overLimit"), list.child("overLimit"));
+        assertEquals("FieldPathTest.list.overLimit", list.child("overLimit")
+                                                         .toString());
+    }
+
+    @Test
+    public void shouldNotInternChildrenOverLimitConcurrently() throws Exception {
+        FieldPath list = FieldPath.of("FieldPathTest")
+                                  .child("concurrentList");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread * FieldPath.MAX_INTERNED_CHILDREN;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < FieldPath.MAX_INTERNED_CHILDREN; i++) {
+                        list.child(String.valueOf(offset + i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(FieldPath.MAX_INTERNED_CHILDREN, list.getInternedChildCount());
+    }
+}
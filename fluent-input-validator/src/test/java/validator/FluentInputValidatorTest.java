@@ -0,0 +1,737 @@
+package validator;
+
+import org.junit.Test;
+import validator.metamodel.Property;
+import validator.utils.RangeIndex;
+import validator.utils.PropertyNameCache;
+
+import javax.validation.ValidationException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.Boolean.FALSE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.function.Function.identity;
+import static org.junit.Assert.*;
+import static validator.FluentInputValidator.validate;
+import static validator.ValidationConstraints.*;
+import static validator.metamodel.Property.property;
+
+public class FluentInputValidatorTest {
+
+    @Test(expected = ValidationException.class)
+    public void shouldThrowIfValidatedObjectIsNull() {
+        validate(null).as("null")
+                      .ifErrorsPresent()
+                      .throwValidationException();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldThrowAnExceptionFromCustomValidator() {
+        validate(new Object()).withDefaultName()
+                              .given(identity(), "")
+                              .validateUsing(f -> {throw new IndexOutOfBoundsException();})
+                              .ifErrorsPresent()
+                              .throwValidationException();
+    }
+
+    @Test
+    public void shouldNotThrowEvenIfNoDefaultConstructorIsPresentInInnerObject() {
+        ClassUnderTestWithNoNullConstructorInnerObject testObject;
+        testObject = new ClassUnderTestWithNoNullConstructorInnerObject(new ClassUnderTestWithNoNullConstructor(null));
+
+        validate(testObject).withDefaultName()
+                            .given(ClassUnderTestWithNoNullConstructorInnerObject::getInnerObject)
+                            .expectThat(isNotNull())
+                            .ifErrorsPresent()
+                            .throwValidationException();
+    }
+
+    @Test
+    public void shouldAllowIteratingOverACollection() {
+        ClassUnderTestWithIterable testObject = new ClassUnderTestWithIterable(asList(null, " ", "test"));
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .given(ClassUnderTestWithIterable::getList)
+                                         .forEach(element -> element.expectThat(isNotNull(),
+                                                                                isNotEmpty(),
+                                                                                isNotWhitespace()))
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertTrue(validation.containsKey("ClassUnderTestWithIterable.list.null"));
+        assertTrue(validation.containsKey("ClassUnderTestWithIterable.list. "));
+        assertFalse(validation.containsKey("ClassUnderTestWithIterable.list.test"));
+    }
+
+    @Test
+    public void shouldAllowValidationOfInnerObjects() {
+        ClassUnderTestComplex testObject = new ClassUnderTestComplex(new ClassUnderTestSimple(null));
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .given(ClassUnderTestComplex::getInnerObject)
+                                         .validateInternals(v -> v.given(ClassUnderTestSimple::getVariable)
+                                                                  .expectThat(isNotNull()))
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertTrue(validation.containsKey("ClassUnderTestComplex.innerObject.variable"));
+    }
+
+    @Test
+    public void shouldReportOnlyOwnErrorsOfInnerObjects() {
+        ClassUnderTestComplex testObject = new ClassUnderTestComplex(new ClassUnderTestSimple(1));
+        AtomicReference<ValidationMap> innerValidation = new AtomicReference<>();
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .given(ClassUnderTestComplex::getInnerObject)
+                                         .expectThat(object -> "invalid")
+                                         .and()
+                                         .given(ClassUnderTestComplex::getInnerObject)
+                                         .validateInternals(v -> {
+                                             FluentInputValidator<ClassUnderTestSimple>.ValidationFinalizer finalizer;
+                                             finalizer = v.given(ClassUnderTestSimple::getVariable)
+                                                          .expectThat(isNotNull())
+                                                          .ifErrorsPresent();
+                                             innerValidation.set(finalizer.getValidationResults());
+                                             finalizer.throwValidationException();
+                                         })
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertTrue(innerValidation.get()
+                                  .isEmpty());
+        assertEquals(new HashSet<>(singletonList("ClassUnderTestComplex.innerObject")), validation.keySet());
+    }
+
+    @Test
+    public void shouldAllowConditionalValidation() {
+        ClassUnderTestComplex testObject = new ClassUnderTestComplex(null);
+
+        validate(testObject).withDefaultName()
+                            .given(ClassUnderTestComplex::getInnerObject)
+                            .when(FALSE)
+                            .expectThat(isNotNull())
+                            .ifErrorsPresent()
+                            .throwValidationException();
+
+        validate(testObject).withDefaultName()
+                            .given(ClassUnderTestComplex::getInnerObject)
+                            .when(isNotNull())
+                            .expectThat(isNotNull())
+                            .ifErrorsPresent()
+                            .throwValidationException();
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .given(ClassUnderTestComplex::getInnerObject)
+                                         .when(Objects::isNull)
+                                         .expectThat(isNotNull())
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertTrue(validation.containsKey("ClassUnderTestComplex.innerObject"));
+    }
+
+    @Test
+    public void shouldAllowValidationWithSeparateValidator() {
+        ClassUnderTestComplex testObject = new ClassUnderTestComplex(new ClassUnderTestSimple(null));
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .given(ClassUnderTestComplex::getInnerObject)
+                                         .validateUsing(ClassUnderTestSimpleValidator::new)
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertTrue(validation.containsKey("ClassUnderTestComplex.innerObject.variable"));
+    }
+
+    @Test
+    public void shouldCheckWithPredicate() {
+        ValidationMap validation;
+        validation = validate(new ClassUnderTestSimple(1))
+                .withDefaultName()
+                .given(ClassUnderTestSimple::getVariable)
+                .expectThat(fulfills(Integer.valueOf(2)::equals))
+                .expectThat(fulfills(i -> {throw new RuntimeException();}))
+                .ifErrorsPresent()
+                .getValidationResults();
+
+        assertTrue(validation.containsKey("ClassUnderTestSimple.variable"));
+        assertEquals(2,
+                     validation.get("ClassUnderTestSimple.variable")
+                               .size());
+    }
+
+    @Test
+    public void shouldAcceptMethodReferenceAsPredicate() {
+        validate(new ClassUnderTestSimple(1))
+                .withDefaultName()
+                .given(ClassUnderTestSimple::getVariable)
+                .expectThat(fulfills(FluentInputValidatorTest::testPredicate));
+    }
+
+    @Test
+    public void shouldAcceptEachErrorPresent() {
+        final long[] fieldsWithErrors = {0};
+        validate(new ClassUnderTestSimple(null))
+                .withDefaultName()
+                .given(ClassUnderTestSimple::getVariable)
+                .expectThat(isNotNull(),
+                            isNotWhitespace())
+                .ifErrorsPresent()
+                .forEach(error -> ++fieldsWithErrors[0]);
+
+        assertEquals(1, fieldsWithErrors[0]);
+    }
+
+    @Test
+    public void shouldResolveGetterNameOnlyOncePerCallSite() {
+        long missesBefore = PropertyNameCache.getMissCount();
+        long hitsBefore = PropertyNameCache.getHitCount();
+
+        for (int i = 0; i < 3; i++) {
+            ValidationMap validation;
+            validation = validate(new ClassUnderTestSimple(null)).withDefaultName()
+                                                                 .given(ClassUnderTestSimple::getVariable)
+                                                                 .expectThat(isNotNull())
+                                                                 .ifErrorsPresent()
+                                                                 .getValidationResults();
+
+            assertTrue(validation.containsKey("ClassUnderTestSimple.variable"));
+        }
+
+        assertEquals(1, PropertyNameCache.getMissCount() - missesBefore);
+        assertEquals(2, PropertyNameCache.getHitCount() - hitsBefore);
+    }
+
+    @Test
+    public void shouldResolveFieldNameOfFinalClassWithoutProxy() {
+        ValidationMap validation;
+        validation = validate(new FinalClassUnderTest(null)).withDefaultName()
+                                                            .given(FinalClassUnderTest::getValue)
+                                                            .expectThat(isNotNull())
+                                                            .ifErrorsPresent()
+                                                            .getValidationResults();
+
+        assertTrue(validation.containsKey("FinalClassUnderTest.value"));
+    }
+
+    @Test
+    public void shouldValidateFieldsGivenAsMetamodelProperties() {
+        Property<ClassUnderTestComplex, ClassUnderTestSimple> innerObject;
+        innerObject = property("innerObject", ClassUnderTestComplex::getInnerObject);
+        Property<ClassUnderTestSimple, Integer> variable = property("variable", ClassUnderTestSimple::getVariable);
+
+        ValidationMap validation;
+        validation = validate(new ClassUnderTestComplex(new ClassUnderTestSimple(null)))
+                .withDefaultName()
+                .given(innerObject)
+                .expectThat(isNotNull())
+                .and()
+                .given(innerObject.then(variable))
+                .expectThat(isNotNull())
+                .ifErrorsPresent()
+                .getValidationResults();
+
+        assertFalse(validation.containsKey("ClassUnderTestComplex.innerObject"));
+        assertTrue(validation.containsKey("ClassUnderTestComplex.innerObject.variable"));
+    }
+
+    @Test
+    public void shouldValidatePrimitiveFields() {
+        ClassUnderTestWithNumbers testObject = new ClassUnderTestWithNumbers(0, 3_000_000_000L, 0.5);
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .givenInt(ClassUnderTestWithNumbers::getCount)
+                                         .expectThat(isInRangeInclusive(1, 10))
+                                         .and()
+                                         .givenLong(ClassUnderTestWithNumbers::getSize)
+                                         .when(size -> size > 0 ? null : "must be positive")
+                                         .expectThat(isInRangeExclusive(0, 2_000_000_000L))
+                                         .and()
+                                         .givenDouble(ClassUnderTestWithNumbers::getRatio)
+                                         .expectThat(isInRangeInclusive(0.0, 1.0),
+                                                     isInRangeExclusive(0, 1))
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertEquals(asList("value must be between 1 and 10"), validation.get("ClassUnderTestWithNumbers.count"));
+        assertEquals(asList("value must be between 0 and 2000000000"), validation.get("ClassUnderTestWithNumbers.size"));
+        assertEquals(asList("value must be between 0 and 1"), validation.get("ClassUnderTestWithNumbers.ratio"));
+    }
+
+    @Test
+    public void shouldCompareBoxedLongsOutsideOfIntegerRange() {
+        ValidationMap validation;
+        validation = validate(new Object()).withDefaultName()
+                                           .given(3_000_000_000L, "size")
+                                           .expectThat(isInRangeInclusive(0, 4_000_000_000L))
+                                           .and()
+                                           .given("3000000000", "text")
+                                           .expectThat(isInRangeInclusive(0, 2_000_000_000L))
+                                           .ifErrorsPresent()
+                                           .getValidationResults();
+
+        assertFalse(validation.containsKey("Object.size"));
+        assertTrue(validation.containsKey("Object.text"));
+    }
+
+    @Test
+    public void shouldCompareOnlyIntegralDoublesWithLongRanges() {
+        ClassUnderTestWithNumbers integral = new ClassUnderTestWithNumbers(0, 0, 3.0);
+        ClassUnderTestWithNumbers outOfLongRange = new ClassUnderTestWithNumbers(0, 0, 1e19);
+
+        assertTrue(validate(integral).withDefaultName()
+                                     .givenDouble(ClassUnderTestWithNumbers::getRatio)
+                                     .expectThat(isInRangeInclusive(1, 10))
+                                     .ifErrorsPresent()
+                                     .getValidationResults()
+                                     .isEmpty());
+        assertTrue(validate(outOfLongRange).withDefaultName()
+                                           .givenDouble(ClassUnderTestWithNumbers::getRatio)
+                                           .expectThat(isInRangeInclusive(0, Long.MAX_VALUE))
+                                           .ifErrorsPresent()
+                                           .getValidationResults()
+                                           .containsKey("ClassUnderTestWithNumbers.ratio"));
+    }
+
+    @Test
+    public void shouldValidateCharSequenceWithoutCopyingIt() {
+        CountingObject text = new CountingObject("12345");
+
+        ValidationMap validation;
+        validation = validate(new Object()).withDefaultName()
+                                           .given(new StringBuilder("12345"), "builder")
+                                           .expectThat(isNotBlank(),
+                                                       isShorterThan(5),
+                                                       isNumeric(),
+                                                       isMatchingPattern("[0-9]+"))
+                                           .and()
+                                           .given(text, "text")
+                                           .when(isNotEmpty(),
+                                                 isNumeric())
+                                           .expectThat(isNotBlank(),
+                                                       hasLengthEqualTo(5),
+                                                       isDouble())
+                                           .ifErrorsPresent()
+                                           .getValidationResults();
+
+        assertEquals(asList("may not be longer than 4"), validation.get("Object.builder"));
+        assertFalse(validation.containsKey("Object.text"));
+        assertEquals(2, text.toStringCalls);
+    }
+
+    @Test
+    public void shouldValidateContainersBySize() {
+        ValidationMap validation;
+        validation = validate(new Object()).withDefaultName()
+                                           .given(emptyMap(), "map")
+                                           .expectThat(isNotEmpty())
+                                           .and()
+                                           .given(new int[3], "array")
+                                           .expectThat(isNotEmpty(),
+                                                       isNotBlank(),
+                                                       hasLengthEqualTo(3),
+                                                       hasSizeBetween(4, 10))
+                                           .and()
+                                           .given(asList("a", "b"), "list")
+                                           .expectThat(isShorterOrEqualTo(2),
+                                                       hasSizeBetween(0, 1))
+                                           .ifErrorsPresent()
+                                           .getValidationResults();
+
+        assertEquals(asList("may not be empty"), validation.get("Object.map"));
+        assertEquals(asList("size must be between 4 and 10"), validation.get("Object.array"));
+        assertEquals(asList("size must be between 0 and 1"), validation.get("Object.list"));
+    }
+
+    @Test
+    public void shouldReportMalformedNumbersAsErrors() {
+        ValidationMap validation;
+        validation = validate(new Object()).withDefaultName()
+                                           .given("12a", "text")
+                                           .expectThat(isInRangeInclusive(1, 100),
+                                                       isInRangeExclusive(0.0, 100.0),
+                                                       isDouble())
+                                           .and()
+                                           .given(new StringBuilder("-1.5e1"), "builder")
+                                           .expectThat(isInRangeInclusive(-20.0, -10.0),
+                                                       isDouble())
+                                           .ifErrorsPresent()
+                                           .getValidationResults();
+
+        assertEquals(asList("value must be between 1 and 100", "value must be between 0.0 and 100.0", "must be a floating point number"),
+                     validation.get("Object.text"));
+        assertFalse(validation.containsKey("Object.builder"));
+    }
+
+    @Test
+    public void shouldValidateAllowedValues() {
+        ValidationMap validation;
+        validation = validate(new Object()).withDefaultName()
+                                           .given(new StringBuilder("EUR"), "currency")
+                                           .expectThat(isOneOf("PLN", "EUR", "USD"))
+                                           .and()
+                                           .given("GBP", "otherCurrency")
+                                           .expectThat(isOneOf("PLN", "EUR", "USD"))
+                                           .and()
+                                           .givenInt(5411, "mcc")
+                                           .expectThat(isOneOf(5411, 5812))
+                                           .and()
+                                           .givenDouble(5812.5, "fractionalMcc")
+                                           .expectThat(isOneOf(5411, 5812))
+                                           .and()
+                                           .given("1234567890123", "merchantId")
+                                           .expectThat(isOneOf(1234567890123L))
+                                           .and()
+                                           .given(12L, "otherMerchantId")
+                                           .expectThat(isOneOf(1234567890123L))
+                                           .ifErrorsPresent()
+                                           .getValidationResults();
+
+        assertEquals(new HashSet<>(asList("Object.otherCurrency", "Object.fractionalMcc", "Object.otherMerchantId")), validation.keySet());
+        assertEquals(asList("must be one of allowed values"), validation.get("Object.otherCurrency"));
+    }
+
+    @Test
+    public void shouldValidateAgainstSwappedRanges() {
+        AtomicReference<RangeIndex> bins = new AtomicReference<>(RangeIndex.builder()
+                                                                           .add(400000, 499999)
+                                                                           .build());
+        ValidationPlan<String> plan = ValidationPlan.forClass(String.class)
+                                                    .as("card")
+                                                    .given(identity(), "bin")
+                                                    .expectThat(isInAnyRange(bins))
+                                                    .build()
+                                                    .compile();
+
+        assertTrue(plan.validate("412345")
+                       .isEmpty());
+        bins.set(RangeIndex.builder()
+                           .add(510000, 559999)
+                           .build());
+
+        assertEquals(asList("must be in one of allowed ranges"), plan.validate("412345")
+                                                                     .get("card.bin"));
+        assertTrue(plan.validate("510000")
+                       .isEmpty());
+    }
+
+    @Test
+    public void shouldValidateEnumsAndTheirNames() {
+        ValidationMap validation;
+        validation = validate(new Object()).withDefaultName()
+                                           .given(new StringBuilder("SECONDS"), "code")
+                                           .expectThat(isValidAsEnumName(TimeUnit.class))
+                                           .and()
+                                           .given("SECOND", "wrongCode")
+                                           .expectThat(isValidAsEnumName(TimeUnit.class))
+                                           .and()
+                                           .given((Object) null, "nullCode")
+                                           .expectThat(isValidAsEnumName(TimeUnit.class))
+                                           .and()
+                                           .given(ChronoUnit.SECONDS, "unit")
+                                           .expectThat(isValidAsEnum(TimeUnit.class))
+                                           .and()
+                                           .given("SECONDS", "notEnum")
+                                           .expectThat(isValidAsEnum(TimeUnit.class))
+                                           .and()
+                                           .given(ChronoUnit.WEEKS, "wrongUnit")
+                                           .expectThat(isValidAsEnum(TimeUnit.class))
+                                           .ifErrorsPresent()
+                                           .getValidationResults();
+
+        assertEquals(new HashSet<>(asList("Object.wrongCode", "Object.nullCode", "Object.notEnum", "Object.wrongUnit")), validation.keySet());
+        assertEquals(asList("must be a name of enum constant"), validation.get("Object.wrongCode"));
+    }
+
+    @Test
+    public void shouldReturnOwnResultsToEachCaller() {
+        FluentInputValidator<ClassUnderTestSimple>.ValidationFinalizer finalizer;
+        finalizer = validate(new ClassUnderTestSimple(null)).withDefaultName()
+                                                            .given(ClassUnderTestSimple::getVariable)
+                                                            .expectThat(isNotNull())
+                                                            .ifErrorsPresent();
+
+        ValidationMap validation = finalizer.getValidationResults();
+        validation.get("ClassUnderTestSimple.variable")
+                  .add("modified");
+        validation.put("other", new ArrayList<>());
+
+        assertEquals(singletonMap("ClassUnderTestSimple.variable", singletonList("may not be null")),
+                     finalizer.getValidationResults());
+    }
+
+    @Test
+    public void shouldFinishValidationOfValidObjectsWithoutResults() {
+        ClassUnderTestComplex testObject = new ClassUnderTestComplex(new ClassUnderTestSimple(1));
+
+        FluentInputValidator<ClassUnderTestComplex>.ValidationFinalizer finalizer;
+        finalizer = validate(testObject).withDefaultName()
+                                        .given(ClassUnderTestComplex::getInnerObject)
+                                        .validateInternals(v -> v.given(ClassUnderTestSimple::getVariable)
+                                                                 .expectThat(isNotNull()))
+                                        .validateUsing(ClassUnderTestSimpleValidator::new)
+                                        .and()
+                                        .given(new ClassUnderTestWithIterable(asList("a", "b")).getList(), "list")
+                                        .forEach(element -> element.expectThat(isNotNull()))
+                                        .ifErrorsPresent();
+
+        finalizer.forEach(error -> fail())
+                 .throwValidationException();
+        assertSame(ValidationMap.empty(), finalizer.getValidationResults());
+        assertSame(ValidationMap.empty(), finalizer.getValidationResults());
+    }
+
+    @Test
+    public void shouldReturnSharedEmptyResultsOfValidObjects() {
+        ClassUnderTestComplex testObject = new ClassUnderTestComplex(new ClassUnderTestSimple(1));
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .given(ClassUnderTestComplex::getInnerObject)
+                                         .validateInternals(v -> v.given(ClassUnderTestSimple::getVariable)
+                                                                  .expectThat(isNotNull()))
+                                         .validateUsing(ClassUnderTestSimpleValidator::new)
+                                         .and()
+                                         .given(new ClassUnderTestWithIterable(asList("a", "b")).getList(), "list")
+                                         .forEach(element -> element.expectThat(isNotNull()))
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertSame(ValidationMap.empty(), validation);
+        assertTrue(validation.isEmpty());
+        try {
+            validation.addError("field", ValidationError.ofMessage("error"));
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertTrue(ValidationMap.empty()
+                                    .isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldKeepErrorsOfAllNestedValidatorsOfTheSamePath() {
+        ClassUnderTestComplex testObject = new ClassUnderTestComplex(new ClassUnderTestSimple(null));
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .given(ClassUnderTestComplex::getInnerObject)
+                                         .validateInternals(v -> v.given(ClassUnderTestSimple::getVariable)
+                                                                  .expectThat(isNotNull()))
+                                         .validateUsing(ClassUnderTestSimpleValidator::new)
+                                         .and()
+                                         .given(asList(" ", "\t"), "list")
+                                         .forEach(element -> "blank", element -> element.expectThat(isNotWhitespace()))
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertEquals(asList("may not be null", "may not be null"), validation.get("ClassUnderTestComplex.innerObject.variable"));
+        assertEquals(2, validation.get("ClassUnderTestComplex.list.blank")
+                                  .size());
+    }
+
+    @Test
+    public void shouldNameElementsOnlyIfTheyHaveErrors() {
+        ClassUnderTestWithIterable testObject = new ClassUnderTestWithIterable(asList("a", null, " ", "b"));
+        List<Object> namedElements = new ArrayList<>();
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .given(ClassUnderTestWithIterable::getList)
+                                         .forEach(element -> {
+                                                      namedElements.add(element);
+                                                      return "blank";
+                                                  },
+                                                  element -> element.expectThat(isNotNull(),
+                                                                                isNotWhitespace()))
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertEquals(asList(" "), namedElements);
+        assertEquals(new HashSet<>(asList("ClassUnderTestWithIterable.list.null", "ClassUnderTestWithIterable.list.blank")),
+                     validation.keySet());
+    }
+
+    @Test
+    public void shouldNameElementsWhenTheirFirstErrorIsFound() {
+        StringBuilder element = new StringBuilder("first");
+        ClassUnderTestWithIterable testObject = new ClassUnderTestWithIterable(asList(element));
+
+        FluentInputValidator<ClassUnderTestWithIterable>.ValidationFinalizer finalizer;
+        finalizer = validate(testObject).withDefaultName()
+                                        .given(ClassUnderTestWithIterable::getList)
+                                        .forEach(String::valueOf,
+                                                 item -> item.expectThat(object -> "invalid"))
+                                        .ifErrorsPresent();
+        element.replace(0, element.length(), "second");
+
+        assertEquals(singletonList("ClassUnderTestWithIterable.list.first"), new ArrayList<>(finalizer.getValidationResults()
+                                                                                                      .keySet()));
+    }
+
+    @Test
+    public void shouldNameElementsByTheirIndexes() {
+        ClassUnderTestWithIterable testObject = new ClassUnderTestWithIterable(asList("a", null, " "));
+
+        ValidationMap validation;
+        validation = validate(testObject).withDefaultName()
+                                         .given(ClassUnderTestWithIterable::getList)
+                                         .forEachIndexed(element -> element.expectThat(isNotNull(),
+                                                                                       isNotWhitespace()))
+                                         .ifErrorsPresent()
+                                         .getValidationResults();
+
+        assertEquals(new HashSet<>(asList("ClassUnderTestWithIterable.list[1]", "ClassUnderTestWithIterable.list[2]")),
+                     validation.keySet());
+    }
+
+    private static boolean testPredicate(Integer i) {
+        return true;
+    }
+
+    private class ClassUnderTestSimpleValidator implements SpecializedValidator<ClassUnderTestSimple> {
+        @Override
+        public ValidationMap getValidationFor(ClassUnderTestSimple input, String inputName) {
+            return validate(input).as(inputName)
+                                  .given(ClassUnderTestSimple::getVariable)
+                                  .expectThat(isNotNull())
+                                  .ifErrorsPresent()
+                                  .getValidationResults();
+        }
+    }
+
+    private static class ClassUnderTestWithIterable {
+        private List<?> list;
+
+        public ClassUnderTestWithIterable() {
+        }
+
+        public ClassUnderTestWithIterable(List<?> list) {
+            this.list = list;
+        }
+
+        public List<?> getList() {
+            return list;
+        }
+    }
+
+    private static class ClassUnderTestComplex {
+        private ClassUnderTestSimple innerObject;
+
+        public ClassUnderTestComplex() {
+        }
+
+        public ClassUnderTestComplex(ClassUnderTestSimple innerObject) {
+            this.innerObject = innerObject;
+        }
+
+        public ClassUnderTestSimple getInnerObject() {
+            return innerObject;
+        }
+    }
+
+    private static class ClassUnderTestSimple {
+        private Integer variable;
+
+        public ClassUnderTestSimple() {
+        }
+
+        public ClassUnderTestSimple(Integer variable) {
+            this.variable = variable;
+        }
+
+        public Integer getVariable() {
+            return variable;
+        }
+    }
+
+    private static class ClassUnderTestWithNumbers {
+        private int count;
+        private long size;
+        private double ratio;
+
+        public ClassUnderTestWithNumbers() {
+        }
+
+        public ClassUnderTestWithNumbers(int count, long size, double ratio) {
+            this.count = count;
+            this.size = size;
+            this.ratio = ratio;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public double getRatio() {
+            return ratio;
+        }
+    }
+
+    private static class CountingObject {
+        private final String value;
+        private int toStringCalls;
+
+        public CountingObject(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            toStringCalls++;
+            return value;
+        }
+    }
+
+    private static final class FinalClassUnderTest {
+        private final String value;
+
+        public FinalClassUnderTest(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    private static class ClassUnderTestWithNoNullConstructorInnerObject {
+        private ClassUnderTestWithNoNullConstructor innerObject;
+
+        public ClassUnderTestWithNoNullConstructorInnerObject() {
+        }
+
+        public ClassUnderTestWithNoNullConstructorInnerObject(ClassUnderTestWithNoNullConstructor innerObject) {
+            this.innerObject = innerObject;
+        }
+
+        public ClassUnderTestWithNoNullConstructor getInnerObject() {
+            return innerObject;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class ClassUnderTestWithNoNullConstructor {
+        public ClassUnderTestWithNoNullConstructor(Object o) {
+        }
+    }
+}
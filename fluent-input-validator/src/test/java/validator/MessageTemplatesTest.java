@@ -0,0 +1,36 @@
+package validator;
+
+import org.junit.Test;
+import validator.MessageTemplates.MessageTemplate;
+
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+
+public class MessageTemplatesTest {
+
+    @Test
+    public void shouldRenderArgumentsInPlaceholders() {
+        MessageTemplate template = MessageTemplate.compile("{1} is not {0}, {2} {x} {} {");
+
+        assertEquals("b is not a, {2} {x} {} {", template.render(asList("a", "b")));
+        assertEquals("plain text", MessageTemplate.compile("plain text")
+                                                  .render(emptyList()));
+    }
+
+    @Test
+    public void shouldRenderTemplatesOfLocale() {
+        ValidationError error = new ValidationError("hasLengthEqualTo", 5);
+
+        assertEquals("may not be longer or shorter than 5", MessageTemplates.render(error, Locale.ROOT));
+        assertEquals("musi mie\u0107 d\u0142ugo\u015b\u0107 5", MessageTemplates.render(error, new Locale("pl")));
+    }
+
+    @Test
+    public void shouldRenderCodeWithoutTemplate() {
+        assertEquals("unknown code", MessageTemplates.render(new ValidationError("unknown code"), Locale.ROOT));
+        assertEquals("custom 7", MessageTemplates.render(new ValidationError("custom {0}", 7), new Locale("pl")));
+    }
+}
@@ -0,0 +1,44 @@
+package validator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NumberParserTest {
+
+    @Test
+    public void shouldParseLongsLikeJdk() {
+        for (String text : new String[]{"0", "-0", "+15", "-15", "007", "9223372036854775807", "-9223372036854775808"}) {
+            assertTrue(text, NumberParser.isLong(text));
+            assertEquals(text, Long.parseLong(text), NumberParser.parseLong(text));
+            assertEquals(text, Long.parseLong(text), NumberParser.parseLong(new StringBuilder(text)));
+        }
+    }
+
+    @Test
+    public void shouldRejectMalformedAndOverflowingLongs() {
+        for (String text : new String[]{"", "-", "+", "1.0", "1 ", " 1", "1a", "--1", "9223372036854775808", "-9223372036854775809",
+                                        "99999999999999999999"}) {
+            assertFalse(text, NumberParser.isLong(text));
+        }
+    }
+
+    @Test
+    public void shouldParseDoublesLikeJdk() {
+        for (String text : new String[]{"0", "-0", "1.5", "-1.5", "+.5", "5.", "0.1", "0.3", "123.456", "1e3", "1.5E-3", "-2e+2",
+                                        "9007199254740993", "0.00000000000000000000000001", "123456789012345678901234567890",
+                                        "3.141592653589793238", "1e400", "1e-400", "4.9e-324", "1.7976931348623157e308"}) {
+            assertTrue(text, NumberParser.isDouble(text));
+            assertEquals(text, Double.parseDouble(text), NumberParser.parseDouble(text), 0.0);
+            assertEquals(text, Double.doubleToLongBits(Double.parseDouble(text)), Double.doubleToLongBits(NumberParser.parseDouble(text)));
+        }
+    }
+
+    @Test
+    public void shouldRejectMalformedDoubles() {
+        for (String text : new String[]{"", ".", "-", "e3", "1e", "1e+", "1.2.3", "123..4", "1,5", " 1", "1f", "NaN", "Infinity", "0x1p3"}) {
+            assertFalse(text, NumberParser.isDouble(text));
+            assertTrue(text, Double.isNaN(NumberParser.parseDouble(text)));
+        }
+    }
+}
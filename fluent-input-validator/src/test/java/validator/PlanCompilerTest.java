@@ -0,0 +1,141 @@
+package validator;
+
+import org.junit.Test;
+import validator.ValidationPlanTest.Customer;
+
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+import static validator.ValidationConstraints.*;
+
+public class PlanCompilerTest {
+
+    private static final ValidationPlan<Shipment> PLAN = ValidationPlan.forClass(Shipment.class)
+                                                                       .withDefaultName()
+                                                                       .given(Shipment::getCode)
+                                                                       .expectThat(isNotNull(),
+                                                                                   isNotBlank(),
+                                                                                   isShorterOrEqualTo(5),
+                                                                                   isMatchingPattern("[A-Z]+"))
+                                                                       .and()
+                                                                       .given(Shipment::getWeight)
+                                                                       .when(isNotNull())
+                                                                       .andWhen((Integer weight) -> weight != 0)
+                                                                       .expectThat(isInRangeInclusive(1, 100),
+                                                                                   isEqualTo(7),
+                                                                                   object -> "custom error")
+                                                                       .and()
+                                                                       .given(shipment -> shipment.getCustomer(), "recipient")
+                                                                       .validateInternals(v -> v.given(Customer::getName)
+                                                                                                .expectThat(isNotEmpty(),
+                                                                                                            isLongerOrEqualTo(3)))
+                                                                       .and()
+                                                                       .given(Shipment::getParcels)
+                                                                       .forEach(parcel -> parcel.when(Objects::nonNull)
+                                                                                                .expectThat(isNotWhitespace(),
+                                                                                                            isNumeric()))
+                                                                       .and()
+                                                                       .given(Shipment::getHidden)
+                                                                       .expectThat(isNotNull())
+                                                                       .build();
+
+    private static final List<Shipment> SHIPMENTS = asList(new Shipment("ABC", 7, new Customer("John"), asList("1", "2")),
+                                                           new Shipment(null, 0, null, null),
+                                                           new Shipment(" ", 101, new Customer(""), asList(null, " ", "x")),
+                                                           new Shipment("abcdef", 50, new Customer("Jo"), emptyList()));
+
+    @Test
+    public void shouldProduceSameResultsAsInterpretedPlan() {
+        ValidationPlan<Shipment> compiledPlan = PLAN.compile();
+
+        for (Shipment shipment : SHIPMENTS) {
+            assertEquals(PLAN.validate(shipment), compiledPlan.validate(shipment));
+            assertEquals(PLAN.getValidationFor(shipment, "shipment"), compiledPlan.getValidationFor(shipment, "shipment"));
+        }
+    }
+
+    @Test
+    public void shouldProduceSameResultsAsInterpretedPlanWhenOptimized() {
+        ValidationPlan<Shipment> compiledPlan = PLAN.optimize()
+                                                    .compile();
+
+        for (Shipment shipment : SHIPMENTS) {
+            assertEquals(PLAN.validate(shipment), compiledPlan.validate(shipment));
+        }
+    }
+
+    @Test
+    public void shouldReportGeneratedClasses() {
+        List<String> compilations = PLAN.compile()
+                                        .getOptimizations();
+
+        assertTrue(compilations.stream()
+                               .anyMatch(compilation -> compilation.matches("Shipment: (generated|reused) validator\\.CompiledNode\\$\\$\\d+ .*")
+                                       && compilation.endsWith(" with 3 direct getter calls and 9 inlined constraints")));
+        assertFalse(compilations.stream()
+                                .anyMatch(compilation -> compilation.contains("not generated")));
+    }
+
+    @Test
+    public void shouldInlineOptimizedConstraints() {
+        List<String> compilations = PLAN.optimize()
+                                        .compile()
+                                        .getOptimizations();
+
+        assertTrue(compilations.stream()
+                               .anyMatch(compilation -> compilation.startsWith("Shipment: ")
+                                       && compilation.endsWith(" with 3 direct getter calls and 9 inlined constraints")));
+    }
+
+    @Test
+    public void shouldReuseClassesGeneratedForSamePlanShape() {
+        List<String> compilations = PLAN.compile()
+                                        .getOptimizations();
+        List<String> recompilations = PLAN.compile()
+                                          .getOptimizations();
+
+        assertTrue(recompilations.stream()
+                                 .allMatch(compilation -> !compilation.contains(": generated ")));
+        assertEquals(compilations.stream()
+                                 .map(compilation -> compilation.replace(": generated ", ": reused "))
+                                 .collect(toList()), recompilations);
+    }
+
+    public static class Shipment {
+        private final String code;
+        private final int weight;
+        private final Customer customer;
+        private final List<String> parcels;
+
+        public Shipment(String code, int weight, Customer customer, List<String> parcels) {
+            this.code = code;
+            this.weight = weight;
+            this.customer = customer;
+            this.parcels = parcels;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public List<String> getParcels() {
+            return parcels;
+        }
+
+        String getHidden() {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package validator;
+
+import org.junit.Test;
+import validator.ValidationConstraints.ValidationConstraint;
+import validator.ValidationPlanTest.Customer;
+import validator.ValidationPlanTest.Order;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.*;
+import static validator.ValidationConstraints.*;
+
+public class PlanOptimizerTest {
+
+    private static final ValidationPlan<Order> PLAN = ValidationPlan.forClass(Order.class)
+                                                                    .withDefaultName()
+                                                                    .given(Order::getId)
+                                                                    .expectThat(isMatchingPattern("[0-9]+"),
+                                                                                isNotNull(),
+                                                                                isNotEmpty(),
+                                                                                isNotNull(),
+                                                                                isLongerThan(-1))
+                                                                    .expectThat(isNotBlank(),
+                                                                                isShorterOrEqualTo(5),
+                                                                                isNotWhitespace(),
+                                                                                isEqualTo("12"))
+                                                                    .and()
+                                                                    .given(Order::getComment)
+                                                                    .when(isNotNull(),
+                                                                          isDouble())
+                                                                    .andWhen(isNotBlank(),
+                                                                             isInRangeInclusive(0.0, 100.0))
+                                                                    .expectThat(isInRangeInclusive(1.0, 10.0))
+                                                                    .and()
+                                                                    .given(Order::getCustomer)
+                                                                    .validateInternals(v -> v.given(Customer::getName)
+                                                                                             .expectThat(isNotEmpty(),
+                                                                                                         isBlank(),
+                                                                                                         isNotEmpty()))
+                                                                    .and()
+                                                                    .given(Order::getItems)
+                                                                    .forEach(item -> item.when(Objects::nonNull)
+                                                                                         .expectThat(isShorterThan(2),
+                                                                                                     isNotNull(),
+                                                                                                     isWhitespace()))
+                                                                    .build();
+
+    @Test
+    public void shouldProduceSameResultsAsUnoptimizedPlan() {
+        ValidationPlan<Order> optimizedPlan = PLAN.optimize();
+        List<Order> orders = asList(new Order("1", null, new Customer("John"), asList("a", "b")),
+                                    new Order(null, "ab", new Customer(""), asList(null, " ", "cc")),
+                                    new Order("123456", "2.5", null, null),
+                                    new Order(" ", "20", new Customer(" "), emptyList()),
+                                    new Order("", " ", new Customer(null), asList("", "  ")));
+
+        for (Order order : orders) {
+            assertEquals(PLAN.validate(order), optimizedPlan.validate(order));
+        }
+    }
+
+    @Test
+    public void shouldReportOptimizations() {
+        List<String> optimizations = PLAN.optimize()
+                                         .getOptimizations();
+
+        assertTrue(PLAN.getOptimizations()
+                       .isEmpty());
+        assertTrue(optimizations.contains("Order.id: merged consecutive expectations"));
+        assertTrue(optimizations.contains("Order.id: removed duplicate isNotNull()"));
+        assertTrue(optimizations.contains("Order.id: removed constraint that is always valid"));
+        assertTrue(optimizations.contains("Order.id: fused isNotNull(), isNotEmpty(), isNotBlank(), isShorterOrEqualTo(5), isNotWhitespace(), "
+                                                   + "isMatchingPattern([0-9]+) into a single scan"));
+        assertTrue(optimizations.contains("Order.comment: merged consecutive conditions"));
+        assertTrue(optimizations.stream()
+                                .anyMatch(optimization -> optimization.startsWith("Order.customer.")
+                                        && optimization.endsWith(": removed duplicate isNotEmpty()")));
+        assertTrue(optimizations.contains("Order.comment: stops evaluating built-in conditions at the first unmet one"));
+        assertTrue(optimizations.stream()
+                                .noneMatch(optimization -> optimization.startsWith("Order.id: reordered by cost")));
+    }
+
+    @Test
+    public void shouldEvaluateCustomConstraintsAsManyTimesAsDefined() {
+        AtomicInteger evaluations = new AtomicInteger();
+        ValidationConstraint countingConstraint = object -> {
+            evaluations.incrementAndGet();
+            return null;
+        };
+        ValidationPlan<Order> plan = ValidationPlan.forClass(Order.class)
+                                                   .withDefaultName()
+                                                   .given(Order::getId)
+                                                   .when(isNotNull(),
+                                                         countingConstraint,
+                                                         countingConstraint)
+                                                   .expectThat(countingConstraint)
+                                                   .build()
+                                                   .optimize();
+
+        plan.validate(new Order(null, null, null, null));
+
+        assertEquals(2, evaluations.get());
+    }
+}
@@ -47,6 +47,8 @@ class ValidationConstraintsSpecTest extends Specification {
         "abc"             | isNumeric()
         "123..4"          | isDouble()
         TestEnumB.VALUE_C | isValidAsEnum(TestEnumA.class)
+        "VALUE_A"         | isValidAsEnum(TestEnumA.class)
+        "VALUE_C"         | isValidAsEnumName(TestEnumA.class)
     }
 
     @Unroll("Should not throw any exceptions for field #field for given constraint #constraint")
@@ -85,6 +87,7 @@ class ValidationConstraintsSpecTest extends Specification {
         "123"             | isNumeric()
         "123.4"           | isDouble()
         TestEnumB.VALUE_A | isValidAsEnum(TestEnumA.class)
+        "VALUE_B"         | isValidAsEnumName(TestEnumA.class)
     }
 
     private static class TestInput {
@@ -0,0 +1,130 @@
+package validator;
+
+import org.junit.Test;
+import validator.ValidationConstraints.ValidationConstraint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+import static validator.FluentInputValidator.validate;
+import static validator.ValidationConstraints.*;
+
+public class ValidationMapTest {
+
+    private static final ValidationConstraint IS_NOT_NULL = isNotNull();
+
+    @Test
+    public void shouldReportErrorCodesOfFailedConstraints() {
+        ValidationMap validation = validateValue("123");
+
+        Map<String, List<String>> errorCodes = validation.getErrorCodes();
+
+        assertEquals(asList("isInRangeInclusive", "isShorterOrEqualTo", "custom error"), errorCodes.get("Object.value"));
+        assertEquals(singletonList("isNotNull"), errorCodes.get("Object.other"));
+    }
+
+    @Test
+    public void shouldReuseErrorsOfBuiltInConstraints() {
+        ValidationError first = validateValue("123").getErrors("Object.other")
+                                                    .get(0);
+        ValidationError second = validateValue("123").getErrors("Object.other")
+                                                     .get(0);
+
+        assertSame(first, second);
+        assertEquals(asList(1L, 3L), validateValue("123").getErrors("Object.value")
+                                                         .get(0)
+                                                         .getArguments());
+    }
+
+    @Test
+    public void shouldRenderMessagesWhenRead() {
+        ValidationMap validation = validateValue("123");
+
+        assertEquals(asList("value must be between 1 and 3", "may not be longer than 2", "custom error"), validation.get("Object.value"));
+        assertTrue(validation.toString()
+                             .contains("\"may not be null\""));
+    }
+
+    @Test
+    public void shouldRenderTemplateArguments() {
+        ValidationError error = new ValidationError("{1} is not {0}, {2} {x} {", "a", "b");
+
+        assertEquals("b is not a, {2} {x} {", error.getMessage());
+        assertEquals("may not be null", new ValidationError("isNotNull").getMessage());
+    }
+
+    @Test
+    public void shouldRenderMessagesInGivenLocale() {
+        Map<String, List<String>> messages = validateValue("123").getMessages(new Locale("pl", "PL"));
+
+        assertEquals(asList("warto\u015b\u0107 musi by\u0107 pomi\u0119dzy 1 a 3",
+                            "nie mo\u017ce by\u0107 d\u0142u\u017csze ni\u017c 2", "custom error"),
+                     messages.get("Object.value"));
+        assertEquals(validateValue("123"), validateValue("123").getMessages(Locale.ROOT));
+        assertEquals(singletonList("may not be null"), validateValue("123").getMessages(Locale.JAPANESE)
+                                                                           .get("Object.other"));
+    }
+
+    @Test
+    public void shouldWriteCompactOrPrettyJson() throws IOException {
+        ValidationMap validation = new ValidationMap();
+        validation.addError("Object.value", ValidationError.ofMessage("\"quoted\"\\\n\u0001\u2028"));
+        validation.put("Object.other", asList("may not be null", null));
+        validation.put("Object.empty", emptyList());
+        validation.put("Object.skipped", null);
+
+        StringWriter compact = new StringWriter();
+        validation.writeJson(compact);
+        StringBuilder pretty = new StringBuilder();
+        validation.writeJson(pretty, true);
+
+        assertEquals(validation.toJson(), compact.toString());
+        assertEquals(validation.toString(), pretty.toString());
+        assertTrue(compact.toString()
+                          .contains("\"Object.value\":[\"\\\"quoted\\\"\\\\\\n\\u0001\\u2028\"]"));
+        assertTrue(compact.toString()
+                          .contains("\"Object.other\":[\"may not be null\",null]"));
+        assertTrue(compact.toString()
+                          .contains("\"Object.empty\":[]"));
+        assertFalse(compact.toString()
+                           .contains("skipped"));
+        assertTrue(pretty.toString()
+                         .contains("\n  \"Object.other\": [\n    \"may not be null\",\n    null\n  ]"));
+        assertEquals("{}", ValidationMap.empty()
+                                        .toString());
+    }
+
+    @Test
+    public void shouldWriteJsonInUtf8() throws IOException {
+        ValidationMap validation = new ValidationMap();
+        validation.addError("Object.name", ValidationError.ofMessage("nie mo\u017ce by\u0107 \ud83d\ude00 \ud83d"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        validation.writeJson(out);
+
+        assertArrayEquals(validation.toJson()
+                                    .getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    private static ValidationMap validateValue(String value) {
+        return validate(new Object()).withDefaultName()
+                                     .given(value, "value")
+                                     .expectThat(isInRangeInclusive(1, 3),
+                                                 isShorterOrEqualTo(2),
+                                                 object -> "custom error")
+                                     .and()
+                                     .given((Object) null, "other")
+                                     .expectThat(IS_NOT_NULL)
+                                     .ifErrorsPresent()
+                                     .getValidationResults();
+    }
+}
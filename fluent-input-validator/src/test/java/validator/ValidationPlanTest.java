@@ -0,0 +1,212 @@
+package validator;
+
+import org.junit.Test;
+
+import javax.validation.ValidationException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.*;
+import static validator.FluentInputValidator.validate;
+import static validator.ValidationConstraints.*;
+
+public class ValidationPlanTest {
+
+    private static final ValidationPlan<Order> PLAN = ValidationPlan.forClass(Order.class)
+                                                                    .withDefaultName()
+                                                                    .given(Order::getId)
+                                                                    .expectThat(isNotNull(),
+                                                                                isNotBlank(),
+                                                                                isShorterOrEqualTo(5))
+                                                                    .and()
+                                                                    .given(Order::getComment)
+                                                                    .when(Objects::nonNull)
+                                                                    .expectThat(isLongerOrEqualTo(3))
+                                                                    .and()
+                                                                    .given(Order::getCustomer)
+                                                                    .expectThat(isNotNull())
+                                                                    .validateInternals(v -> v.given(Customer::getName)
+                                                                                             .expectThat(isNotEmpty()))
+                                                                    .and()
+                                                                    .given(Order::getItems)
+                                                                    .forEach(item -> item.expectThat(isNotNull(),
+                                                                                                     isNotWhitespace()))
+                                                                    .and()
+                                                                    .given(Order::getCustomer)
+                                                                    .validateUsing(new CustomerValidator())
+                                                                    .build();
+
+    @Test
+    public void shouldProduceSameResultsAsFluentValidation() {
+        List<Order> orders = asList(new Order("1", null, new Customer("John"), asList("a", "b")),
+                                    new Order(null, "ab", new Customer(""), asList(null, " ", "c")),
+                                    new Order("123456", "abc", null, null),
+                                    new Order(" ", "", new Customer(null), emptyList()));
+
+        for (Order order : orders) {
+            assertEquals(validateFluently(order), PLAN.validate(order));
+        }
+    }
+
+    @Test
+    public void shouldUseGivenNameAsBaseOfFieldPaths() {
+        ValidationMap validation = PLAN.getValidationFor(new Order(null, null, new Customer(""), null), "order");
+
+        assertTrue(validation.containsKey("order.id"));
+        assertTrue(validation.containsKey("order.customer.name"));
+        assertFalse(validation.keySet()
+                              .stream()
+                              .anyMatch(key -> key.startsWith("Order")));
+    }
+
+    @Test
+    public void shouldNameElementsByIndexesAsFluentValidation() {
+        ValidationPlan<Order> plan = ValidationPlan.forClass(Order.class)
+                                                   .withDefaultName()
+                                                   .given(Order::getItems)
+                                                   .forEachIndexed(item -> item.expectThat(isNotNull(),
+                                                                                           isNotWhitespace()))
+                                                   .build();
+        Order order = new Order("1", null, null, asList("a", null, " "));
+
+        ValidationMap expected = validate(order).withDefaultName()
+                                                .given(Order::getItems)
+                                                .forEachIndexed(item -> item.expectThat(isNotNull(),
+                                                                                        isNotWhitespace()))
+                                                .ifErrorsPresent()
+                                                .getValidationResults();
+
+        assertEquals(new HashSet<>(asList("Order.items[1]", "Order.items[2]")), expected.keySet());
+        assertEquals(expected, plan.validate(order));
+        assertEquals(expected, plan.optimize()
+                                   .validate(order));
+        assertEquals(expected, plan.compile()
+                                   .validate(order));
+    }
+
+    @Test
+    public void shouldNameOnlyElementsWithErrors() {
+        AtomicInteger namedElements = new AtomicInteger();
+        ValidationPlan<Order> plan = ValidationPlan.forClass(Order.class)
+                                                   .withDefaultName()
+                                                   .given(Order::getItems)
+                                                   .forEach(item -> {
+                                                       namedElements.incrementAndGet();
+                                                       return item;
+                                                   }, item -> item.expectThat(isNotBlank()))
+                                                   .build();
+        Order order = new Order("1", null, null, asList("a", " ", "b"));
+
+        for (ValidationPlan<Order> validatedPlan : asList(plan, plan.optimize(), plan.compile())) {
+            namedElements.set(0);
+
+            assertEquals(singleton("Order.items. "), validatedPlan.validate(order)
+                                                                  .keySet());
+            assertEquals(1, namedElements.get());
+        }
+    }
+
+    @Test(expected = ValidationException.class)
+    public void shouldThrowIfValidatedObjectIsNull() {
+        PLAN.validate(null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotBuildPlanFromNestedRules() {
+        ValidationPlan.forClass(Order.class)
+                      .withDefaultName()
+                      .given(Order::getCustomer)
+                      .validateInternals(v -> v.given(Customer::getName)
+                                               .build());
+    }
+
+    private static ValidationMap validateFluently(Order order) {
+        return validate(order).withDefaultName()
+                              .given(Order::getId)
+                              .expectThat(isNotNull(),
+                                          isNotBlank(),
+                                          isShorterOrEqualTo(5))
+                              .and()
+                              .given(Order::getComment)
+                              .when(Objects::nonNull)
+                              .expectThat(isLongerOrEqualTo(3))
+                              .and()
+                              .given(Order::getCustomer)
+                              .expectThat(isNotNull())
+                              .validateInternals(v -> v.given(Customer::getName)
+                                                       .expectThat(isNotEmpty()))
+                              .and()
+                              .given(Order::getItems)
+                              .forEach(item -> item.expectThat(isNotNull(),
+                                                               isNotWhitespace()))
+                              .and()
+                              .given(Order::getCustomer)
+                              .validateUsing(new CustomerValidator())
+                              .ifErrorsPresent()
+                              .getValidationResults();
+    }
+
+    private static class CustomerValidator implements SpecializedValidator<Customer> {
+        @Override
+        public ValidationMap getValidationFor(Customer input, String inputName) {
+            return validate(input).as(inputName)
+                                  .given(Customer::getName)
+                                  .expectThat(isNotNull())
+                                  .ifErrorsPresent()
+                                  .getValidationResults();
+        }
+    }
+
+    public static class Order {
+        private String id;
+        private String comment;
+        private Customer customer;
+        private List<String> items;
+
+        public Order() {
+        }
+
+        public Order(String id, String comment, Customer customer, List<String> items) {
+            this.id = id;
+            this.comment = comment;
+            this.customer = customer;
+            this.items = items;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+    }
+
+    public static class Customer {
+        private String name;
+
+        public Customer() {
+        }
+
+        public Customer(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
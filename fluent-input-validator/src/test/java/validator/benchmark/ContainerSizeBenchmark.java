@@ -0,0 +1,80 @@
+package validator.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import validator.ValidationConstraints.ValidationConstraint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static validator.ValidationConstraints.*;
+
+/**
+ * Measures emptiness and size constraints on large containers, which are checked by their size.
+ * {@link #listToString()} shows the cost of measuring their {@link String} representation instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContainerSizeBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<String> list;
+    private Map<String, String> map;
+    private String[] array;
+
+    private final ValidationConstraint isNotEmpty = isNotEmpty();
+    private final ValidationConstraint hasSizeBetween = hasSizeBetween(1, 1_000_000);
+    private final ValidationConstraint isShorterOrEqualTo = isShorterOrEqualTo(1_000_000);
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>(size);
+        map = new HashMap<>(size * 2);
+        array = new String[size];
+        for (int i = 0; i < size; i++) {
+            String element = "element" + i;
+            list.add(element);
+            map.put(element, element);
+            array[i] = element;
+        }
+    }
+
+    @Benchmark
+    public int listToString() {
+        return list.toString()
+                   .length();
+    }
+
+    @Benchmark
+    public String listIsNotEmpty() {
+        return isNotEmpty.getErrorFor(list);
+    }
+
+    @Benchmark
+    public String listHasSizeBetween() {
+        return hasSizeBetween.getErrorFor(list);
+    }
+
+    @Benchmark
+    public String mapIsNotEmpty() {
+        return isNotEmpty.getErrorFor(map);
+    }
+
+    @Benchmark
+    public String mapIsShorterOrEqualTo() {
+        return isShorterOrEqualTo.getErrorFor(map);
+    }
+
+    @Benchmark
+    public String arrayHasSizeBetween() {
+        return hasSizeBetween.getErrorFor(array);
+    }
+}
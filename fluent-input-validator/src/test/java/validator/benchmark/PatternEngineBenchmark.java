@@ -0,0 +1,78 @@
+package validator.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import validator.utils.PatternCache;
+import validator.utils.PatternCache.CompiledPattern;
+import validator.utils.PatternEngine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PatternEngine#JDK} and {@link PatternEngine#LINEAR} engines on a typical pattern
+ * and on adversarial inputs, which make backtracking engine take time exponential to their length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatternEngineBenchmark {
+
+    private static final String EMAIL = "[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z]{2,6}";
+    private static final String NESTED_QUANTIFIERS = "(a+)+b";
+    private static final String OVERLAPPING_ALTERNATION = "(a|aa)*c";
+
+    @Param({"16", "24"})
+    private int length;
+
+    private String email;
+    private String adversarial;
+
+    private final CompiledPattern jdkEmail = PatternCache.getPattern(EMAIL, PatternEngine.JDK);
+    private final CompiledPattern linearEmail = PatternCache.getPattern(EMAIL, PatternEngine.LINEAR);
+    private final CompiledPattern jdkNestedQuantifiers = PatternCache.getPattern(NESTED_QUANTIFIERS, PatternEngine.JDK);
+    private final CompiledPattern linearNestedQuantifiers = PatternCache.getPattern(NESTED_QUANTIFIERS, PatternEngine.LINEAR);
+    private final CompiledPattern jdkOverlappingAlternation = PatternCache.getPattern(OVERLAPPING_ALTERNATION, PatternEngine.JDK);
+    private final CompiledPattern linearOverlappingAlternation = PatternCache.getPattern(OVERLAPPING_ALTERNATION, PatternEngine.LINEAR);
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append('a');
+        }
+        adversarial = builder.toString();
+        email = adversarial + "@example.com";
+    }
+
+    @Benchmark
+    public boolean jdkEmail() {
+        return jdkEmail.matches(email);
+    }
+
+    @Benchmark
+    public boolean linearEmail() {
+        return linearEmail.matches(email);
+    }
+
+    @Benchmark
+    public boolean jdkNestedQuantifiers() {
+        return jdkNestedQuantifiers.matches(adversarial);
+    }
+
+    @Benchmark
+    public boolean linearNestedQuantifiers() {
+        return linearNestedQuantifiers.matches(adversarial);
+    }
+
+    @Benchmark
+    public boolean jdkOverlappingAlternation() {
+        return jdkOverlappingAlternation.matches(adversarial);
+    }
+
+    @Benchmark
+    public boolean linearOverlappingAlternation() {
+        return linearOverlappingAlternation.matches(adversarial);
+    }
+}
@@ -0,0 +1,58 @@
+package validator.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import validator.FluentInputValidator.SerializableFunction;
+import validator.utils.PropertyNameCache;
+import validator.utils.PropertyNameResolver;
+import validator.utils.RecordingPropertyNameResolver;
+import validator.utils.SerializedLambdaPropertyNameResolver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares strategies of resolving field names from getter method references. Resolvers do not cache names,
+ * so both strategies are measured cold, and {@link PropertyNameCache} lookups of the same call site show the cached case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyNameResolverBenchmark {
+
+    private final PropertyNameResolver recordingResolver = new RecordingPropertyNameResolver();
+    private final PropertyNameResolver serializedLambdaResolver = new SerializedLambdaPropertyNameResolver();
+
+    private final Function<Dto, String> getter = Dto::getName;
+    private final SerializableFunction<Dto, String> serializableGetter = Dto::getName;
+
+    @Benchmark
+    public String recordingObject() {
+        return recordingResolver.getPropertyName(Dto.class, getter);
+    }
+
+    @Benchmark
+    public String serializedLambda() {
+        return serializedLambdaResolver.getPropertyName(Dto.class, serializableGetter);
+    }
+
+    @Benchmark
+    public String cachedRecordingObject() {
+        return PropertyNameCache.getPropertyName(Dto.class, getter);
+    }
+
+    @Benchmark
+    public String cachedSerializedLambda() {
+        return PropertyNameCache.getPropertyName(Dto.class, serializableGetter);
+    }
+
+    public static class Dto {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package validator.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import validator.FluentInputValidator;
+import validator.ValidationMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static validator.FluentInputValidator.validate;
+import static validator.ValidationConstraints.*;
+
+/**
+ * Validates an order with a nested customer and a list of items, which is either valid or has a single error.
+ * Meant to be run with {@code -prof gc}: {@code *Chain} benchmarks only run the validator chain, so the difference
+ * of {@code gc.alloc.rate.norm} between a benchmark and its chain is the allocation of reading its results.
+ * Errors are stored only from the first one, so the chain of an invalid order also includes their storage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultAllocationBenchmark {
+
+    private final Order validOrder = new Order("ORD-1", new Customer("John", "john@example.com"),
+                                               items(new Item("A1", 2), new Item("B2", 1), new Item("C3", 5)));
+    private final Order invalidOrder = new Order("ORD-1", new Customer("John", "john@example.com"),
+                                                 items(new Item("A1", 2), new Item("B2", 0), new Item("C3", 5)));
+
+    @Benchmark
+    public ValidationMap validOrder() {
+        return validateOrder(validOrder).getValidationResults();
+    }
+
+    @Benchmark
+    public Object validOrderChain() {
+        return validateOrder(validOrder);
+    }
+
+    @Benchmark
+    public ValidationMap invalidOrder() {
+        return validateOrder(invalidOrder).getValidationResults();
+    }
+
+    @Benchmark
+    public Object invalidOrderChain() {
+        return validateOrder(invalidOrder);
+    }
+
+    private static FluentInputValidator<Order>.ValidationFinalizer validateOrder(Order order) {
+        return validate(order).withDefaultName()
+                              .given(Order::getNumber)
+                              .expectThat(isNotNull(),
+                                          isNotBlank(),
+                                          isShorterOrEqualTo(20))
+                              .and()
+                              .given(Order::getCustomer)
+                              .expectThat(isNotNull())
+                              .validateInternals(customer -> customer.given(Customer::getName)
+                                                                     .expectThat(isNotBlank())
+                                                                     .and()
+                                                                     .given(Customer::getEmail)
+                                                                     .expectThat(isNotBlank(),
+                                                                                 isLongerThan(3)))
+                              .and()
+                              .given(Order::getItems)
+                              .forEach(Item::getCode,
+                                       item -> item.validateInternals(internals -> internals.givenInt(Item::getQuantity)
+                                                                                            .expectThat(isInRangeInclusive(1, 100))))
+                              .ifErrorsPresent();
+    }
+
+    private static List<Item> items(Item... items) {
+        return new ArrayList<>(asList(items));
+    }
+
+    public static class Order {
+        private String number;
+        private Customer customer;
+        private List<Item> items;
+
+        public Order() {
+        }
+
+        public Order(String number, Customer customer, List<Item> items) {
+            this.number = number;
+            this.customer = customer;
+            this.items = items;
+        }
+
+        public String getNumber() {
+            return number;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+    }
+
+    public static class Customer {
+        private String name;
+        private String email;
+
+        public Customer() {
+        }
+
+        public Customer(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    public static class Item {
+        private String code;
+        private int quantity;
+
+        public Item() {
+        }
+
+        public Item(String code, int quantity) {
+            this.code = code;
+            this.quantity = quantity;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package validator.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import validator.ValidationMap;
+import validator.ValidationPlan;
+
+import java.util.concurrent.TimeUnit;
+
+import static validator.FluentInputValidator.validate;
+import static validator.ValidationConstraints.*;
+
+/**
+ * Compares interpreted {@link validator.FluentInputValidator} chain with interpreted, optimized and generated
+ * validation plans of the same definition. Before measurement, other plans are run to make shared call sites
+ * of getters and constraints megamorphic, as they are in applications validating many classes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationPlanBenchmark {
+
+    private final Dto dto = new Dto("ABC123", " ", "42");
+
+    private ValidationPlan<Dto> plan;
+    private ValidationPlan<Dto> optimizedPlan;
+    private ValidationPlan<Dto> compiledPlan;
+    private ValidationPlan<Dto> optimizedCompiledPlan;
+
+    @Setup
+    public void setUp() {
+        plan = ValidationPlan.forClass(Dto.class)
+                             .withDefaultName()
+                             .given(Dto::getCode)
+                             .expectThat(isNotNull(),
+                                         isNotEmpty(),
+                                         isNotBlank(),
+                                         isShorterOrEqualTo(10))
+                             .and()
+                             .given(Dto::getName)
+                             .expectThat(isNotNull(),
+                                         isNotBlank())
+                             .and()
+                             .given(Dto::getAmount)
+                             .when(isNotNull())
+                             .expectThat(isNumeric(),
+                                         isInRangeInclusive(1, 100))
+                             .build();
+        optimizedPlan = plan.optimize();
+        compiledPlan = plan.compile();
+        optimizedCompiledPlan = optimizedPlan.compile();
+
+        pollute();
+    }
+
+    @Benchmark
+    public ValidationMap fluentValidator() {
+        return validate(dto).withDefaultName()
+                            .given(Dto::getCode)
+                            .expectThat(isNotNull(),
+                                        isNotEmpty(),
+                                        isNotBlank(),
+                                        isShorterOrEqualTo(10))
+                            .and()
+                            .given(Dto::getName)
+                            .expectThat(isNotNull(),
+                                        isNotBlank())
+                            .and()
+                            .given(Dto::getAmount)
+                            .when(isNotNull())
+                            .expectThat(isNumeric(),
+                                        isInRangeInclusive(1, 100))
+                            .ifErrorsPresent()
+                            .getValidationResults();
+    }
+
+    @Benchmark
+    public ValidationMap plan() {
+        return plan.validate(dto);
+    }
+
+    @Benchmark
+    public ValidationMap optimizedPlan() {
+        return optimizedPlan.validate(dto);
+    }
+
+    @Benchmark
+    public ValidationMap compiledPlan() {
+        return compiledPlan.validate(dto);
+    }
+
+    @Benchmark
+    public ValidationMap optimizedCompiledPlan() {
+        return optimizedCompiledPlan.validate(dto);
+    }
+
+    private static void pollute() {
+        ValidationPlan<Dto> first = ValidationPlan.forClass(Dto.class)
+                                                  .withDefaultName()
+                                                  .given(Dto::getName)
+                                                  .expectThat(isMatchingPattern("[a-z]*"),
+                                                              isLongerThan(2))
+                                                  .build();
+        ValidationPlan<Other> second = ValidationPlan.forClass(Other.class)
+                                                     .withDefaultName()
+                                                     .given(Other::getValue)
+                                                     .expectThat(isEqualTo(1),
+                                                                 hasLengthEqualTo(1),
+                                                                 isDouble())
+                                                     .build();
+        ValidationPlan<Other> third = ValidationPlan.forClass(Other.class)
+                                                    .withDefaultName()
+                                                    .given(Other::getValue)
+                                                    .expectThat(isWhitespace(),
+                                                                isBlank(),
+                                                                isInRangeExclusive(0, 10))
+                                                    .build();
+        Dto dto = new Dto("x", "abc", "1");
+        Other other = new Other(5);
+        for (int i = 0; i < 20_000; i++) {
+            first.validate(dto);
+            second.validate(other);
+            third.validate(other);
+        }
+    }
+
+    public static class Dto {
+        private final String code;
+        private final String name;
+        private final String amount;
+
+        public Dto(String code, String name, String amount) {
+            this.code = code;
+            this.name = name;
+            this.amount = amount;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getAmount() {
+            return amount;
+        }
+    }
+
+    public static class Other {
+        private final Integer value;
+
+        public Other(Integer value) {
+            this.value = value;
+        }
+
+        public Integer getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package validator.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import validator.utils.ValueIndex;
+import validator.utils.ValueIndex.LongIndex;
+import validator.utils.ValueIndex.StringIndex;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups in {@link ValueIndex} with lookups in {@link HashSet} of the same allowed values.
+ * Half of looked up values are allowed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueIndexBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Set<String> stringSet;
+    private StringIndex stringIndex;
+    private Set<Long> longSet;
+    private LongIndex longIndex;
+
+    private String[] strings;
+    private long[] longs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<String> values = new ArrayList<>(size);
+        long[] longValues = new long[size];
+        for (int i = 0; i < size; i++) {
+            values.add("merchant-" + i * 2);
+            longValues[i] = 4_000_000_000L + i * 2;
+        }
+        stringSet = new HashSet<>(values);
+        stringIndex = ValueIndex.ofStrings(values);
+        longSet = new HashSet<>();
+        for (long value : longValues) {
+            longSet.add(value);
+        }
+        longIndex = ValueIndex.ofLongs(longValues);
+
+        strings = new String[1024];
+        longs = new long[1024];
+        for (int i = 0; i < strings.length; i++) {
+            int value = i * 7919 % size;
+            strings[i] = "merchant-" + value;
+            longs[i] = 4_000_000_000L + value;
+        }
+    }
+
+    @Benchmark
+    public boolean hashSetOfStrings() {
+        return stringSet.contains(strings[next++ & 1023]);
+    }
+
+    @Benchmark
+    public boolean stringIndex() {
+        return stringIndex.contains(strings[next++ & 1023]);
+    }
+
+    @Benchmark
+    public boolean hashSetOfLongs() {
+        return longSet.contains(longs[next++ & 1023]);
+    }
+
+    @Benchmark
+    public boolean longIndex() {
+        return longIndex.contains(longs[next++ & 1023]);
+    }
+}
@@ -0,0 +1,113 @@
+package validator.utils;
+
+import org.junit.Test;
+import validator.utils.PatternCache.CompiledPattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+import static validator.ValidationConstraints.isMatchingPattern;
+
+public class LinearPatternTest {
+
+    private static final String[] PATTERNS = {
+            "", "a", "ab|", "a*", "a+b?", "a*?b", "(a|b)*c", "(?:ab)+", "a{2}", "a{1,3}b", "a{2,}", "(a|ab)(c|bcd)",
+            "[abc]+", "[^a]*", "[-a]", "[a-]b", ".*", "a.c", "\\d+", "\\D", "\\w*",
+            "\\W", "\\s?a", "\\S+", "\\.", "[\\d.]+", "\\x61\\u0062", "\\x{63}", "^ab$", "^(a|b)*$", "a|b|c",
+            "((a*)*b)*", "(a+)+b", "[0-9]+.?[0-9]*", "\uD83D\uDE00?.", "[^\\s]+", "\\t|\\n", "a{0}b", "(ab){0,2}c"
+    };
+
+    private static final String ALPHABET = "abc1. \n";
+
+    @Test
+    public void shouldMatchLikeJdkEngine() {
+        List<String> inputs = allInputs(4);
+        inputs.add("\uD83D\uDE00a");
+        inputs.add("\uD83D\uDE00");
+        inputs.add("\uD83Da");
+
+        for (String regex : PATTERNS) {
+            Pattern pattern = Pattern.compile(regex);
+            LinearPattern linearPattern = LinearPattern.compile(regex);
+            for (String input : inputs) {
+                assertEquals(regex + " on " + input, pattern.matcher(input)
+                                                           .matches(), linearPattern.matches(input));
+            }
+        }
+    }
+
+    @Test
+    public void shouldSimulateNondeterministicAutomatonOfLargePatterns() {
+        String regex = "(a|b)*a(a|b){12}";
+        LinearPattern linearPattern = LinearPattern.compile(regex);
+
+        assertFalse(linearPattern.isDeterministic());
+        assertTrue(LinearPattern.compile("(a|b)*a(a|b){3}")
+                                .isDeterministic());
+        for (String input : new String[]{"", "abababababababab", "aabababababababab", "bbbbbbbbbbbbbbbbbbbb", "ababababababa"}) {
+            assertEquals(input, input.matches(regex), linearPattern.matches(input));
+            assertEquals(input, input.matches(regex), linearPattern.matches(new StringBuilder(input)));
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void shouldMatchAdversarialInputInLinearTime() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            input.append('a');
+        }
+
+        assertFalse(LinearPattern.compile("(a+)+b")
+                                 .matches(input));
+        assertFalse(LinearPattern.compile("(a|aa)*c")
+                                 .matches(input));
+        assertTrue(LinearPattern.compile("(a|a)*")
+                                .matches(input));
+    }
+
+    @Test
+    public void shouldRejectUnsupportedConstructs() {
+        for (String regex : new String[]{"(a)\\1", "a(?=b)", "(?i)a", "a*+", "\\bab", "[a-z&&[^b]]", "\\p{Alpha}", "a^", "(a$)", "\\Qa\\E"}) {
+            try {
+                LinearPattern.compile(regex);
+                fail(regex);
+            } catch (UnsupportedPatternException e) {
+                assertEquals(regex, e.getPattern());
+            }
+        }
+    }
+
+    @Test
+    public void shouldFallBackToJdkEngineOrFailWhenConstraintIsCreated() {
+        CompiledPattern linear = PatternCache.getPattern("[a-z]+", PatternEngine.LINEAR);
+        CompiledPattern fallback = PatternCache.getPattern("(a)\\1", PatternEngine.LINEAR_OR_JDK);
+
+        assertTrue(linear.isLinear());
+        assertFalse(PatternCache.getPattern("[a-z]+")
+                                .isLinear());
+        assertFalse(fallback.isLinear());
+        assertTrue(fallback.matches("aa"));
+        try {
+            isMatchingPattern("(a)\\1", PatternEngine.LINEAR);
+            fail();
+        } catch (UnsupportedPatternException e) {
+            assertEquals("(a)\\1", e.getPattern());
+        }
+    }
+
+    private static List<String> allInputs(int maxLength) {
+        List<String> inputs = new ArrayList<>();
+        inputs.add("");
+        for (int start = 0; start < inputs.size(); start++) {
+            String input = inputs.get(start);
+            if (input.length() < maxLength) {
+                for (char character : ALPHABET.toCharArray()) {
+                    inputs.add(input + character);
+                }
+            }
+        }
+        return inputs;
+    }
+}
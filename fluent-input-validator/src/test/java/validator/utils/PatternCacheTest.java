@@ -0,0 +1,118 @@
+package validator.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import validator.utils.PatternCache.CompiledPattern;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.*;
+import static validator.ValidationConstraints.isMatchingPattern;
+
+public class PatternCacheTest {
+
+    @Before
+    public void setUp() {
+        PatternCache.setMaximumSize(2);
+    }
+
+    @After
+    public void tearDown() {
+        PatternCache.setMaximumSize(PatternCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    @Test
+    public void shouldCompilePatternOnce() {
+        CompiledPattern pattern = PatternCache.getPattern("[a-z]+");
+
+        assertSame(pattern, PatternCache.getPattern("[a-z]+"));
+        assertEquals(1, PatternCache.getMissCount());
+        assertEquals(1, PatternCache.getHitCount());
+        assertEquals(0.5, PatternCache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPatterns() {
+        PatternCache.getPattern("a");
+        PatternCache.getPattern("b");
+        PatternCache.getPattern("a");
+        PatternCache.getPattern("c");
+
+        assertEquals(2, PatternCache.size());
+        assertEquals(1, PatternCache.getEvictionCount());
+        PatternCache.getPattern("a");
+        assertEquals(2, PatternCache.getHitCount());
+    }
+
+    @Test
+    public void shouldMatchLikeString() {
+        CompiledPattern pattern = PatternCache.getPattern("[0-9]+.?[0-9]*");
+
+        for (String input : new String[]{"", "1", "1.5", "1,5", "a1", "12."}) {
+            assertEquals(input.matches("[0-9]+.?[0-9]*"), pattern.matches(input));
+        }
+        assertTrue(pattern.matches(new StringBuilder("15")));
+    }
+
+    @Test
+    public void shouldMatchMorePatternsThanMatchersKeptByThread() {
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 64; i++) {
+                CompiledPattern pattern = PatternCache.getPattern("x{" + i + "}");
+
+                assertTrue(pattern.matches(repeat('x', i)));
+                assertFalse(pattern.matches(repeat('x', i + 1)));
+            }
+        }
+    }
+
+    private static String repeat(char character, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(character);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void shouldMatchConcurrently() throws Exception {
+        CompiledPattern pattern = PatternCache.getPattern("[a-z]+[0-9]");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        assertTrue(pattern.matches("abc" + j % 10));
+                        assertFalse(pattern.matches("1abc" + j % 10));
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotEqualPatternsOfOtherEngines() {
+        CompiledPattern jdkPattern = PatternCache.getPattern("[a-z]+");
+        CompiledPattern linearPattern = PatternCache.getPattern("[a-z]+", PatternEngine.LINEAR);
+
+        assertNotEquals(jdkPattern, linearPattern);
+        assertNotEquals(isMatchingPattern("[a-z]+"), isMatchingPattern("[a-z]+", PatternEngine.LINEAR));
+        assertEquals(isMatchingPattern("[a-z]+", PatternEngine.LINEAR), isMatchingPattern("[a-z]+", PatternEngine.LINEAR));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void shouldRejectInvalidPatternWhenConstraintIsCreated() {
+        isMatchingPattern("[a-z");
+    }
+}
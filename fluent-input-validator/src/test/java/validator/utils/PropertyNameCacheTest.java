@@ -0,0 +1,55 @@
+package validator.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class PropertyNameCacheTest {
+
+    private final Function<Dto, String> getter = Dto::getName;
+
+    @After
+    public void restoreDefaultResolver() {
+        PropertyNameCache.setPropertyNameResolver(PropertyNameCache.defaultPropertyNameResolver());
+    }
+
+    @Test
+    public void shouldNotCacheNamesResolvedByReplacedResolver() {
+        PropertyNameCache.setPropertyNameResolver(new ConstantResolver("old") {
+            @Override
+            public <T> String getPropertyName(Class<T> cls, Function<? super T, ?> getter) {
+                PropertyNameCache.setPropertyNameResolver(new ConstantResolver("new"));
+                return super.getPropertyName(cls, getter);
+            }
+        });
+
+        assertEquals("old", PropertyNameCache.getPropertyName(Dto.class, getter));
+        assertEquals("new", PropertyNameCache.getPropertyName(Dto.class, getter));
+        assertEquals("new", PropertyNameCache.getPropertyName(Dto.class, getter));
+        assertEquals(1, PropertyNameCache.size());
+    }
+
+    private static class ConstantResolver implements PropertyNameResolver {
+        private final String name;
+
+        private ConstantResolver(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public <T> String getPropertyName(Class<T> cls, Function<? super T, ?> getter) {
+            return name;
+        }
+    }
+
+    public static class Dto {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+    }
+}
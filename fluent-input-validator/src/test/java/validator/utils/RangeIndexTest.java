@@ -0,0 +1,152 @@
+package validator.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class RangeIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldMergeOverlappingAndAdjacentRanges() {
+        RangeIndex index = RangeIndex.builder()
+                                     .add(20, 30)
+                                     .add(1, 5)
+                                     .add(3, 10)
+                                     .add(11, 12)
+                                     .add(25, 26)
+                                     .add(Long.MAX_VALUE - 1, Long.MAX_VALUE)
+                                     .build();
+
+        assertEquals(3, index.size());
+        for (long value : new long[]{1, 5, 10, 12, 20, 30, Long.MAX_VALUE}) {
+            assertTrue(String.valueOf(value), index.contains(value));
+        }
+        for (long value : new long[]{Long.MIN_VALUE, 0, 13, 19, 31, Long.MAX_VALUE - 2}) {
+            assertFalse(String.valueOf(value), index.contains(value));
+        }
+        assertFalse(RangeIndex.builder()
+                              .build()
+                              .contains(0));
+    }
+
+    @Test
+    public void shouldFindValuesLikeLinearScan() {
+        Random random = new Random(42);
+        long[][] ranges = new long[10_000][];
+        RangeIndex.Builder builder = RangeIndex.builder();
+        for (int i = 0; i < ranges.length; i++) {
+            long start = random.nextInt(10_000_000);
+            ranges[i] = new long[]{start, start + random.nextInt(500)};
+            builder.add(ranges[i][0], ranges[i][1]);
+        }
+        RangeIndex index = builder.build();
+
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextInt(10_001_000);
+            boolean isInAnyRange = false;
+            for (long[] range : ranges) {
+                isInAnyRange |= range[0] <= value && value <= range[1];
+            }
+            assertEquals(String.valueOf(value), isInAnyRange, index.contains(value));
+        }
+    }
+
+    @Test
+    public void shouldLoadTextFile() throws IOException {
+        Path file = folder.newFile()
+                          .toPath();
+        Files.write(file, asList("# BIN ranges", "400000,499999", "", " 510000 , 559999 ", "222100"));
+
+        RangeIndex index = RangeIndex.load(file);
+
+        assertEquals(3, index.size());
+        assertTrue(index.contains(412345));
+        assertTrue(index.contains(222100));
+        assertFalse(index.contains(500000));
+        assertFalse(index.isMapped());
+    }
+
+    @Test
+    public void shouldReportMalformedLine() throws IOException {
+        Path file = folder.newFile()
+                          .toPath();
+        Files.write(file, asList("1,2", "3-4"));
+
+        try {
+            RangeIndex.load(file);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage()
+                                        .endsWith(":2 is not a range: 3-4"));
+        }
+    }
+
+    @Test
+    public void shouldMapWrittenFile() throws IOException {
+        Path file = folder.newFile()
+                          .toPath();
+        RangeIndex.builder()
+                  .add(-10, -5)
+                  .add(100, 200)
+                  .build()
+                  .write(file);
+
+        RangeIndex index = RangeIndex.map(file);
+
+        assertTrue(index.isMapped());
+        assertEquals(2, index.size());
+        assertTrue(index.contains(-7));
+        assertTrue(index.contains(200));
+        assertFalse(index.contains(0));
+    }
+
+    @Test
+    public void shouldReplaceMappedFileWithoutChangingIt() throws IOException {
+        Path file = folder.newFile()
+                          .toPath();
+        RangeIndex.builder()
+                  .add(1, 10)
+                  .build()
+                  .write(file);
+        RangeIndex index = RangeIndex.map(file);
+
+        RangeIndex.builder()
+                  .add(20, 30)
+                  .add(40, 50)
+                  .build()
+                  .write(file);
+
+        assertEquals(1, index.size());
+        assertTrue(index.contains(5));
+        assertTrue(RangeIndex.map(file)
+                             .contains(45));
+        assertEquals(1, folder.getRoot()
+                              .list().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnsortedFile() throws IOException {
+        Path file = folder.newFile()
+                          .toPath();
+        Files.write(file, ByteBuffer.allocate(2 * RangeIndex.RANGE_BYTES)
+                                    .putLong(10)
+                                    .putLong(20)
+                                    .putLong(1)
+                                    .putLong(2)
+                                    .array());
+
+        RangeIndex.map(file);
+    }
+}
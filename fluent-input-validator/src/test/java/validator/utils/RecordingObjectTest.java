@@ -0,0 +1,127 @@
+package validator.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class RecordingObjectTest {
+
+    @Test
+    public void shouldReuseProxyForRecordedClass() {
+        Recorder<Outer> first = RecordingObject.create(Outer.class);
+        Recorder<Outer> second = RecordingObject.create(Outer.class);
+
+        assertSame(first.getObject(), second.getObject());
+    }
+
+    @Test
+    public void shouldRecordOnlyFirstGetterOfChainedCall() {
+        Recorder<Outer> recorder = RecordingObject.create(Outer.class);
+        recorder.getObject()
+                .getInner()
+                .getName();
+
+        assertEquals("inner", recorder.getCurrentPropertyName());
+    }
+
+    @Test
+    public void shouldNotOverwriteRecordedNameWithGetterReturningSameType() {
+        Recorder<Outer> recorder = RecordingObject.create(Outer.class);
+        recorder.getObject()
+                .getParent()
+                .getInner();
+
+        assertEquals("parent", recorder.getCurrentPropertyName());
+    }
+
+    @Test
+    public void shouldReturnDefaultValuesForGettersOfTypesThatCannotBeChained() {
+        Recorder<Outer> recorder = RecordingObject.create(Outer.class);
+
+        assertNull(recorder.getObject()
+                           .getItems());
+        assertEquals(0, recorder.getObject()
+                                .getCount());
+        assertEquals("items", new RecordingPropertyNameResolver().getPropertyName(Outer.class, Outer::getItems));
+    }
+
+    @Test
+    public void shouldDecideUpFrontWhichClassesCanBeProxied() {
+        assertTrue(RecordingObject.isProxiable(Outer.class));
+        assertFalse(RecordingObject.isProxiable(String.class));
+        assertFalse(RecordingObject.isProxiable(int.class));
+        assertFalse(RecordingObject.isProxiable(WithoutDefaultConstructor.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenRecordedClassCannotBeProxied() {
+        RecordingObject.create(WithoutDefaultConstructor.class);
+    }
+
+    @Test
+    public void shouldRecordIndependentlyOnEachThread() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                boolean recordInner = i % 2 == 0;
+                Callable<Boolean> recording = () -> {
+                    Recorder<Outer> recorder = RecordingObject.create(Outer.class);
+                    if (recordInner) {
+                        recorder.getObject()
+                                .getInner();
+                    }
+                    else {
+                        recorder.getObject()
+                                .getParent();
+                    }
+                    return recorder.getCurrentPropertyName()
+                                   .equals(recordInner ? "inner" : "parent");
+                };
+                results.add(executor.submit(recording));
+            }
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static class Outer {
+        public Inner getInner() {
+            return null;
+        }
+
+        public Outer getParent() {
+            return null;
+        }
+
+        public List<String> getItems() {
+            return null;
+        }
+
+        public int getCount() {
+            return 1;
+        }
+    }
+
+    public static class WithoutDefaultConstructor {
+        public WithoutDefaultConstructor(String value) {
+        }
+    }
+
+    public static class Inner {
+        public String getName() {
+            return null;
+        }
+    }
+}
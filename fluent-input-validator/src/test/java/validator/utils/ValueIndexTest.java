@@ -0,0 +1,83 @@
+package validator.utils;
+
+import org.junit.Test;
+import validator.utils.ValueIndex.IntIndex;
+import validator.utils.ValueIndex.LongIndex;
+import validator.utils.ValueIndex.StringIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class ValueIndexTest {
+
+    @Test
+    public void shouldFindIndexedStrings() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            values.add("merchant-" + i);
+        }
+        StringIndex index = ValueIndex.ofStrings(values);
+
+        assertEquals(100_000, index.size());
+        for (String value : values) {
+            assertTrue(value, index.contains(value));
+        }
+        assertTrue(index.contains(new StringBuilder("merchant-123")));
+        assertFalse(index.contains("merchant-100000"));
+        assertFalse(index.contains("merchant-"));
+        assertFalse(index.contains(""));
+    }
+
+    @Test
+    public void shouldStoreDuplicatesOnce() {
+        StringIndex strings = ValueIndex.ofStrings(asList("PLN", "EUR", "PLN", ""));
+        LongIndex longs = ValueIndex.ofLongs(0, 1, 1, Long.MIN_VALUE);
+
+        assertEquals(3, strings.size());
+        assertTrue(strings.contains(""));
+        assertEquals(3, longs.size());
+        assertTrue(longs.contains(0));
+        assertTrue(longs.contains(Long.MIN_VALUE));
+        assertFalse(longs.contains(2));
+    }
+
+    @Test
+    public void shouldFindIndexedNumbers() {
+        Random random = new Random(42);
+        long[] longs = random.longs(50_000)
+                             .toArray();
+        int[] ints = random.ints(50_000)
+                           .toArray();
+        LongIndex longIndex = ValueIndex.ofLongs(longs);
+        IntIndex intIndex = ValueIndex.ofInts(ints);
+
+        for (long value : longs) {
+            assertTrue(longIndex.contains(value));
+        }
+        for (int value : ints) {
+            assertTrue(intIndex.contains(value));
+            assertTrue(intIndex.contains((long) value));
+        }
+        assertFalse(longIndex.contains(0));
+        assertFalse(intIndex.contains(0));
+        assertFalse(intIndex.contains((long) ints[0] + (1L << 32)));
+    }
+
+    @Test
+    public void shouldReportMemoryFootprint() {
+        IntIndex index = ValueIndex.ofInts(new Random(42).ints(1_000)
+                                                         .toArray());
+
+        assertEquals(16 + 2048 * Integer.BYTES, index.getMemoryFootprint());
+        assertEquals(16 + 2 * Long.BYTES, ValueIndex.ofLongs()
+                                                    .getMemoryFootprint());
+        assertEquals(16 + 6 * Character.BYTES + 16 + 3 * Integer.BYTES + 16 + 2 * Integer.BYTES + 16 + 4 * Integer.BYTES,
+                     ValueIndex.ofStrings(asList("PLN", "EUR"))
+                               .getMemoryFootprint());
+        assertEquals("IntIndex[size=1000]", index.toString());
+    }
+}
@@ -0,0 +1,96 @@
+package validator.warmup;
+
+import org.junit.Test;
+import validator.ValidatorWarmup;
+import validator.ValidatorWarmup.WarmupReport;
+import validator.metamodel.ValidationMetamodel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ValidatorWarmupTest {
+
+    @Test
+    public void shouldWarmUpGivenClasses() {
+        WarmupReport report = ValidatorWarmup.forClasses(WarmedUpDto.class, WarmedUpDtoWithoutDefaultConstructor.class)
+                                             .withValidationIterations(10)
+                                             .run();
+
+        assertTrue(report.getProxiedClasses()
+                         .contains(WarmedUpDto.class));
+        assertFalse(report.getProxiedClasses()
+                          .contains(WarmedUpDtoWithoutDefaultConstructor.class));
+        assertTrue(report.getValidatedClasses()
+                         .contains(WarmedUpDto.class));
+        assertFalse(report.getTotalTime()
+                          .isNegative());
+    }
+
+    @Test
+    public void shouldWarmUpOnlyAnnotatedClassesOfScannedPackage() {
+        WarmupReport report = ValidatorWarmup.forPackage("validator.warmup")
+                                             .withValidationIterations(1)
+                                             .run();
+
+        assertTrue(report.getProxiedClasses()
+                         .contains(WarmedUpDto.class));
+        assertTrue(report.getValidatedClasses()
+                         .contains(WarmedUpDto.class));
+        assertFalse(report.getProxiedClasses()
+                          .contains(WarmedUpDtoWithoutDefaultConstructor.class));
+        assertFalse(report.getProxiedClasses()
+                          .contains(ValidatorWarmupTest.class));
+    }
+
+    @Test
+    public void shouldNotCallCodeOfWarmedUpClasses() {
+        WarmedUpDto.calls.set(0);
+
+        ValidatorWarmup.forClasses(WarmedUpDto.class)
+                       .withValidationIterations(10)
+                       .run();
+
+        assertEquals(0, WarmedUpDto.calls.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveNumberOfIterations() {
+        ValidatorWarmup.forClasses(WarmedUpDto.class)
+                       .withValidationIterations(0);
+    }
+
+    @ValidationMetamodel
+    public static class WarmedUpDto {
+        private static final AtomicInteger calls = new AtomicInteger();
+
+        private String name;
+        private WarmedUpDto parent;
+
+        public WarmedUpDto() {
+            calls.incrementAndGet();
+        }
+
+        public String getName() {
+            calls.incrementAndGet();
+            return name;
+        }
+
+        public WarmedUpDto getParent() {
+            calls.incrementAndGet();
+            return parent;
+        }
+    }
+
+    public static class WarmedUpDtoWithoutDefaultConstructor {
+        private final String name;
+
+        public WarmedUpDtoWithoutDefaultConstructor(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}